@@ -0,0 +1,107 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.domain.service.ReactiveAccountOperationsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit and withdrawal throughput, on one account shared by all threads and on one account per thread.
+ * Run at increasing thread counts by {@link BenchmarkRunner}, with and without the metrics instrumentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountOperationsBenchmark {
+
+    // large enough for every withdrawal of a run to be covered
+    private static final long INITIAL_BALANCE = Long.MAX_VALUE / 4;
+
+    public enum Engine {
+        READ_MODIFY_WRITE, CONDITIONAL_UPDATE, LEDGER, REACTIVE
+    }
+
+    @Param
+    public Engine engine;
+
+    @Param({"true", "false"})
+    public boolean metrics;
+
+    private ConfigurableApplicationContext context;
+
+    private AccountOperationsService service;
+
+    private ReactiveAccountOperationsService reactiveService;
+
+    private UUID sharedAccountId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String engineProperty = switch (engine) {
+            case READ_MODIFY_WRITE -> "accounts.operations.balance-update-mode=READ_MODIFY_WRITE";
+            case CONDITIONAL_UPDATE -> "accounts.operations.balance-update-mode=CONDITIONAL_UPDATE";
+            case LEDGER -> "accounts.ledger.enabled=true";
+            case REACTIVE -> "accounts.reactive.enabled=true";
+        };
+        context = BenchmarkContexts.start("operations", engineProperty, "accounts.metrics.enabled=" + metrics);
+        service = context.getBean(AccountOperationsService.class);
+        if (engine == Engine.REACTIVE)
+            reactiveService = context.getBean(ReactiveAccountOperationsService.class);
+        sharedAccountId = BenchmarkContexts.createAccount(context, INITIAL_BALANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadAccount {
+
+        UUID accountId;
+
+        @Setup(Level.Trial)
+        public void setUp(AccountOperationsBenchmark benchmark) {
+            accountId = BenchmarkContexts.createAccount(benchmark.context, INITIAL_BALANCE);
+        }
+    }
+
+    @Benchmark
+    public Account depositSameAccount() {
+        return deposit(sharedAccountId);
+    }
+
+    @Benchmark
+    public Account withdrawSameAccount() {
+        return withdraw(sharedAccountId);
+    }
+
+    @Benchmark
+    public Account depositDistinctAccounts(ThreadAccount account) {
+        return deposit(account.accountId);
+    }
+
+    @Benchmark
+    public Account withdrawDistinctAccounts(ThreadAccount account) {
+        return withdraw(account.accountId);
+    }
+
+    private Account deposit(UUID accountId) {
+        if (engine == Engine.REACTIVE)
+            return reactiveService.deposit(accountId, 1L).block();
+        return service.deposit(accountId, 1L);
+    }
+
+    private Account withdraw(UUID accountId) {
+        if (engine == Engine.REACTIVE)
+            return reactiveService.withdraw(accountId, 1L).block();
+        return service.withdraw(accountId, 1L);
+    }
+}
@@ -0,0 +1,66 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account balance lookups against a database seeded with accounts and their histories,
+ * read from the database and through the balances cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AccountRepositoryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int accounts;
+
+    @Param({"0", "10"})
+    public int operationsPerAccount;
+
+    private ConfigurableApplicationContext context;
+
+    private JpaAccountRepository jpaAccountRepository;
+
+    private AccountRepository accountRepository;
+
+    private UUID[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("repository");
+        jpaAccountRepository = context.getBean(JpaAccountRepository.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        accountIds = BenchmarkContexts.seedAccounts(context, accounts, operationsPerAccount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountById() {
+        return jpaAccountRepository.findAccountById(randomAccountId());
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountByIdThroughCache() {
+        return accountRepository.findAccountById(randomAccountId());
+    }
+
+    private UUID randomAccountId() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+}
@@ -0,0 +1,104 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.AccountsManagementApplication;
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Client;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ClientRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application contexts started by the benchmarks, each on its own in-memory database.
+ */
+final class BenchmarkContexts {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * Start the application without the web server.
+     *
+     * @param database   the in-memory database name
+     * @param properties additional properties, as key=value
+     * @return the started context
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        // passed as arguments, default properties would not override application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--accounts.reactive.url=r2dbc:h2:mem:///" + database,
+                "--logging.level.root=WARN"));
+        for (String property : properties)
+            args.add("--" + property);
+
+        return new SpringApplicationBuilder(AccountsManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Create an account of a new client.
+     *
+     * @param context the application context
+     * @param balance the initial balance, in minor units
+     * @return the account id
+     */
+    static UUID createAccount(ConfigurableApplicationContext context, long balance) {
+        Client client = context.getBean(ClientRepository.class).addClient(Client.builder()
+                .firstName("Benchmark")
+                .lastName("Client")
+                .build());
+        return context.getBean(AccountRepository.class).addAccount(Account.builder()
+                .client(client)
+                .balance(balance)
+                .build()).getId();
+    }
+
+    /**
+     * Insert clients, their accounts and operations with JDBC batches.
+     *
+     * @param context              the application context
+     * @param accounts             the number of accounts
+     * @param operationsPerAccount the number of operations of each account
+     * @return the account ids
+     */
+    static UUID[] seedAccounts(ConfigurableApplicationContext context, int accounts, int operationsPerAccount) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        UUID[] ids = new UUID[accounts];
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < accounts; from += SEED_BATCH_SIZE) {
+            List<Object[]> clients = new ArrayList<>();
+            List<Object[]> accountRows = new ArrayList<>();
+            List<Object[]> operations = new ArrayList<>();
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, accounts); i++) {
+                UUID clientId = TimeOrderedUuids.next();
+                ids[i] = TimeOrderedUuids.next();
+                clients.add(new Object[]{clientId, "Client", String.valueOf(i)});
+                accountRows.add(new Object[]{ids[i], 100L * operationsPerAccount, 0L, clientId});
+                for (int j = 0; j < operationsPerAccount; j++)
+                    operations.add(new Object[]{TimeOrderedUuids.next(), "DEPOSIT", 100L, date, ids[i]});
+            }
+
+            jdbcTemplate.batchUpdate("insert into client (id, first_name, last_name) values (?, ?, ?)", clients);
+            jdbcTemplate.batchUpdate("insert into account (id, balance, version, client_id) values (?, ?, ?, ?)",
+                    accountRows);
+            if (!operations.isEmpty())
+                jdbcTemplate.batchUpdate("insert into operation (id, type, amount, date, account_id) " +
+                        "values (?, ?, ?, ?, ?)", operations);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,54 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.NoBenchmarksException;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmarks matching the JMH command line, once per thread count of {@code benchmark.threads}.
+ * The first thread count applies to all benchmarks, the next ones to the account operations benchmarks only,
+ * and all results are written together as JSON to {@code benchmark.result}.
+ */
+public class BenchmarkRunner {
+
+    // the other benchmarks measure single-threaded costs
+    private static final String NOT_SCALED = "^(?!" + Pattern.quote(AccountOperationsBenchmark.class.getName()) + ")";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        int[] threads = Arrays.stream(System.getProperty("benchmark.threads", "1").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        String result = System.getProperty("benchmark.result", "jmh-result.json");
+
+        List<RunResult> results = new ArrayList<>();
+        for (int i = 0; i < threads.length; i++) {
+            ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).threads(threads[i]);
+            if (i > 0)
+                options.exclude(NOT_SCALED);
+
+            try {
+                results.addAll(new Runner(options.build()).run());
+            } catch (NoBenchmarksException e) {
+                // no account operations benchmark selected
+                break;
+            }
+        }
+
+        new File(result).getAbsoluteFile().getParentFile().mkdirs();
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, result).writeOut(results);
+        System.out.println("Benchmark results written to " + result);
+    }
+}
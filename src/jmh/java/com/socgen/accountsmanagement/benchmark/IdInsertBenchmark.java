@@ -0,0 +1,98 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Insert throughput of rows keyed by random UUIDv4 and by time-ordered UUIDv7,
+ * into a primary key index already holding a number of rows.
+ * <p>
+ * The database is a file, so tens of millions of rows do not have to fit in the heap. The disk space used
+ * by the table and its primary key index once the existing rows are inserted is printed before each trial,
+ * the same rows for both kinds of ids.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum IdKind {
+        RANDOM, TIME_ORDERED
+    }
+
+    @Param
+    public IdKind idKind;
+
+    @Param({"0", "1000000", "10000000"})
+    public int existingRows;
+
+    private Path directory;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        directory = Files.createTempDirectory("ids-");
+        connection = DriverManager.getConnection("jdbc:h2:" + directory.resolve("ids-" + idKind).toAbsolutePath());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table operation (id uuid primary key, amount bigint not null)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into operation (id, amount) values (?, ?)");
+        for (int i = 0; i < existingRows; i += BATCH_SIZE)
+            insertBatch();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("select count(*), disk_space_used('OPERATION') from operation")) {
+            size.next();
+            System.out.printf("%n%s ids, %d rows: %d bytes used by the table and its index%n",
+                    idKind, size.getLong(1), size.getLong(2));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        insert.close();
+        connection.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextId());
+            insert.setLong(2, 100L);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private UUID nextId() {
+        return idKind == IdKind.TIME_ORDERED ? TimeOrderedUuids.next() : UUID.randomUUID();
+    }
+}
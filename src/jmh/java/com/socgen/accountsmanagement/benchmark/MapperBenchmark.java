@@ -0,0 +1,86 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationsView;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import com.socgen.accountsmanagement.infrastructure.persistence.mapper.AccountMapper;
+import com.socgen.accountsmanagement.infrastructure.persistence.mapper.OperationMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping accounts and their operations history between the domain and the entities,
+ * as the history grows, on graphs where operations reference their owning account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int historySize;
+
+    private Account account;
+
+    private AccountEntity accountEntity;
+
+    @Setup
+    public void setUp() {
+        UUID accountId = TimeOrderedUuids.next();
+        LocalDateTime date = LocalDateTime.now();
+
+        // operations reference their owning account, as in a loaded graph
+        List<Operation> operations = new ArrayList<>(historySize);
+        account = Account.builder().id(accountId).balance(0L).version(0L)
+                .operations(OperationsView.of(operations)).build();
+        for (int i = 0; i < historySize; i++)
+            operations.add(Operation.builder()
+                    .id(TimeOrderedUuids.next())
+                    .type(i % 2 == 0 ? OperationType.DEPOSIT : OperationType.WITHDRAW)
+                    .amount(100L)
+                    .date(date.minusSeconds(i))
+                    .account(account)
+                    .build());
+
+        List<OperationEntity> operationEntities = new ArrayList<>(historySize);
+        accountEntity = AccountEntity.builder().id(accountId).balance(0L).version(0L)
+                .operations(operationEntities).build();
+        for (int i = 0; i < historySize; i++)
+            operationEntities.add(OperationEntity.builder()
+                    .id(TimeOrderedUuids.next())
+                    .type(i % 2 == 0 ? OperationType.DEPOSIT : OperationType.WITHDRAW)
+                    .amount(100L)
+                    .date(date.minusSeconds(i))
+                    .account(accountEntity)
+                    .build());
+    }
+
+    @Benchmark
+    public AccountEntity accountToEntity() {
+        return AccountMapper.toEntity(account);
+    }
+
+    @Benchmark
+    public Account accountFromEntity() {
+        return AccountMapper.fromEntity(accountEntity);
+    }
+
+    @Benchmark
+    public void operationsFromEntity(Blackhole blackhole) {
+        for (OperationEntity operation : accountEntity.getOperations())
+            blackhole.consume(OperationMapper.fromEntity(operation, account));
+    }
+}
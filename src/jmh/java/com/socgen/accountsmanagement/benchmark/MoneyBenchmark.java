@@ -0,0 +1,57 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.domain.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic on amounts in minor units, against the double amounts used before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 1000;
+
+    private final long[] minorAmounts = new long[AMOUNTS];
+
+    private final double[] doubleAmounts = new double[AMOUNTS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < AMOUNTS; i++) {
+            minorAmounts[i] = ThreadLocalRandom.current().nextLong(1, 1_000_000);
+            doubleAmounts[i] = minorAmounts[i] / 100.0;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public long sumMinorUnits() {
+        long balance = 0;
+        for (long amount : minorAmounts)
+            balance = Math.addExact(balance, amount);
+        return balance;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AMOUNTS)
+    public double sumDoubles() {
+        double balance = 0;
+        for (double amount : doubleAmounts)
+            balance += amount;
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal toMajor() {
+        return Money.toMajor(minorAmounts[0]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.socgen.accountsmanagement.benchmark;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.infrastructure.offheap.MappedAccountRepository;
+import com.socgen.accountsmanagement.infrastructure.offheap.MappedAccountStore;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account lookups and deposits served by the database and by the memory-mapped account store
+ * of the {@code offheap} profile. Run with {@code -prof gc} to compare the allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OffHeapAccountRepositoryBenchmark {
+
+    @Param({"10000", "100000"})
+    public int accounts;
+
+    @Param({"jpa", "offheap"})
+    public String repository;
+
+    private ConfigurableApplicationContext context;
+
+    private Path storeFile;
+
+    private AccountRepository accountRepository;
+
+    private MappedAccountStore store;
+
+    private TransactionTemplate transactionTemplate;
+
+    private UUID[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storeFile = Files.createTempFile("accounts", ".store");
+        context = BenchmarkContexts.start("offheap",
+                "spring.profiles.active=offheap",
+                "accounts.off-heap.file=" + storeFile);
+        MappedAccountRepository mappedAccountRepository = context.getBean(MappedAccountRepository.class);
+        accountRepository = repository.equals("offheap")
+                ? mappedAccountRepository
+                : context.getBean(JpaAccountRepository.class);
+        store = context.getBean(MappedAccountStore.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        accountIds = BenchmarkContexts.seedAccounts(context, accounts, 0);
+
+        // accounts are loaded into the store on their first access
+        for (UUID accountId : accountIds)
+            mappedAccountRepository.findAccountById(accountId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Benchmark
+    public Optional<Account> findAccountById() {
+        return accountRepository.findAccountById(randomAccountId());
+    }
+
+    @Benchmark
+    public Optional<Account> depositToBalance() {
+        UUID accountId = randomAccountId();
+        return transactionTemplate.execute(status -> accountRepository.depositToBalance(accountId, 1));
+    }
+
+    /**
+     * The store alone, without the repository, the transaction and the returned account.
+     */
+    @Benchmark
+    public boolean addToStoredBalance() {
+        return store.addToBalance(randomAccountId(), 1);
+    }
+
+    private UUID randomAccountId() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+}
@@ -2,12 +2,15 @@ package com.socgen.accountsmanagement;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
 
-@SpringBootApplication
+// the R2DBC adapter wires its own connection factory, a connection factory bean would disable the JPA data source
+@SpringBootApplication(exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class AccountsManagementApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(AccountsManagementApplication.class, args);
     }
 
-}
\ No newline at end of file
+}
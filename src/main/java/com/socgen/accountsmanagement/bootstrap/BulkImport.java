@@ -0,0 +1,59 @@
+package com.socgen.accountsmanagement.bootstrap;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.infrastructure.persistence.bulk.BulkImporter;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaDailyAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * Seeding of large data sets for performance tests, run when the application is started with {@code --bulk-import}.
+ * Rows are generated or loaded from CSV files as set by the {@code accounts.bulk-import.*} properties,
+ * then the daily aggregates are rebuilt.
+ */
+@Slf4j
+@Configuration
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BulkImport implements ApplicationRunner {
+
+    static final String OPTION = "bulk-import";
+
+    private final DataSource dataSource;
+
+    private final JpaDailyAggregateRepository dailyAggregateRepository;
+
+    private final AccountsProperties properties;
+
+    public BulkImport(DataSource dataSource, JpaDailyAggregateRepository dailyAggregateRepository,
+                      AccountsProperties properties) {
+        this.dataSource = dataSource;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) return;
+
+        AccountsProperties.BulkImport settings = properties.getBulkImport();
+        BulkImporter importer = new BulkImporter(dataSource, settings.getThreads(), settings.getBatchSize());
+        BulkImporter.Report report = settings.getCsvDirectory() != null
+                ? importer.importCsv(Path.of(settings.getCsvDirectory()))
+                : importer.importGenerated(settings.getClients(), settings.getOperationsPerAccount(),
+                settings.getHistoryDays());
+        log.info("Imported {} clients, {} accounts and {} operations in {} ms, {} rows/s",
+                report.getClients(), report.getAccounts(), report.getOperations(),
+                report.getElapsed().toMillis(), report.rowsPerSecond());
+
+        long start = System.nanoTime();
+        int aggregates = dailyAggregateRepository.rebuild();
+        log.info("Rebuilt {} daily aggregates in {} ms", aggregates, (System.nanoTime() - start) / 1_000_000);
+    }
+}
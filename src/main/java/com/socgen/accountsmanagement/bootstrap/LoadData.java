@@ -2,6 +2,7 @@ package com.socgen.accountsmanagement.bootstrap;
 
 import com.socgen.accountsmanagement.domain.Account;
 import com.socgen.accountsmanagement.domain.Client;
+import com.socgen.accountsmanagement.domain.Money;
 import com.socgen.accountsmanagement.domain.repository.AccountRepository;
 import com.socgen.accountsmanagement.domain.repository.ClientRepository;
 import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
@@ -28,10 +29,10 @@ public class LoadData implements CommandLineRunner {
         Client client2 = clientRepository.addClient(Client.builder().firstName("Djokovic").lastName("Novak").build());
 
         // add accounts
-        Account account1 = accountRepository.addAccount(Account.builder().client(client1).balance(1000).build());
-        Account account2 = accountRepository.addAccount(Account.builder().client(client2).balance(500).build());
+        Account account1 = accountRepository.addAccount(Account.builder().client(client1).balance(Money.ofMajor(1000)).build());
+        Account account2 = accountRepository.addAccount(Account.builder().client(client2).balance(Money.ofMajor(500)).build());
 
-        accountOperationsService.deposit(account1.getId(), 500d);
-        accountOperationsService.withdraw(account2.getId(), 20d);
+        accountOperationsService.deposit(account1.getId(), Money.ofMajor(500));
+        accountOperationsService.withdraw(account2.getId(), Money.ofMajor(20));
     }
 }
\ No newline at end of file
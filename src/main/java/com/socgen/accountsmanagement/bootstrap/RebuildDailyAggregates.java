@@ -0,0 +1,33 @@
+package com.socgen.accountsmanagement.bootstrap;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaDailyAggregateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfill of the daily aggregates from the operations,
+ * run when the application is started with {@code --rebuild-daily-aggregates}.
+ */
+@Slf4j
+@Component
+public class RebuildDailyAggregates implements ApplicationRunner {
+
+    static final String OPTION = "rebuild-daily-aggregates";
+
+    private final JpaDailyAggregateRepository dailyAggregateRepository;
+
+    public RebuildDailyAggregates(JpaDailyAggregateRepository dailyAggregateRepository) {
+        this.dailyAggregateRepository = dailyAggregateRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) return;
+
+        long start = System.nanoTime();
+        int aggregates = dailyAggregateRepository.rebuild();
+        log.info("Rebuilt {} daily aggregates in {} ms", aggregates, (System.nanoTime() - start) / 1_000_000);
+    }
+}
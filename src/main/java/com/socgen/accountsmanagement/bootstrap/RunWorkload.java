@@ -0,0 +1,117 @@
+package com.socgen.accountsmanagement.bootstrap;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.infrastructure.workload.AccountDistribution;
+import com.socgen.accountsmanagement.infrastructure.workload.RestWorkloadTarget;
+import com.socgen.accountsmanagement.infrastructure.workload.ServiceWorkloadTarget;
+import com.socgen.accountsmanagement.infrastructure.workload.Workload;
+import com.socgen.accountsmanagement.infrastructure.workload.WorkloadGenerator;
+import com.socgen.accountsmanagement.infrastructure.workload.WorkloadReport;
+import com.socgen.accountsmanagement.infrastructure.workload.WorkloadTarget;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Load test of the operations, run when the application is started with {@code --workload},
+ * after a {@code --bulk-import} if both are given. The workload is set by the {@code accounts.workload.*} properties
+ * and targets the operations service or the REST endpoints. Throughput, latency percentiles and errors are logged.
+ */
+@Slf4j
+@Configuration
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class RunWorkload implements ApplicationRunner {
+
+    static final String OPTION = "workload";
+
+    private final AccountOperationsService accountOperationsService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AccountsProperties properties;
+
+    private final Environment environment;
+
+    public RunWorkload(AccountOperationsService accountOperationsService, JdbcTemplate jdbcTemplate,
+                       AccountsProperties properties, Environment environment) {
+        this.accountOperationsService = accountOperationsService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.environment = environment;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) return;
+
+        AccountsProperties.Workload settings = properties.getWorkload();
+        List<UUID> accounts = new ArrayList<>(jdbcTemplate.queryForList(
+                "select id from account order by id fetch first ? rows only", UUID.class, settings.getAccounts()));
+        // hot accounts spread over the whole id range
+        Collections.shuffle(accounts);
+
+        WorkloadGenerator generator = new WorkloadGenerator(target(settings), accounts,
+                distribution(settings, accounts.size()));
+        if (!settings.getWarmup().isZero())
+            generator.run(workload(settings).toBuilder().duration(settings.getWarmup()).build());
+
+        log.info("Running {} operations/s on {} {} accessed accounts for {} against the {} layer",
+                settings.getRate(), accounts.size(), settings.getAccessPattern(), settings.getDuration(),
+                settings.getTarget());
+        WorkloadReport report = generator.run(workload(settings));
+
+        log.info("Completed {} operations in {} ms, {} operations/s, {} errors, {} dropped, error rate {}%",
+                report.completed(), report.getElapsed().toMillis(), Math.round(report.throughput()),
+                report.errors(), report.getDropped(), String.format("%.3f", report.errorRate() * 100));
+        report.getOperations().forEach((operation, stats) ->
+                log.info("{}: {} completed, {} rejected, {} errors, p50 {} us, p99 {} us, p99.9 {} us, max {} us",
+                        operation, stats.getCompleted(), stats.getRejected(), stats.getErrors(),
+                        stats.getP50Micros(), stats.getP99Micros(), stats.getP999Micros(), stats.getMaxMicros()));
+    }
+
+    private WorkloadTarget target(AccountsProperties.Workload settings) {
+        return switch (settings.getTarget()) {
+            case SERVICE -> new ServiceWorkloadTarget(accountOperationsService);
+            case REST -> new RestWorkloadTarget(URI.create(settings.getBaseUrl() != null
+                    ? settings.getBaseUrl()
+                    : "http://localhost:" + environment.getProperty("local.server.port", "8080")),
+                    settings.getRequestTimeout());
+        };
+    }
+
+    private static AccountDistribution distribution(AccountsProperties.Workload settings, int accounts) {
+        return switch (settings.getAccessPattern()) {
+            case UNIFORM -> AccountDistribution.uniform(accounts);
+            case ZIPF -> AccountDistribution.zipf(accounts, settings.getZipfExponent());
+            case HOT_SPOT -> AccountDistribution.hotSpot(accounts, settings.getHotAccountFraction(),
+                    settings.getHotAccessFraction());
+        };
+    }
+
+    private static Workload workload(AccountsProperties.Workload settings) {
+        return Workload.builder()
+                .rate(settings.getRate())
+                .duration(settings.getDuration())
+                .depositWeight(settings.getDepositWeight())
+                .withdrawWeight(settings.getWithdrawWeight())
+                .historyWeight(settings.getHistoryWeight())
+                .maxAmount(settings.getMaxAmount())
+                .historyPageSize(settings.getHistoryPageSize())
+                .threads(settings.getThreads())
+                .virtualThreads(settings.isVirtualThreads())
+                .maxOutstanding(settings.getMaxOutstanding())
+                .build();
+    }
+}
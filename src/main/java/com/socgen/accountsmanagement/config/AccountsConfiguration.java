@@ -0,0 +1,115 @@
+package com.socgen.accountsmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socgen.accountsmanagement.domain.concurrency.AccountLocks;
+import com.socgen.accountsmanagement.domain.concurrency.OptimisticRetryExecutor;
+import com.socgen.accountsmanagement.domain.concurrency.RetryPolicy;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsServiceImpl;
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import com.socgen.accountsmanagement.domain.repository.BalanceSnapshotRepository;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsSettings;
+import com.socgen.accountsmanagement.domain.service.BalanceSnapshots;
+import com.socgen.accountsmanagement.domain.service.HotAccounts;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
+import com.socgen.accountsmanagement.domain.service.RecentSnapshots;
+import com.socgen.accountsmanagement.domain.service.RetryingAccountOperationsService;
+import com.socgen.accountsmanagement.infrastructure.cache.CaffeineRecentSnapshots;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Configuration
+@EnableConfigurationProperties(AccountsProperties.class)
+public class AccountsConfiguration {
+
+    @Bean
+    public AccountLocks accountLocks(AccountsProperties properties, MeterRegistry meterRegistry,
+                                     HotAccounts hotAccounts) {
+        Consumer<UUID> contentionListener = properties.getHotAccounts().isEnabled()
+                ? hotAccounts::recordContention
+                : null;
+        if (!properties.getMetrics().isEnabled())
+            return new AccountLocks(properties.getLocks().getStripes(), null, contentionListener);
+
+        Timer waitTime = Timer.builder("accounts.locks.wait")
+                .description("Time waited for account locks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new AccountLocks(properties.getLocks().getStripes(),
+                nanos -> waitTime.record(nanos, TimeUnit.NANOSECONDS), contentionListener);
+    }
+
+    /**
+     * Hot accounts, including the ones promoted before a restart.
+     */
+    @Bean
+    public HotAccounts hotAccounts(BalanceSlotRepository balanceSlotRepository, AccountsProperties properties) {
+        AccountsProperties.HotAccounts hot = properties.getHotAccounts();
+        HotAccounts hotAccounts = new HotAccounts(balanceSlotRepository, hot.getSlots(),
+                hot.isEnabled() ? hot.getContentionThreshold() : 0, hot.getContentionWindow(),
+                hot.getMaxTrackedAccounts());
+        hotAccounts.load();
+        return hotAccounts;
+    }
+
+    @Bean
+    public OptimisticRetryExecutor optimisticRetryExecutor(AccountsProperties properties) {
+        AccountsProperties.Retry retry = properties.getRetry();
+        return new OptimisticRetryExecutor(RetryPolicy.builder()
+                .maxAttempts(retry.getMaxAttempts())
+                .initialBackoff(retry.getInitialBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .multiplier(retry.getMultiplier())
+                .jitter(retry.getJitter())
+                .build());
+    }
+
+    @Bean
+    public AccountOperationsSettings accountOperationsSettings(AccountsProperties properties) {
+        return AccountOperationsSettings.builder()
+                .balanceUpdateMode(properties.getOperations().getBalanceUpdateMode())
+                .historyPageSize(properties.getOperations().getHistory().getPageSize())
+                .historyMaxPageSize(properties.getOperations().getHistory().getMaxPageSize())
+                .build();
+    }
+
+    @Bean
+    public BalanceSnapshots balanceSnapshots(BalanceSnapshotRepository balanceSnapshotRepository,
+                                             AccountsProperties properties) {
+        AccountsProperties.Snapshots snapshots = properties.getSnapshots();
+        RecentSnapshots recentSnapshots = snapshots.getInterval().isZero() ? null
+                : new CaffeineRecentSnapshots(Caffeine.newBuilder()
+                        .maximumSize(snapshots.getMaxTrackedAccounts())
+                        .expireAfterWrite(snapshots.getInterval())
+                        .<UUID, Boolean>build());
+        return new BalanceSnapshots(balanceSnapshotRepository, snapshots.getUpdatesInterval(), recentSnapshots);
+    }
+
+    @Bean
+    public OperationsViews operationsViews(OperationRepository operationRepository, AccountsProperties properties) {
+        AccountsProperties.History history = properties.getOperations().getHistory();
+        return new OperationsViews(operationRepository, history.getViewPageSize(), history.getViewPrefetch(),
+                history.getViewPrefetchThreads());
+    }
+
+    /**
+     * Account operations exposed to callers, retried on optimistic locking conflicts.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "accounts.ledger", name = "enabled", havingValue = "false", matchIfMissing = true)
+    public AccountOperationsService accountOperationsService(AccountOperationsServiceImpl transactionalService,
+                                                             OptimisticRetryExecutor optimisticRetryExecutor) {
+        return new RetryingAccountOperationsService(transactionalService, optimisticRetryExecutor);
+    }
+}
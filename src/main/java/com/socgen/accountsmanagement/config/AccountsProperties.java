@@ -0,0 +1,366 @@
+package com.socgen.accountsmanagement.config;
+
+import com.socgen.accountsmanagement.domain.enums.BalanceUpdateMode;
+import com.socgen.accountsmanagement.infrastructure.journal.FsyncPolicy;
+import com.socgen.accountsmanagement.infrastructure.workload.AccessPattern;
+import com.socgen.accountsmanagement.infrastructure.workload.TargetLayer;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Application settings bound from the {@code accounts.*} properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "accounts")
+public class AccountsProperties {
+
+    private Locks locks = new Locks();
+
+    private Retry retry = new Retry();
+
+    private Operations operations = new Operations();
+
+    private Journal journal = new Journal();
+
+    private Ledger ledger = new Ledger();
+
+    private Cache cache = new Cache();
+
+    private Snapshots snapshots = new Snapshots();
+
+    private Reactive reactive = new Reactive();
+
+    private Metrics metrics = new Metrics();
+
+    private HotAccounts hotAccounts = new HotAccounts();
+
+    private BulkImport bulkImport = new BulkImport();
+
+    private Workload workload = new Workload();
+
+    private OffHeap offHeap = new OffHeap();
+
+    @Data
+    public static class Locks {
+
+        /**
+         * Number of lock stripes shared by all accounts, rounded up to a power of two.
+         */
+        private int stripes = 1024;
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Attempts of an operation meeting optimistic locking conflicts, including the first one.
+         */
+        private int maxAttempts = 5;
+
+        private Duration initialBackoff = Duration.ofMillis(5);
+
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        private double multiplier = 2.0;
+
+        /**
+         * Randomized part of the backoff, between 0 and 1.
+         */
+        private double jitter = 0.5;
+    }
+
+    @Data
+    public static class Operations {
+
+        private BalanceUpdateMode balanceUpdateMode = BalanceUpdateMode.READ_MODIFY_WRITE;
+
+        private History history = new History();
+    }
+
+    @Data
+    public static class History {
+
+        private int pageSize = 50;
+
+        private int maxPageSize = 500;
+
+        /**
+         * JDBC fetch size of the rows streamed by history exports.
+         */
+        private int exportFetchSize = 500;
+
+        /**
+         * Operations read per page when iterating the operations of an account.
+         */
+        private int viewPageSize = 100;
+
+        /**
+         * Pages read ahead in the background when iterating the operations of an account,
+         * 0 to read pages on demand only.
+         */
+        private int viewPrefetch = 0;
+
+        /**
+         * Threads reading the prefetched pages.
+         */
+        private int viewPrefetchThreads = 2;
+    }
+
+    @Data
+    public static class Journal {
+
+        /**
+         * Append operations to the journal, drained to the database in the background.
+         */
+        private boolean enabled = false;
+
+        private String directory = "journal";
+
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+
+        private Duration fsyncInterval = Duration.ofMillis(10);
+
+        /**
+         * Maximum operations inserted per write-behind transaction.
+         */
+        private int batchSize = 1000;
+
+        private Duration pollInterval = Duration.ofMillis(5);
+    }
+
+    @Data
+    public static class Ledger {
+
+        /**
+         * Apply deposits and withdrawals with the in-memory sharded ledger instead of database transactions.
+         */
+        private boolean enabled = false;
+
+        private int shards = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Pending operations per shard, rounded up to a power of two.
+         */
+        private int ringSize = 8192;
+
+        /**
+         * Maximum operations applied and persisted together by a shard.
+         */
+        private int batchSize = 256;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Serve account balances from memory outside of write transactions.
+         */
+        private boolean enabled = true;
+
+        private long maxSize = 100_000;
+
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Snapshots {
+
+        /**
+         * Balance updates of an account between two snapshots, 0 to disable.
+         */
+        private int updatesInterval = 100;
+
+        /**
+         * Time after which the next balance update of an account takes a snapshot, zero to disable.
+         */
+        private Duration interval = Duration.ofDays(1);
+
+        /**
+         * Maximum accounts whose last snapshot time is tracked.
+         */
+        private long maxTrackedAccounts = 100_000;
+    }
+
+    @Data
+    public static class Reactive {
+
+        /**
+         * Expose the non-blocking operations service, over R2DBC. Not to be combined with the ledger nor hot accounts.
+         */
+        private boolean enabled = false;
+
+        /**
+         * R2DBC URL of the database mapped by the JPA entities.
+         */
+        private String url = "r2dbc:h2:mem:///testdb";
+
+        private String username;
+
+        private String password;
+
+        private int poolSize = 10;
+    }
+
+    @Data
+    public static class HotAccounts {
+
+        /**
+         * Promote the accounts whose lock is contended to hot accounts, receiving deposits in balance slots.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Balance slots of a hot account.
+         */
+        private int slots = 8;
+
+        /**
+         * Contended acquisitions of an account lock within the contention window promoting the account.
+         */
+        private int contentionThreshold = 1000;
+
+        private Duration contentionWindow = Duration.ofSeconds(1);
+
+        /**
+         * Maximum accounts whose lock contention is tracked.
+         */
+        private long maxTrackedAccounts = 10_000;
+    }
+
+    @Data
+    public static class BulkImport {
+
+        /**
+         * Directory of the client.csv, account.csv and operation.csv files to load, data is generated when not set.
+         */
+        private String csvDirectory;
+
+        /**
+         * Generated clients, each owning one account.
+         */
+        private int clients = 1_000_000;
+
+        private int operationsPerAccount = 10;
+
+        /**
+         * Days over which the generated operations are spread.
+         */
+        private int historyDays = 365;
+
+        /**
+         * Concurrent producers, each using a connection of the pool.
+         */
+        private int threads = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+        /**
+         * Rows inserted and committed together by a producer.
+         */
+        private int batchSize = 10_000;
+    }
+
+    @Data
+    public static class Workload {
+
+        private TargetLayer target = TargetLayer.SERVICE;
+
+        /**
+         * Base URL of the instance receiving a REST workload, this instance when not set.
+         */
+        private String baseUrl;
+
+        private Duration requestTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Existing accounts accessed by the workload.
+         */
+        private int accounts = 10_000;
+
+        private AccessPattern accessPattern = AccessPattern.ZIPF;
+
+        private double zipfExponent = 1.0;
+
+        /**
+         * Fraction of the accounts receiving the hot spot accesses.
+         */
+        private double hotAccountFraction = 0.01;
+
+        /**
+         * Fraction of the accesses going to the hot spot accounts.
+         */
+        private double hotAccessFraction = 0.9;
+
+        /**
+         * Operations issued per second, whatever the latency of the target.
+         */
+        private int rate = 1000;
+
+        private Duration duration = Duration.ofSeconds(30);
+
+        /**
+         * Run before the measured one, its results are discarded.
+         */
+        private Duration warmup = Duration.ofSeconds(10);
+
+        private int depositWeight = 45;
+
+        private int withdrawWeight = 45;
+
+        private int historyWeight = 10;
+
+        /**
+         * Largest amount of a deposit or withdrawal, in minor units.
+         */
+        private long maxAmount = 10_000;
+
+        private int historyPageSize = 50;
+
+        /**
+         * Platform threads executing the operations, ignored with virtual threads.
+         */
+        private int threads = 64;
+
+        /**
+         * Execute each operation on its own virtual thread, requires Java 21.
+         */
+        private boolean virtualThreads = false;
+
+        /**
+         * Operations in flight beyond which arrivals are dropped.
+         */
+        private int maxOutstanding = 10_000;
+    }
+
+    @Data
+    public static class OffHeap {
+
+        /**
+         * Memory-mapped file of the off-heap account store, used with the offheap profile.
+         */
+        private String file = "accounts.store";
+
+        /**
+         * Records of a new store, rounded up to a power of two. A store holds up to three quarters of its records.
+         */
+        private int capacity = 1 << 20;
+
+        /**
+         * Interval between two writes of the updated balances back to the database and of the mapped pages
+         * back to the file.
+         */
+        private Duration syncInterval = Duration.ofSeconds(1);
+    }
+
+    @Data
+    public static class Metrics {
+
+        /**
+         * Time operations, repository calls, mappings and lock waits.
+         */
+        private boolean enabled = true;
+    }
+}
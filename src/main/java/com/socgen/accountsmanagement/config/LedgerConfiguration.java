@@ -0,0 +1,66 @@
+package com.socgen.accountsmanagement.config;
+
+import com.socgen.accountsmanagement.domain.ledger.LedgerWriter;
+import com.socgen.accountsmanagement.domain.ledger.ShardedLedger;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.DailyAggregateRepository;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsServiceImpl;
+import com.socgen.accountsmanagement.domain.service.BalanceSnapshots;
+import com.socgen.accountsmanagement.domain.service.ShardedAccountOperationsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory sharded ledger, enabled with {@code accounts.ledger.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.ledger", name = "enabled", havingValue = "true")
+public class LedgerConfiguration {
+
+    @Bean
+    public LedgerWriter ledgerWriter(AccountRepository accountRepository, OperationRepository operationRepository,
+                                     BalanceSnapshots balanceSnapshots,
+                                     DailyAggregateRepository dailyAggregateRepository) {
+        return new LedgerWriter(accountRepository, operationRepository, balanceSnapshots, dailyAggregateRepository);
+    }
+
+    @Bean
+    public ShardedLedger shardedLedger(AccountsProperties properties, AccountRepository accountRepository,
+                                       LedgerWriter ledgerWriter, MeterRegistry meterRegistry) {
+        AccountsProperties.Ledger ledger = properties.getLedger();
+        if (!properties.getMetrics().isEnabled())
+            return new ShardedLedger(ledger.getShards(), ledger.getRingSize(), ledger.getBatchSize(),
+                    accountRepository, ledgerWriter);
+
+        Timer applyTime = Timer.builder("accounts.ledger.apply")
+                .description("Time applying a batch of ledger operations in memory")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer persistTime = Timer.builder("accounts.ledger.persist")
+                .description("Time persisting a batch of ledger operations, retries included")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        return new ShardedLedger(ledger.getShards(), ledger.getRingSize(), ledger.getBatchSize(),
+                accountRepository, ledgerWriter,
+                nanos -> applyTime.record(nanos, TimeUnit.NANOSECONDS),
+                nanos -> persistTime.record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Account operations exposed to callers, applied by the ledger.
+     */
+    @Bean
+    @Primary
+    public AccountOperationsService shardedAccountOperationsService(ShardedLedger shardedLedger,
+                                                                    AccountOperationsServiceImpl transactionalService) {
+        return new ShardedAccountOperationsService(shardedLedger, transactionalService);
+    }
+}
@@ -0,0 +1,69 @@
+package com.socgen.accountsmanagement.config;
+
+import com.socgen.accountsmanagement.domain.concurrency.OptimisticRetryExecutor;
+import com.socgen.accountsmanagement.domain.service.HotAccounts;
+import com.socgen.accountsmanagement.infrastructure.cache.CachingAccountRepository;
+import io.micrometer.core.aop.CountedAspect;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Operations, repositories and locks metrics, disabled with {@code accounts.metrics.enabled=false}.
+ * Meters are exposed by the actuator, in Prometheus format on {@code /actuator/prometheus}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfiguration {
+
+    /**
+     * Times the methods annotated with {@link io.micrometer.core.annotation.Timed}.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Counts the failures of the methods annotated with {@link io.micrometer.core.annotation.Counted}.
+     */
+    @Bean
+    public CountedAspect countedAspect(MeterRegistry meterRegistry) {
+        return new CountedAspect(meterRegistry);
+    }
+
+    /**
+     * Optimistic retries, balances cache and hot accounts counts, read when scraped.
+     */
+    @Bean
+    public MeterBinder accountsMeterBinder(OptimisticRetryExecutor optimisticRetryExecutor,
+                                           ObjectProvider<CachingAccountRepository> cachingAccountRepository,
+                                           HotAccounts hotAccounts) {
+        return registry -> {
+            FunctionCounter.builder("accounts.retry.conflicts", optimisticRetryExecutor,
+                    OptimisticRetryExecutor::conflicts).register(registry);
+            FunctionCounter.builder("accounts.retry.retries", optimisticRetryExecutor,
+                    OptimisticRetryExecutor::retries).register(registry);
+            FunctionCounter.builder("accounts.retry.exhausted", optimisticRetryExecutor,
+                    OptimisticRetryExecutor::exhausted).register(registry);
+            Gauge.builder("accounts.hot", hotAccounts, HotAccounts::count)
+                    .description("Accounts receiving deposits in balance slots")
+                    .register(registry);
+
+            cachingAccountRepository.ifAvailable(cache -> {
+                FunctionCounter.builder("accounts.cache.requests", cache, c -> c.stats().hitCount())
+                        .tag("result", "hit").register(registry);
+                FunctionCounter.builder("accounts.cache.requests", cache, c -> c.stats().missCount())
+                        .tag("result", "miss").register(registry);
+                FunctionCounter.builder("accounts.cache.evictions", cache, c -> c.stats().evictionCount())
+                        .register(registry);
+            });
+        };
+    }
+}
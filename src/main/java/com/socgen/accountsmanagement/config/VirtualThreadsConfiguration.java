@@ -0,0 +1,51 @@
+package com.socgen.accountsmanagement.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves requests on virtual threads with the {@code virtual-threads} profile, requires Java 21.
+ * A request blocked on JPA then parks its virtual thread instead of holding a Tomcat worker.
+ */
+@Configuration
+@Profile("virtual-threads")
+public class VirtualThreadsConfiguration {
+
+    private ExecutorService executor;
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsProtocolHandlerCustomizer() {
+        executor = virtualThreadPerTaskExecutor();
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /**
+     * Wait for the requests still running once the web server is stopped.
+     */
+    @PreDestroy
+    public void shutdownExecutor() throws InterruptedException {
+        if (executor == null) return;
+
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS))
+            executor.shutdownNow();
+    }
+
+    /**
+     * Looked up reflectively, the project still compiles with Java 17.
+     */
+    public static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21", e);
+        }
+    }
+}
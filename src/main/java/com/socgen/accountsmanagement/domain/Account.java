@@ -2,8 +2,9 @@ package com.socgen.accountsmanagement.domain;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
-import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -12,6 +13,16 @@ public class Account {
 
     private UUID id;
     private Client client;
-    private double balance;
-    private List<Operation> operations;
+    /**
+     * Balance, in minor units.
+     */
+    private long balance;
+    private Long version;
+    /**
+     * Operations history, read when iterated for accounts read from the repository.
+     * Null when the account carries no history.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private OperationsView operations;
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.socgen.accountsmanagement.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Account balance once all operations up to an operation are applied,
+ * the operations are ordered by date and id as in the history.
+ */
+@Value
+@Builder
+public class BalanceSnapshot {
+
+    UUID accountId;
+
+    /**
+     * Balance, in minor units.
+     */
+    long balance;
+
+    /**
+     * Date of the last operation included in the balance.
+     */
+    LocalDateTime date;
+
+    /**
+     * Id of the last operation included in the balance.
+     */
+    UUID operationId;
+}
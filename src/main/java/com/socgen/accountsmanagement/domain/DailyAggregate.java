@@ -0,0 +1,28 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Totals of the operations of a type made on an account during a day.
+ */
+@Value
+@Builder
+public class DailyAggregate {
+
+    UUID accountId;
+    LocalDate day;
+    OperationType type;
+
+    /**
+     * Sum of the amounts, in minor units.
+     */
+    long total;
+    long count;
+    long minAmount;
+    long maxAmount;
+}
@@ -0,0 +1,80 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts are handled as primitive {@code long} minor units (cents),
+ * so balance arithmetic neither allocates nor drifts like floating point does.
+ * This class converts them from and to major units at the boundaries.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Minor units of a whole major units amount.
+     *
+     * @param major the major units
+     * @return the minor units
+     */
+    public static long ofMajor(long major) {
+        return Math.multiplyExact(major, MINOR_PER_MAJOR);
+    }
+
+    /**
+     * Minor units of a decimal major units amount.
+     *
+     * @param major the major units amount
+     * @return the minor units
+     * @throws ArithmeticException if the amount has more than {@link #SCALE} decimals
+     */
+    public static long ofMajor(BigDecimal major) {
+        return major.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Check the amount of an operation.
+     *
+     * @param amount the amount, in minor units
+     * @return the amount
+     * @throws ValidationException if the amount is not positive
+     */
+    public static long requirePositive(long amount) {
+        if (amount <= 0)
+            throw new ValidationException("Amount must be positive");
+        return amount;
+    }
+
+    /**
+     * Add a deposited amount to a balance.
+     *
+     * @param balance the balance, in minor units
+     * @param amount  the amount, in minor units
+     * @return the new balance
+     * @throws BalanceOverflowException if the balance would overflow
+     */
+    public static long credit(long balance, long amount) {
+        if (amount > 0 && balance > Long.MAX_VALUE - amount)
+            throw new BalanceOverflowException();
+        return balance + amount;
+    }
+
+    /**
+     * Decimal major units amount of minor units.
+     *
+     * @param minor the minor units
+     * @return the major units amount
+     */
+    public static BigDecimal toMajor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
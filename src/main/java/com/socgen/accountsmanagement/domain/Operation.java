@@ -3,16 +3,28 @@ package com.socgen.accountsmanagement.domain;
 import com.socgen.accountsmanagement.domain.enums.OperationType;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Data
 @Builder
 public class Operation {
 
+    private UUID id;
     private OperationType type;
-    private Double amount;
+    /**
+     * Amount, in minor units.
+     */
+    private long amount;
     private LocalDateTime date;
+    /**
+     * Owning account, left out of equals, hashCode and toString, which would cycle through its operations.
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Account account;
 
 }
\ No newline at end of file
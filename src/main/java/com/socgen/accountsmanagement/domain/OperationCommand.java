@@ -0,0 +1,22 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Operation requested on an account, part of a batch.
+ */
+@Value
+@Builder
+public class OperationCommand {
+
+    UUID accountId;
+    OperationType type;
+    /**
+     * Amount, in minor units.
+     */
+    long amount;
+}
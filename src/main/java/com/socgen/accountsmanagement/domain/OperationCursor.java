@@ -0,0 +1,21 @@
+package com.socgen.accountsmanagement.domain;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position in an operations history ordered from the newest operation,
+ * the next page starts right after the operation with this date and id.
+ */
+@Value
+public class OperationCursor {
+
+    LocalDateTime date;
+    UUID id;
+
+    public static OperationCursor after(Operation operation) {
+        return new OperationCursor(operation.getDate(), operation.getId());
+    }
+}
@@ -0,0 +1,21 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.enums.OperationStatus;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Outcome of an operation command of a batch.
+ */
+@Value
+@Builder
+public class OperationOutcome {
+
+    OperationCommand command;
+    OperationStatus status;
+
+    /**
+     * Account balance once the command is applied, null when it is not.
+     */
+    Long balance;
+}
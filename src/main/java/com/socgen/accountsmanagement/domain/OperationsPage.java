@@ -0,0 +1,18 @@
+package com.socgen.accountsmanagement.domain;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class OperationsPage {
+
+    private List<Operation> operations;
+
+    /**
+     * Cursor of the next page, null on the last page.
+     */
+    private OperationCursor next;
+}
@@ -0,0 +1,165 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Operations of an account, either held in memory or read from the repository while iterated.
+ * <p>
+ * A paged view reads the history newest operations first, one page per repository call, and every iteration
+ * reads it again. The first page of an iteration is read by the iterating thread, so within its transaction,
+ * pages prefetched ahead of the iteration are read by the executor threads.
+ */
+public final class OperationsView implements Iterable<Operation> {
+
+    private final List<Operation> operations;
+
+    private final UUID accountId;
+
+    private final OperationRepository repository;
+
+    private final int pageSize;
+
+    private final int prefetch;
+
+    private final Executor executor;
+
+    private OperationsView(List<Operation> operations, UUID accountId, OperationRepository repository,
+                           int pageSize, int prefetch, Executor executor) {
+        this.operations = operations;
+        this.accountId = accountId;
+        this.repository = repository;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.executor = executor;
+    }
+
+    /**
+     * View of operations held in memory.
+     *
+     * @param operations the operations
+     * @return the view
+     */
+    public static OperationsView of(List<Operation> operations) {
+        return new OperationsView(operations, null, null, 0, 0, null);
+    }
+
+    /**
+     * View reading the account history from the repository when iterated.
+     *
+     * @param accountId  the account id
+     * @param repository the operation repository
+     * @param pageSize   the operations read per page
+     * @param prefetch   the pages read ahead of the iteration, 0 to read pages on demand only
+     * @param executor   the executor reading the prefetched pages, unused without prefetch
+     * @return the view
+     */
+    public static OperationsView paged(UUID accountId, OperationRepository repository, int pageSize,
+                                       int prefetch, Executor executor) {
+        if (pageSize <= 0)
+            throw new IllegalArgumentException("Page size must be positive");
+        if (prefetch > 0 && executor == null)
+            throw new IllegalArgumentException("Prefetching pages needs an executor");
+
+        return new OperationsView(null, accountId, repository, pageSize, prefetch, executor);
+    }
+
+    /**
+     * Operations already in memory: all of them for a view of a list, none for a paged view.
+     *
+     * @return the operations
+     */
+    public List<Operation> loaded() {
+        return operations != null ? operations : Collections.emptyList();
+    }
+
+    public boolean isPaged() {
+        return operations == null;
+    }
+
+    @Override
+    public Iterator<Operation> iterator() {
+        return operations != null ? operations.iterator() : new PagedIterator();
+    }
+
+    public Stream<Operation> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private List<Operation> pageAfter(List<Operation> previous) {
+        if (previous.size() < pageSize)
+            return Collections.emptyList();
+        return repository.operationsHistory(accountId, OperationCursor.after(previous.get(previous.size() - 1)), pageSize);
+    }
+
+    private final class PagedIterator implements Iterator<Operation> {
+
+        // pages requested ahead of the current one, in history order
+        private final Deque<CompletableFuture<List<Operation>>> prefetched = new ArrayDeque<>();
+
+        private List<Operation> page;
+
+        private Iterator<Operation> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                // a short page is the last one
+                if (page != null && page.size() < pageSize)
+                    return false;
+
+                page = nextPage();
+                current = page.iterator();
+                prefetch();
+            }
+            return true;
+        }
+
+        @Override
+        public Operation next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        private List<Operation> nextPage() {
+            if (page == null)
+                return repository.operationsHistory(accountId, null, pageSize);
+            if (prefetched.isEmpty())
+                return pageAfter(page);
+
+            try {
+                return prefetched.poll().join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause)
+                    throw cause;
+                throw e;
+            }
+        }
+
+        private void prefetch() {
+            if (page.size() < pageSize)
+                return;
+
+            CompletableFuture<List<Operation>> last = prefetched.isEmpty()
+                    ? CompletableFuture.completedFuture(page)
+                    : prefetched.peekLast();
+            while (prefetched.size() < prefetch) {
+                last = last.thenApplyAsync(OperationsView.this::pageAfter, executor);
+                prefetched.add(last);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.socgen.accountsmanagement.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Transfer between two accounts, with the accounts once the transfer is applied.
+ */
+@Value
+@Builder
+public class Transfer {
+
+    Account from;
+    Account to;
+
+    /**
+     * Amount transferred, in minor units.
+     */
+    long amount;
+}
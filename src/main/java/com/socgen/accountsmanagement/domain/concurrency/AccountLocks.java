@@ -0,0 +1,165 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks keyed by account id.
+ * Operations on the same account are serialized while unrelated accounts
+ * only contend when they happen to share a stripe.
+ */
+public class AccountLocks {
+
+    private final ReentrantLock[] stripes;
+
+    private final int mask;
+
+    private final LongConsumer waitTimeRecorder;
+
+    private final Consumer<UUID> contentionListener;
+
+    public AccountLocks(int stripes) {
+        this(stripes, null);
+    }
+
+    public AccountLocks(int stripes, LongConsumer waitTimeRecorder) {
+        this(stripes, waitTimeRecorder, null);
+    }
+
+    /**
+     * @param stripes            the number of stripes, rounded up to a power of two
+     * @param waitTimeRecorder   receives the time waited for each lock, in nanoseconds, null to skip timing
+     * @param contentionListener receives the account id whenever the lock of a single account was contended,
+     *                           null to skip
+     */
+    public AccountLocks(int stripes, LongConsumer waitTimeRecorder, Consumer<UUID> contentionListener) {
+        if (stripes <= 0)
+            throw new IllegalArgumentException("Lock stripes must be positive");
+
+        int size = 1;
+        while (size < stripes)
+            size <<= 1;
+
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        this.waitTimeRecorder = waitTimeRecorder;
+        this.contentionListener = contentionListener;
+        for (int i = 0; i < size; i++)
+            this.stripes[i] = new ReentrantLock();
+    }
+
+    /**
+     * Run the action while holding the lock of the account.
+     * When a transaction is active the lock is kept until it completes,
+     * so the next writer of the account always reads committed state.
+     *
+     * @param accountId the account id
+     * @param action    the action
+     * @return the action result
+     */
+    public <T> T withLock(UUID accountId, Supplier<T> action) {
+        return withLock(lockFor(accountId), accountId, action);
+    }
+
+    /**
+     * Run the action while holding the locks of all the accounts.
+     * Stripes are always locked in ascending index order, so concurrent callers
+     * locking overlapping accounts cannot deadlock.
+     *
+     * @param accountIds the accounts ids
+     * @param action     the action
+     * @return the action result
+     */
+    public <T> T withLocks(Collection<UUID> accountIds, Supplier<T> action) {
+        int[] indexes = accountIds.stream()
+                .mapToInt(this::stripeIndex)
+                .sorted()
+                .distinct()
+                .toArray();
+        return withStripes(indexes, 0, action);
+    }
+
+    /**
+     * Number of stripes.
+     *
+     * @return the stripes count
+     */
+    public int stripes() {
+        return stripes.length;
+    }
+
+    int stripeIndex(UUID accountId) {
+        int h = accountId.hashCode();
+        // spread high bits, UUID hash codes are not uniform on low bits for time based ids
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    ReentrantLock lockFor(UUID accountId) {
+        return stripes[stripeIndex(accountId)];
+    }
+
+    private <T> T withStripes(int[] indexes, int from, Supplier<T> action) {
+        if (from == indexes.length)
+            return action.get();
+
+        return withLock(stripes[indexes[from]], null, () -> withStripes(indexes, from + 1, action));
+    }
+
+    private <T> T withLock(ReentrantLock lock, UUID accountId, Supplier<T> action) {
+        if (acquire(lock) && accountId != null && contentionListener != null)
+            contentionListener.accept(accountId);
+
+        boolean releaseOnCompletion = false;
+        try {
+            releaseOnCompletion = releaseOnCompletion(lock);
+            return action.get();
+        } finally {
+            if (!releaseOnCompletion)
+                lock.unlock();
+        }
+    }
+
+    /**
+     * Acquire the lock.
+     *
+     * @param lock the lock
+     * @return true if the lock was held by another thread
+     */
+    private boolean acquire(ReentrantLock lock) {
+        // the clock is only read when the lock is contended
+        if (lock.tryLock()) {
+            if (waitTimeRecorder != null)
+                waitTimeRecorder.accept(0L);
+            return false;
+        }
+
+        if (waitTimeRecorder == null) {
+            lock.lock();
+            return true;
+        }
+        long start = System.nanoTime();
+        lock.lock();
+        waitTimeRecorder.accept(System.nanoTime() - start);
+        return true;
+    }
+
+    private static boolean releaseOnCompletion(ReentrantLock lock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return false;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,102 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * Each slot carries a sequence telling whether it is free for the producer
+ * claiming that position or published for the consumer.
+ *
+ * @param <E> the elements type
+ */
+public class MpscRingBuffer<E> {
+
+    private final Object[] elements;
+
+    private final AtomicLongArray sequences;
+
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    // only read and written by the consumer
+    private long head;
+
+    public MpscRingBuffer(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Ring buffer capacity must be positive");
+
+        int size = 1;
+        while (size < capacity)
+            size <<= 1;
+
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Add an element, safe to call from any thread.
+     *
+     * @param element the element
+     * @return false when the buffer is full
+     */
+    public boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            long available = sequences.get(index(position)) - position;
+            if (available == 0) {
+                if (tail.compareAndSet(position, position + 1)) break;
+                position = tail.get();
+            } else if (available < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+
+        int index = index(position);
+        elements[index] = element;
+        // publish the element to the consumer
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Take the oldest element, only called by the consumer thread.
+     *
+     * @return the element, null when the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        int index = index(head);
+        if (sequences.get(index) != head + 1) return null;
+
+        E element = (E) elements[index];
+        elements[index] = null;
+        // free the slot for the producer claiming it on the next lap
+        sequences.lazySet(index, head + elements.length);
+        head++;
+        return element;
+    }
+
+    /**
+     * Whether the buffer is empty, only called by the consumer thread.
+     *
+     * @return true when no element is published
+     */
+    public boolean isEmpty() {
+        return sequences.get(index(head)) != head + 1;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    private int index(long position) {
+        return (int) position & mask;
+    }
+}
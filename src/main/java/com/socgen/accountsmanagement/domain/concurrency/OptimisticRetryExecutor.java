@@ -0,0 +1,83 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Re-run an action failing on optimistic locking conflicts, following the retry policy.
+ * The action must start its own transaction so each attempt reads fresh state.
+ */
+public class OptimisticRetryExecutor {
+
+    private final RetryPolicy policy;
+
+    private final LongAdder conflicts = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder exhausted = new LongAdder();
+
+    public OptimisticRetryExecutor(RetryPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Execute the action, retrying on conflicts.
+     *
+     * @param action the action
+     * @return the action result
+     * @throws OptimisticLockingFailureException when attempts are exhausted
+     */
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= policy.getMaxAttempts()) {
+                    exhausted.increment();
+                    throw e;
+                }
+            }
+
+            retries.increment();
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * Number of optimistic locking conflicts met.
+     */
+    public long conflicts() {
+        return conflicts.sum();
+    }
+
+    /**
+     * Number of re-executed attempts.
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Number of actions failed after the last attempt.
+     */
+    public long exhausted() {
+        return exhausted.sum();
+    }
+
+    private void backoff(int retry) {
+        long nanos = policy.backoffNanos(retry);
+        if (nanos <= 0) return;
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy of optimistic concurrency conflicts: exponential backoff with jitter.
+ */
+@Value
+@Builder
+public class RetryPolicy {
+
+    /**
+     * Total attempts, including the first one.
+     */
+    @Builder.Default
+    int maxAttempts = 5;
+
+    @Builder.Default
+    Duration initialBackoff = Duration.ofMillis(5);
+
+    @Builder.Default
+    Duration maxBackoff = Duration.ofMillis(200);
+
+    @Builder.Default
+    double multiplier = 2.0;
+
+    /**
+     * Part of the backoff randomized, between 0 (none) and 1 (full jitter).
+     */
+    @Builder.Default
+    double jitter = 0.5;
+
+    /**
+     * Backoff before the given retry.
+     *
+     * @param retry the retry number, starting at 1
+     * @return the backoff in nanos
+     */
+    public long backoffNanos(int retry) {
+        double backoff = initialBackoff.toNanos() * Math.pow(multiplier, retry - 1);
+        backoff = Math.min(backoff, maxBackoff.toNanos());
+
+        double randomized = backoff * jitter * ThreadLocalRandom.current().nextDouble();
+        return (long) (backoff - randomized);
+    }
+}
@@ -0,0 +1,15 @@
+package com.socgen.accountsmanagement.domain.enums;
+
+/**
+ * How deposits and withdrawals update the account balance.
+ */
+public enum BalanceUpdateMode {
+    /**
+     * Load the account, check and change the balance, then save it under the account lock.
+     */
+    READ_MODIFY_WRITE,
+    /**
+     * Apply the change with a single conditional update statement.
+     */
+    CONDITIONAL_UPDATE
+}
@@ -0,0 +1,5 @@
+package com.socgen.accountsmanagement.domain.enums;
+
+public enum OperationStatus {
+    APPLIED, INSUFFICIENT_FUND, ACCOUNT_NOT_FOUND
+}
@@ -2,7 +2,7 @@ package com.socgen.accountsmanagement.domain.exceptions;
 
 public class AccountNotFoundException extends RuntimeException {
 
-    private static final String message = "Unknow operation type";
+    private static final String message = "Account not found";
 
     public AccountNotFoundException() {
         super(message);
@@ -0,0 +1,11 @@
+package com.socgen.accountsmanagement.domain.exceptions;
+
+public class BalanceOverflowException extends RuntimeException {
+
+    private static final String message = "Balance overflow";
+
+    public BalanceOverflowException() {
+        super(message);
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.socgen.accountsmanagement.domain.exceptions;
+
+/**
+ * Invalid input of an operation, rejected before anything is applied.
+ */
+public class ValidationException extends RuntimeException {
+
+    public ValidationException(String message) {
+        super(message);
+    }
+
+    public ValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
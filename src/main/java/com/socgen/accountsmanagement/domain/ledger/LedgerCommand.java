@@ -0,0 +1,74 @@
+package com.socgen.accountsmanagement.domain.ledger;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import lombok.Value;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operation submitted to a ledger shard.
+ */
+@Value
+class LedgerCommand {
+
+    Kind kind;
+
+    UUID accountId;
+
+    long amount;
+
+    CompletableFuture<Account> result = new CompletableFuture<>();
+
+    enum Kind {
+
+        DEPOSIT(OperationType.DEPOSIT),
+
+        WITHDRAW(OperationType.WITHDRAW),
+
+        /**
+         * Check the credited account of a transfer and reserve room for the amount in its balance,
+         * the credit then cannot fail.
+         */
+        RESERVE_CREDIT(null),
+
+        /**
+         * Credit an amount reserved before.
+         */
+        CREDIT(OperationType.DEPOSIT),
+
+        /**
+         * Release an amount reserved before, the debit of the transfer failed.
+         */
+        RELEASE_CREDIT(null),
+
+        /**
+         * Read the account as left by the commands submitted before.
+         */
+        READ(null);
+
+        /**
+         * Type of the persisted operation, null when the balance is left unchanged.
+         */
+        final OperationType operationType;
+
+        Kind(OperationType operationType) {
+            this.operationType = operationType;
+        }
+
+        static Kind of(OperationType type) {
+            return switch (type) {
+                case DEPOSIT -> DEPOSIT;
+                case WITHDRAW -> WITHDRAW;
+            };
+        }
+
+        /**
+         * Settles a transfer already debited or reserved, applied even once the shard fails.
+         */
+        boolean settles() {
+            return this == CREDIT || this == RELEASE_CREDIT;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package com.socgen.accountsmanagement.domain.ledger;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.concurrency.MpscRingBuffer;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Partition of the ledger owned by a single thread.
+ * Balances are only read and written by that thread, so operations are applied without locks;
+ * each applied batch is handed to the shard writer thread, persisting batches in order.
+ * A batch failing to persist is retried, later batches waiting behind it; after a few failed attempts
+ * the shard fails and stops accepting operations, and the batch is dropped unless the failure is transient.
+ * <p>
+ * The steps of the transfers are forwarded by the shards to each other in a separate unbounded queue,
+ * so that a shard never waits for room in another one, and are applied first.
+ */
+@Slf4j
+class LedgerShard implements Runnable {
+
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final int ATTEMPTS_BEFORE_FAILING = 3;
+
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final int index;
+
+    private final MpscRingBuffer<LedgerCommand> commands;
+
+    private final Queue<LedgerCommand> transferSteps = new ConcurrentLinkedQueue<>();
+
+    private final int batchSize;
+
+    private final AccountRepository accountRepository;
+
+    private final LedgerWriter ledgerWriter;
+
+    private final LongConsumer applyTimeRecorder;
+
+    private final LongConsumer persistTimeRecorder;
+
+    /**
+     * Accounts touched since the shard started, never evicted: an account read back from the database
+     * would miss its batches not persisted yet. The ledger is meant for a working set of accounts held in memory,
+     * about a hundred bytes each.
+     */
+    private final Map<UUID, Account> accounts = new HashMap<>();
+
+    /**
+     * Amounts reserved for the transfers in progress to the accounts, the balances keep room for them.
+     */
+    private final Map<UUID, Long> reservedCredits = new HashMap<>();
+
+    private final ExecutorService writer;
+
+    private volatile boolean running;
+
+    private volatile boolean idle;
+
+    private volatile boolean stopped;
+
+    private volatile boolean failed;
+
+    private Thread thread;
+
+    LedgerShard(int index, int ringSize, int batchSize, AccountRepository accountRepository, LedgerWriter ledgerWriter,
+                LongConsumer applyTimeRecorder, LongConsumer persistTimeRecorder) {
+        this.index = index;
+        this.commands = new MpscRingBuffer<>(ringSize);
+        this.batchSize = batchSize;
+        this.accountRepository = accountRepository;
+        this.ledgerWriter = ledgerWriter;
+        this.applyTimeRecorder = applyTimeRecorder;
+        this.persistTimeRecorder = persistTimeRecorder;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "ledger-writer-" + index));
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(this, "ledger-shard-" + index);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Apply the remaining commands and wait for their persistence,
+     * commands queued once the shard thread is gone are failed.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join();
+
+        stopped = true;
+        rejectQueued();
+
+        writer.shutdown();
+        if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.error("Ledger shard {} stopped before persisting all its operations", index);
+            writer.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue a command, waiting for room when the ring buffer is full.
+     *
+     * @param command the command
+     */
+    void submit(LedgerCommand command) {
+        if (failed || stopped) {
+            reject(command);
+            return;
+        }
+
+        while (!commands.offer(command)) {
+            if (!running || failed) {
+                reject(command);
+                return;
+            }
+            Thread.onSpinWait();
+        }
+
+        // the command is either seen by the stopping thread or sees the shard stopped
+        VarHandle.fullFence();
+        if (stopped)
+            rejectQueued();
+        else if (idle)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Queue a step of a transfer accepted by the ledger, without waiting for room nor being rejected.
+     *
+     * @param command the command
+     */
+    void forward(LedgerCommand command) {
+        transferSteps.offer(command);
+        if (idle)
+            LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        List<LedgerCommand> batch = new ArrayList<>(batchSize);
+        while (running || !commands.isEmpty() || !transferSteps.isEmpty()) {
+            LedgerCommand command;
+            while (batch.size() < batchSize && (command = transferSteps.poll()) != null)
+                batch.add(command);
+            while (batch.size() < batchSize && (command = commands.poll()) != null)
+                batch.add(command);
+
+            if (batch.isEmpty()) {
+                idle = true;
+                // a command published while going idle waits at most one idle period
+                if (running && commands.isEmpty() && transferSteps.isEmpty())
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                idle = false;
+                continue;
+            }
+
+            if (applyTimeRecorder == null)
+                apply(batch);
+            else {
+                long start = System.nanoTime();
+                apply(batch);
+                applyTimeRecorder.accept(System.nanoTime() - start);
+            }
+            batch.clear();
+        }
+    }
+
+    private void apply(List<LedgerCommand> batch) {
+        Map<UUID, Account> updated = new LinkedHashMap<>();
+        List<LedgerCommand> applied = new ArrayList<>(batch.size());
+
+        for (LedgerCommand command : batch) {
+            if (failed && !command.getKind().settles()) {
+                reject(command);
+                continue;
+            }
+
+            Account account;
+            try {
+                account = account(command.getAccountId());
+                switch (command.getKind()) {
+                    case DEPOSIT -> {
+                        requireRoom(account, command.getAmount());
+                        account.setBalance(account.getBalance() + command.getAmount());
+                    }
+                    case WITHDRAW -> {
+                        if (account.getBalance() < command.getAmount())
+                            throw new InsufficientFundException();
+                        account.setBalance(account.getBalance() - command.getAmount());
+                    }
+                    case RESERVE_CREDIT -> {
+                        requireRoom(account, command.getAmount());
+                        reservedCredits.merge(account.getId(), command.getAmount(), Long::sum);
+                    }
+                    case CREDIT -> {
+                        release(account, command.getAmount());
+                        account.setBalance(account.getBalance() + command.getAmount());
+                    }
+                    case RELEASE_CREDIT -> release(account, command.getAmount());
+                }
+            } catch (RuntimeException e) {
+                command.getResult().completeExceptionally(e);
+                continue;
+            }
+
+            if (command.getKind().operationType != null) {
+                updated.put(account.getId(), account);
+                applied.add(command);
+            }
+            command.getResult().complete(copy(account));
+        }
+
+        if (!updated.isEmpty())
+            persist(updated.values(), applied);
+    }
+
+    /**
+     * Persist asynchronously the balances of the batch.
+     * Each saved account gets its version bumped, the shard anticipates it
+     * so the next batch saves the account with the version of this one.
+     */
+    private void persist(Collection<Account> updated, List<LedgerCommand> applied) {
+        Map<UUID, Account> snapshots = new LinkedHashMap<>();
+        for (Account account : updated) {
+            snapshots.put(account.getId(), copy(account));
+            account.setVersion(account.getVersion() + 1);
+        }
+
+        List<Operation> operations = new ArrayList<>(applied.size());
+        LocalDateTime date = LocalDateTime.now();
+        for (LedgerCommand command : applied)
+            operations.add(Operation.builder()
+                    .type(command.getKind().operationType)
+                    .date(date)
+                    .account(snapshots.get(command.getAccountId()))
+                    .amount(command.getAmount())
+                    .build());
+
+        if (persistTimeRecorder == null) {
+            writer.execute(() -> write(snapshots.values(), operations));
+            return;
+        }
+        writer.execute(() -> {
+            // retries included, the batch is persisted or the shard stopped
+            long start = System.nanoTime();
+            write(snapshots.values(), operations);
+            persistTimeRecorder.accept(System.nanoTime() - start);
+        });
+    }
+
+    /**
+     * Write a batch, retrying while the failure is transient: its operations are already acknowledged
+     * and the versions of the next batches follow from this one.
+     * A batch still failing otherwise after a few attempts can never be persisted, it is logged and dropped
+     * not to hold the next batches back.
+     */
+    private void write(Collection<Account> snapshots, List<Operation> operations) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                ledgerWriter.write(snapshots, operations);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Cannot persist {} ledger operations of shard {}, attempt {}", operations.size(), index, attempt, e);
+                if (attempt >= ATTEMPTS_BEFORE_FAILING && !failed) {
+                    log.error("Ledger shard {} stops accepting operations", index);
+                    failed = true;
+                }
+                if (attempt >= ATTEMPTS_BEFORE_FAILING && !isTransient(e)) {
+                    log.error("Ledger shard {} drops {} operations never persisted: {}", index, operations.size(),
+                            operations.stream()
+                                    .map(operation -> operation.getType() + " " + operation.getAmount()
+                                            + " on " + operation.getAccount().getId())
+                                    .toList());
+                    return;
+                }
+            }
+
+            try {
+                TimeUnit.MILLISECONDS.sleep(Math.min(100L << Math.min(attempt, 6), MAX_RETRY_DELAY_MILLIS));
+            } catch (InterruptedException e) {
+                log.error("Ledger shard {} stopped with {} operations not persisted", index, operations.size());
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Failures a later attempt may get past, the database being unreachable or busy.
+     * A version conflict with another writer or a constraint violation fails every attempt.
+     */
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException && !(e instanceof OptimisticLockingFailureException)
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+
+    private Account account(UUID accountId) {
+        Account account = accounts.get(accountId);
+        if (account != null) return account;
+
+        account = accountRepository.findAccountById(accountId).orElseThrow(AccountNotFoundException::new);
+        accounts.put(accountId, account);
+        return account;
+    }
+
+    /**
+     * Check the balance keeps room for the amount next to the credits reserved on the account.
+     */
+    private void requireRoom(Account account, long amount) {
+        // the balance always has room for the reserved credits
+        Money.credit(account.getBalance() + reservedCredits.getOrDefault(account.getId(), 0L), amount);
+    }
+
+    private void release(Account account, long amount) {
+        reservedCredits.computeIfPresent(account.getId(), (id, reserved) -> reserved == amount ? null : reserved - amount);
+    }
+
+    private synchronized void rejectQueued() {
+        // the shard thread is gone, the stopping and the submitting threads take turns as the consumer
+        LedgerCommand late;
+        while ((late = commands.poll()) != null)
+            reject(late);
+    }
+
+    private void reject(LedgerCommand command) {
+        command.getResult().completeExceptionally(
+                new IllegalStateException(failed ? "Ledger shard cannot persist its operations" : "Ledger is stopped"));
+    }
+
+    private static Account copy(Account account) {
+        return Account.builder()
+                .id(account.getId())
+                .balance(account.getBalance())
+                .version(account.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.socgen.accountsmanagement.domain.ledger;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.DailyAggregateRepository;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.domain.service.BalanceSnapshots;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persists the batches applied by the ledger shards.
+ */
+public class LedgerWriter {
+
+    private final AccountRepository accountRepository;
+
+    private final OperationRepository operationRepository;
+
+    private final BalanceSnapshots balanceSnapshots;
+
+    private final DailyAggregateRepository dailyAggregateRepository;
+
+    public LedgerWriter(AccountRepository accountRepository, OperationRepository operationRepository,
+                        BalanceSnapshots balanceSnapshots, DailyAggregateRepository dailyAggregateRepository) {
+        this.accountRepository = accountRepository;
+        this.operationRepository = operationRepository;
+        this.balanceSnapshots = balanceSnapshots;
+        this.dailyAggregateRepository = dailyAggregateRepository;
+    }
+
+    /**
+     * Save the accounts balances and insert the operations in one transaction.
+     *
+     * @param accounts   the accounts, with the version they have in the database
+     * @param operations the operations
+     */
+    @Transactional
+    public void write(Collection<Account> accounts, List<Operation> operations) {
+        accounts.forEach(accountRepository::saveAccount);
+        operationRepository.addOperations(operations);
+        dailyAggregateRepository.addOperations(operations);
+
+        Map<UUID, Operation> lastOperations = new HashMap<>();
+        operations.forEach(operation -> lastOperations.put(operation.getAccount().getId(), operation));
+        accounts.forEach(account -> balanceSnapshots.recordIfDue(account, lastOperations.get(account.getId())));
+    }
+}
@@ -0,0 +1,182 @@
+package com.socgen.accountsmanagement.domain.ledger;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * In-memory ledger partitioning accounts across single-writer shards.
+ * The ledger must be the only writer of the accounts balances: each shard loads an account
+ * once and then only trusts its own copy, persisted asynchronously in batches.
+ */
+public class ShardedLedger implements SmartLifecycle {
+
+    private static final long TRANSFERS_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final LedgerShard[] shards;
+
+    private final AtomicInteger transfersInProgress = new AtomicInteger();
+
+    private volatile boolean running;
+
+    public ShardedLedger(int shards, int ringSize, int batchSize,
+                         AccountRepository accountRepository, LedgerWriter ledgerWriter) {
+        this(shards, ringSize, batchSize, accountRepository, ledgerWriter, null, null);
+    }
+
+    /**
+     * @param applyTimeRecorder   receives the time spent applying each batch in memory, in nanoseconds,
+     *                            null to skip timing
+     * @param persistTimeRecorder receives the time spent persisting each batch, retries included, in nanoseconds,
+     *                            null to skip timing
+     */
+    public ShardedLedger(int shards, int ringSize, int batchSize,
+                         AccountRepository accountRepository, LedgerWriter ledgerWriter,
+                         LongConsumer applyTimeRecorder, LongConsumer persistTimeRecorder) {
+        if (shards <= 0)
+            throw new IllegalArgumentException("Ledger shards must be positive");
+
+        this.shards = new LedgerShard[shards];
+        for (int i = 0; i < shards; i++)
+            this.shards[i] = new LedgerShard(i, ringSize, batchSize, accountRepository, ledgerWriter,
+                    applyTimeRecorder, persistTimeRecorder);
+    }
+
+    /**
+     * Submit an operation to the shard of the account.
+     * The future completes on the shard thread once the operation is applied in memory,
+     * dependent actions should use the async variants not to hold the shard back.
+     *
+     * @param type      the operation type
+     * @param accountId the account id
+     * @param amount    the amount, in minor units
+     * @return the account after the operation
+     */
+    public CompletableFuture<Account> submit(OperationType type, UUID accountId, long amount) {
+        return submit(new LedgerCommand(LedgerCommand.Kind.of(type), accountId, amount));
+    }
+
+    /**
+     * Read the account from its shard, once the operations submitted before are applied:
+     * the balance includes every acknowledged operation, persisted or not.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
+    public CompletableFuture<Account> read(UUID accountId) {
+        return submit(new LedgerCommand(LedgerCommand.Kind.READ, accountId, 0));
+    }
+
+    private CompletableFuture<Account> submit(LedgerCommand command) {
+        if (!running) {
+            command.getResult().completeExceptionally(new IllegalStateException("Ledger is stopped"));
+            return command.getResult();
+        }
+
+        shards[shardIndex(command.getAccountId())].submit(command);
+        return command.getResult();
+    }
+
+    /**
+     * Transfer an amount from an account to another one, possibly owned by another shard.
+     * The shard of the credited account first reserves room for the amount in its balance,
+     * the shard of the debited account then withdraws it, and the reserved amount is finally credited,
+     * or released when the withdrawal fails: no step has to be compensated.
+     * Once reserved, the steps are never rejected and the ledger stops only when they are all applied.
+     * Each shard persists its own leg, the database may miss one of them for a short while.
+     *
+     * @param fromAccountId the debited account id
+     * @param toAccountId   the credited account id
+     * @param amount        the amount, in minor units
+     * @return the transfer, with the accounts once the transfer is applied
+     */
+    public CompletableFuture<Transfer> transfer(UUID fromAccountId, UUID toAccountId, long amount) {
+        CompletableFuture<Transfer> result = new CompletableFuture<>();
+        // counted before checking the ledger is running, the stopping thread then waits for the transfer
+        transfersInProgress.incrementAndGet();
+        if (!running) {
+            transfersInProgress.decrementAndGet();
+            result.completeExceptionally(new IllegalStateException("Ledger is stopped"));
+            return result;
+        }
+
+        LedgerShard creditShard = shards[shardIndex(toAccountId)];
+        LedgerShard debitShard = shards[shardIndex(fromAccountId)];
+        LedgerCommand reserve = new LedgerCommand(LedgerCommand.Kind.RESERVE_CREDIT, toAccountId, amount);
+        reserve.getResult().whenComplete((reserved, reserveFailure) -> {
+            if (reserveFailure != null) {
+                transfersInProgress.decrementAndGet();
+                result.completeExceptionally(reserveFailure);
+                return;
+            }
+
+            LedgerCommand debit = new LedgerCommand(LedgerCommand.Kind.WITHDRAW, fromAccountId, amount);
+            debit.getResult().whenComplete((from, debitFailure) -> {
+                LedgerCommand settlement = new LedgerCommand(debitFailure == null
+                        ? LedgerCommand.Kind.CREDIT
+                        : LedgerCommand.Kind.RELEASE_CREDIT, toAccountId, amount);
+                settlement.getResult().whenComplete((to, settlementFailure) -> {
+                    transfersInProgress.decrementAndGet();
+                    if (debitFailure != null || settlementFailure != null)
+                        result.completeExceptionally(debitFailure != null ? debitFailure : settlementFailure);
+                    else
+                        result.complete(Transfer.builder().from(from).to(to).amount(amount).build());
+                });
+                creditShard.forward(settlement);
+            });
+            debitShard.forward(debit);
+        });
+        creditShard.submit(reserve);
+        return result;
+    }
+
+    public int shards() {
+        return shards.length;
+    }
+
+    int shardIndex(UUID accountId) {
+        int hash = accountId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    @Override
+    public void start() {
+        for (LedgerShard shard : shards)
+            shard.start();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        // the steps of the transfers in progress are forwarded between running shards
+        while (transfersInProgress.get() > 0)
+            LockSupport.parkNanos(TRANSFERS_POLL_NANOS);
+        try {
+            for (LedgerShard shard : shards)
+                shard.stop();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // start before and stop after the web server, before the journal write-behind
+        return Integer.MIN_VALUE + 2000;
+    }
+}
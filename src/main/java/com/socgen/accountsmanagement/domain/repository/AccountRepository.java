@@ -14,7 +14,61 @@ public interface AccountRepository {
      */
     Account addAccount(Account account);
 
+    /**
+     * Saves the account balance if its version is still the one it was read with, bumping the version.
+     * The account version is set to the saved one.
+     *
+     * @param account the account, read from the repository
+     * @throws IllegalArgumentException                                  if the account has no version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the account
+     *                                                                   was updated since it was read or does not exist
+     */
     void saveAccount(Account account);
 
+    /**
+     * Finds the account balance and version.
+     * Client and operations history are not loaded, the operations are a view read when iterated.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
     Optional<Account> findAccountById(UUID accountId);
-}
\ No newline at end of file
+
+    /**
+     * Whether the account exists.
+     *
+     * @param accountId the account id
+     * @return true if the account exists
+     */
+    boolean existsAccount(UUID accountId);
+
+    /**
+     * Adds the amount to the account balance with a conditional update statement,
+     * applied only when the balance does not overflow.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, positive
+     * @return the updated account balance and version, empty if the account does not exist
+     * or its balance would overflow
+     */
+    Optional<Account> depositToBalance(UUID accountId, long amount);
+
+    /**
+     * Subtracts the amount from the account balance with a conditional update statement,
+     * applied only when the balance covers the amount.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the updated account balance and version, empty if the account does not exist
+     * or its balance is insufficient
+     */
+    Optional<Account> withdrawFromBalance(UUID accountId, long amount);
+
+    /**
+     * Notifies the repository of a balance update committed without going through it.
+     *
+     * @param account the account, with its committed balance and version
+     */
+    default void balanceUpdated(Account account) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.socgen.accountsmanagement.domain.repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * handle the balance slots of the hot accounts.
+ * The balance of a hot account is its own balance plus the balances of its slots.
+ */
+public interface BalanceSlotRepository {
+
+    /**
+     * Adds empty balance slots to the account.
+     *
+     * @param accountId the account id
+     * @param slots     the number of slots
+     */
+    void addSlots(UUID accountId, int slots);
+
+    /**
+     * Adds the amount to a balance slot with a single update statement,
+     * refused when the balance of the account plus its slots would overflow.
+     *
+     * @param accountId the account id
+     * @param slot      the slot, from 0
+     * @param amount    the amount
+     * @return true if the amount is added, false if the slot does not exist or the balance would overflow
+     */
+    boolean addToSlot(UUID accountId, int slot, long amount);
+
+    /**
+     * Tells whether the account has the balance slot.
+     *
+     * @param accountId the account id
+     * @param slot      the slot, from 0
+     * @return true if the slot exists
+     */
+    boolean existsSlot(UUID accountId, int slot);
+
+    /**
+     * Balance of the account plus the balances of its slots, read with a single statement:
+     * slots drained into the account by a concurrent transaction are counted once.
+     *
+     * @param accountId the account id
+     * @return the balance, empty if the account does not exist
+     */
+    Optional<Long> balanceWithSlots(UUID accountId);
+
+    /**
+     * Empties the balance slots of the account, locking them until the transaction completes.
+     *
+     * @param accountId the account id
+     * @return the sum of the slots before they are emptied
+     */
+    long drainSlots(UUID accountId);
+
+    /**
+     * Number of slots of the accounts having slots.
+     *
+     * @return the slots count by account id
+     */
+    Map<UUID, Integer> slotCounts();
+}
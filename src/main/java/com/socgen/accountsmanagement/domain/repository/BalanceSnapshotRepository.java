@@ -0,0 +1,32 @@
+package com.socgen.accountsmanagement.domain.repository;
+
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * handle account balance snapshots.
+ */
+public interface BalanceSnapshotRepository {
+
+    /**
+     * Adds the snapshot.
+     *
+     * @param snapshot the snapshot
+     */
+    void addSnapshot(BalanceSnapshot snapshot);
+
+    /**
+     * Computes the balance of the account at the end of the date, reading the snapshot and
+     * the operations in one statement: the latest snapshot at or before the date plus the following
+     * operations, else the earliest snapshot after the date minus the preceding operations,
+     * else the current balance minus the operations after the date.
+     *
+     * @param accountId the account id
+     * @param date      the date
+     * @return the balance, in minor units, empty if the account does not exist
+     */
+    Optional<Long> balanceAsOf(UUID accountId, LocalDateTime date);
+}
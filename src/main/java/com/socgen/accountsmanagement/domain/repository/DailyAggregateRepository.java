@@ -0,0 +1,45 @@
+package com.socgen.accountsmanagement.domain.repository;
+
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Operation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * handle the daily aggregates of the accounts operations.
+ */
+public interface DailyAggregateRepository {
+
+    /**
+     * Adds the operations to the aggregates of their account, day and type, in the first slot.
+     *
+     * @param operations the operations
+     */
+    default void addOperations(List<Operation> operations) {
+        addOperations(operations, 0);
+    }
+
+    /**
+     * Adds the operations to a slot of the aggregates of their account, day and type.
+     * Aggregates are read summed over their slots, so writers of distinct slots never contend.
+     * The first operation of a day inserts its aggregate, locking no other row: concurrent writers
+     * inserting the same aggregate fail with an optimistic locking conflict, to be retried.
+     *
+     * @param operations the operations
+     * @param slot       the slot
+     * @throws org.springframework.dao.OptimisticLockingFailureException if an aggregate was inserted concurrently
+     */
+    void addOperations(List<Operation> operations, int slot);
+
+    /**
+     * Finds the aggregates of the account between two days.
+     *
+     * @param accountId the account id
+     * @param from      the first day, included
+     * @param to        the last day, included
+     * @return the aggregates, ordered by day and type
+     */
+    List<DailyAggregate> findDailyAggregates(UUID accountId, LocalDate from, LocalDate to);
+}
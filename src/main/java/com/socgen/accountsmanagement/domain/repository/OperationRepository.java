@@ -1,9 +1,11 @@
 package com.socgen.accountsmanagement.domain.repository;
 
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * handle account operations.
@@ -18,13 +20,31 @@ public interface OperationRepository {
     void addOperation(Operation operation);
 
     /**
-     * Retrieve operations history.
-     * NOTICE: Here we should fetch only N previous
-     * operations, or could manage pagination
+     * Adds the operations, inserted with JDBC statement batching.
+     *
+     * @param operations the operations
+     */
+    void addOperations(List<Operation> operations);
+
+    /**
+     * Retrieve a page of the operations history, newest operations first.
+     * Pages are read by keyset on (date, id), so deep pages cost as much as the first one.
      *
      * @param accountId the account id
+     * @param after     the cursor of the previous page, null for the first page
+     * @param limit     the maximum number of operations
      * @return the list operations
      */
-    List<Operation> operationsHistory(UUID accountId);
+    List<Operation> operationsHistory(UUID accountId, OperationCursor after, int limit);
+
+    /**
+     * Stream the whole operations history, oldest operations first.
+     * Operations are read through a database cursor and handed one at a time,
+     * none of them is kept once consumed.
+     *
+     * @param accountId the account id
+     * @param consumer  the operations consumer
+     */
+    void forEachOperation(UUID accountId, Consumer<Operation> consumer);
 
 }
\ No newline at end of file
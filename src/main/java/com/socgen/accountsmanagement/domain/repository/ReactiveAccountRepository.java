@@ -0,0 +1,59 @@
+package com.socgen.accountsmanagement.domain.repository;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link AccountRepository}, used by the reactive operations service.
+ */
+public interface ReactiveAccountRepository {
+
+    /**
+     * Finds the account balance and version.
+     *
+     * @param accountId the account id
+     * @return the account, empty if it does not exist
+     */
+    Mono<Account> findAccountById(UUID accountId);
+
+    /**
+     * Whether the account exists.
+     *
+     * @param accountId the account id
+     * @return true if the account exists
+     */
+    Mono<Boolean> existsAccount(UUID accountId);
+
+    /**
+     * Adds the amount to the account balance with a single update statement,
+     * applied only when the balance does not overflow.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, positive
+     * @return the updated account balance and version, empty if the account does not exist
+     * or its balance would overflow
+     */
+    Mono<Account> depositToBalance(UUID accountId, long amount);
+
+    /**
+     * Subtracts the amount from the account balance with a single update statement,
+     * applied only when the balance covers the amount.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the updated account balance and version, empty if the account does not exist
+     * or its balance is insufficient
+     */
+    Mono<Account> withdrawFromBalance(UUID accountId, long amount);
+
+    /**
+     * Adds the balance snapshot.
+     *
+     * @param snapshot the snapshot
+     * @return completes once the snapshot is written
+     */
+    Mono<Void> addSnapshot(BalanceSnapshot snapshot);
+}
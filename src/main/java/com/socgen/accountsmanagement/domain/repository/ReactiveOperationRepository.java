@@ -0,0 +1,32 @@
+package com.socgen.accountsmanagement.domain.repository;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of {@link OperationRepository}, used by the reactive operations service.
+ */
+public interface ReactiveOperationRepository {
+
+    /**
+     * Adds the operation and adds it to the daily aggregate of its account.
+     *
+     * @param operation the operation
+     * @return the operation, with its id
+     */
+    Mono<Operation> addOperation(Operation operation);
+
+    /**
+     * Retrieve a page of the operations history, newest operations first, by keyset on (date, id).
+     *
+     * @param accountId the account id
+     * @param after     the cursor of the previous page, null for the first page
+     * @param limit     the maximum number of operations
+     * @return the operations
+     */
+    Flux<Operation> operationsHistory(UUID accountId, OperationCursor after, int limit);
+}
@@ -1,10 +1,19 @@
 package com.socgen.accountsmanagement.domain.service;
 
 import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCommand;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationOutcome;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service handling different account operations.
@@ -15,26 +24,95 @@ public interface AccountOperationsService {
      * Deposit an amount to the account.
      *
      * @param accountId the account id
-     * @param amount    the amount
+     * @param amount    the amount, in minor units
      * @return the account
      */
-    Account deposit(UUID accountId, Double amount);
+    Account deposit(UUID accountId, long amount);
 
     /**
      * Withdraw an amount from the account.
      *
      * @param accountId the account id
-     * @param amount    the amount
+     * @param amount    the amount, in minor units
      * @return the account
      */
-    Account withdraw(UUID accountId, Double amount);
+    Account withdraw(UUID accountId, long amount);
 
     /**
-     * Operations history of the account.
+     * Transfer an amount from an account to another one.
+     * The amount is withdrawn from the first account and deposited to the second one together,
+     * a transfer that cannot be applied changes neither account.
+     *
+     * @param fromAccountId the debited account id
+     * @param toAccountId   the credited account id
+     * @param amount        the amount, in minor units
+     * @return the transfer
+     */
+    Transfer transfer(UUID fromAccountId, UUID toAccountId, long amount);
+
+    /**
+     * Find the account balance.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
+    Account findAccount(UUID accountId);
+
+    /**
+     * Apply a batch of operations in a single transaction.
+     * Commands are applied in order for each account, a command that cannot be applied
+     * is reported in its outcome without failing the others.
+     *
+     * @param commands the operation commands
+     * @return the outcomes, in the commands order
+     */
+    List<OperationOutcome> applyOperations(List<OperationCommand> commands);
+
+    /**
+     * Whole operations history of the account, newest first.
+     * Every operation is read, long histories are better read page by page.
      *
      * @param accountId the account id
      * @return the list
      */
     List<Operation> operationsHistory(UUID accountId);
 
-}
\ No newline at end of file
+    /**
+     * Page of the operations history of the account, newest first.
+     *
+     * @param accountId the account id
+     * @param after     the cursor returned with the previous page, null for the first page
+     * @param pageSize  the page size, 0 for the default one
+     * @return the page
+     */
+    OperationsPage operationsHistory(UUID accountId, OperationCursor after, int pageSize);
+
+    /**
+     * Export the whole operations history of the account, oldest first,
+     * handing operations to the consumer as they are read.
+     *
+     * @param accountId the account id
+     * @param consumer  the operations consumer
+     */
+    void exportOperationsHistory(UUID accountId, Consumer<Operation> consumer);
+
+    /**
+     * Balance of the account at an instant.
+     * Computed from the nearest balance snapshot, applying only the operations between them.
+     *
+     * @param accountId the account id
+     * @param instant   the instant
+     * @return the balance, in minor units
+     */
+    long balanceAsOf(UUID accountId, Instant instant);
+
+    /**
+     * Daily totals of the account operations, read from the maintained aggregates.
+     *
+     * @param accountId the account id
+     * @param from      the first day, included
+     * @param to        the last day, included
+     * @return the aggregates, ordered by day and type
+     */
+    List<DailyAggregate> dailyAggregates(UUID accountId, LocalDate from, LocalDate to);
+}
@@ -1,18 +1,37 @@
 package com.socgen.accountsmanagement.domain.service;
 
 import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Money;
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCommand;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationOutcome;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.concurrency.AccountLocks;
+import com.socgen.accountsmanagement.domain.enums.BalanceUpdateMode;
+import com.socgen.accountsmanagement.domain.enums.OperationStatus;
 import com.socgen.accountsmanagement.domain.enums.OperationType;
 import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
 import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
 import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import com.socgen.accountsmanagement.domain.repository.DailyAggregateRepository;
 import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Service handling different account operations.
@@ -20,17 +39,44 @@ import java.util.UUID;
 @Service
 public class AccountOperationsServiceImpl implements AccountOperationsService {
 
+    // tagged with the method and the exception by the metrics aspects
+    private static final String OPERATIONS_TIMER = "accounts.operations";
+
+    private static final String OPERATIONS_FAILURES = "accounts.operations.failures";
+
     private final AccountRepository accountRepository;
 
     private final OperationRepository operationRepository;
 
-    public AccountOperationsServiceImpl(AccountRepository accountRepo, OperationRepository operationRepo) {
+    private final AccountLocks accountLocks;
+
+    private final AccountOperationsSettings settings;
+
+    private final BalanceSnapshots balanceSnapshots;
+
+    private final DailyAggregateRepository dailyAggregateRepository;
+
+    private final HotAccounts hotAccounts;
+
+    private final BalanceSlotRepository balanceSlotRepository;
+
+    public AccountOperationsServiceImpl(AccountRepository accountRepo, OperationRepository operationRepo,
+                                        AccountLocks locks, AccountOperationsSettings operationsSettings,
+                                        BalanceSnapshots snapshots, DailyAggregateRepository aggregateRepo,
+                                        HotAccounts hot, BalanceSlotRepository slotRepo) {
         accountRepository = accountRepo;
         operationRepository = operationRepo;
+        accountLocks = locks;
+        settings = operationsSettings;
+        balanceSnapshots = snapshots;
+        dailyAggregateRepository = aggregateRepo;
+        hotAccounts = hot;
+        balanceSlotRepository = slotRepo;
     }
 
     /**
      * Deposit an amount to the account.
+     * Deposits to a hot account go to one of its balance slots.
      *
      * @param accountId the account id
      * @param amount    the amount
@@ -38,17 +84,16 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
      */
     @Override
     @Transactional
-    public Account deposit(UUID accountId, Double amount) {
-
-        Account account = accountRepository
-                .findAccountById(accountId)
-                .orElseThrow(AccountNotFoundException::new);
-
-        account = processOperation(OperationType.DEPOSIT, account, amount);
-        accountRepository.saveAccount(account);
-
-        saveOperationHistory(OperationType.DEPOSIT, account, amount);
-        return account;
+    @Timed(value = OPERATIONS_TIMER, histogram = true)
+    @Counted(value = OPERATIONS_FAILURES, recordFailuresOnly = true)
+    public Account deposit(UUID accountId, long amount) {
+        Money.requirePositive(amount);
+        if (hotAccounts.isHot(accountId)) {
+            Optional<Account> account = processHotDeposit(accountId, amount);
+            if (account.isPresent())
+                return account.get();
+        }
+        return processOperation(OperationType.DEPOSIT, accountId, amount);
     }
 
     /**
@@ -60,44 +105,480 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
      */
     @Override
     @Transactional
-    public Account withdraw(UUID accountId, Double amount) {
-        Account account = accountRepository.findAccountById(accountId)
-                .orElseThrow(AccountNotFoundException::new);
+    @Timed(value = OPERATIONS_TIMER, histogram = true)
+    @Counted(value = OPERATIONS_FAILURES, recordFailuresOnly = true)
+    public Account withdraw(UUID accountId, long amount) {
+        Money.requirePositive(amount);
+        return processOperation(OperationType.WITHDRAW, accountId, amount);
+    }
 
-        account = processOperation(OperationType.WITHDRAW, account, amount);
-        accountRepository.saveAccount(account);
+    /**
+     * Transfer an amount from an account to another one, in a single transaction.
+     * Accounts are locked, read and updated in ascending id order, so transfers crossing
+     * each other cannot deadlock, and both legs are inserted in one batch.
+     *
+     * @param fromAccountId the debited account id
+     * @param toAccountId   the credited account id
+     * @param amount        the amount
+     * @return the transfer
+     */
+    @Override
+    @Transactional
+    @Timed(value = OPERATIONS_TIMER, histogram = true)
+    @Counted(value = OPERATIONS_FAILURES, recordFailuresOnly = true)
+    public Transfer transfer(UUID fromAccountId, UUID toAccountId, long amount) {
+        Money.requirePositive(amount);
+        if (fromAccountId.equals(toAccountId))
+            throw new ValidationException("Cannot transfer to the same account");
 
-        saveOperationHistory(OperationType.WITHDRAW, account, amount);
-        return account;
+        List<UUID> accountIds = fromAccountId.compareTo(toAccountId) < 0
+                ? List.of(fromAccountId, toAccountId)
+                : List.of(toAccountId, fromAccountId);
+        if (settings.getBalanceUpdateMode() == BalanceUpdateMode.CONDITIONAL_UPDATE)
+            return processConditionalTransfer(accountIds, fromAccountId, amount);
+        return accountLocks.withLocks(accountIds,
+                () -> processReadModifyWriteTransfer(accountIds, fromAccountId, amount));
+    }
+
+    /**
+     * Apply a batch of operations.
+     * Commands are grouped by account: each account is loaded and saved once with the net
+     * effect of its applied commands, and all operations are inserted in JDBC batches.
+     *
+     * @param commands the operation commands
+     * @return the outcomes, in the commands order
+     */
+    @Override
+    @Transactional
+    public List<OperationOutcome> applyOperations(List<OperationCommand> commands) {
+        commands.forEach(command -> Money.requirePositive(command.getAmount()));
+
+        Map<UUID, List<Integer>> commandsByAccount = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++)
+            commandsByAccount.computeIfAbsent(commands.get(i).getAccountId(), id -> new ArrayList<>()).add(i);
+
+        return accountLocks.withLocks(commandsByAccount.keySet(), () -> {
+            OperationOutcome[] outcomes = new OperationOutcome[commands.size()];
+            List<Operation> operations = new ArrayList<>();
+            List<Account> savedAccounts = new ArrayList<>();
+            LocalDateTime date = LocalDateTime.now();
+
+            commandsByAccount.forEach((accountId, indexes) -> {
+                Optional<Account> found = accountRepository.findAccountById(accountId);
+                if (found.isEmpty()) {
+                    indexes.forEach(i -> outcomes[i] = outcome(commands.get(i), OperationStatus.ACCOUNT_NOT_FOUND, null));
+                    return;
+                }
+
+                Account account = found.get();
+                long balance = account.getBalance();
+                int applied = 0;
+                for (int i : indexes) {
+                    OperationCommand command = commands.get(i);
+                    try {
+                        switch (command.getType()) {
+                            case DEPOSIT -> processDeposit(account, command.getAmount());
+                            case WITHDRAW -> processWithDrawal(coverFromSlots(account, command.getAmount()),
+                                    command.getAmount());
+                        }
+                    } catch (InsufficientFundException e) {
+                        outcomes[i] = outcome(command, OperationStatus.INSUFFICIENT_FUND, null);
+                        continue;
+                    }
+
+                    applied++;
+                    outcomes[i] = outcome(command, OperationStatus.APPLIED, account.getBalance());
+                    operations.add(Operation.builder()
+                            .type(command.getType())
+                            .date(date)
+                            .account(account)
+                            .amount(command.getAmount())
+                            .build());
+                }
+
+                // the balance also changes when balance slots are drained
+                if (applied > 0 || account.getBalance() != balance) {
+                    accountRepository.saveAccount(account);
+                    savedAccounts.add(account);
+                }
+            });
+
+            operationRepository.addOperations(operations);
+            dailyAggregateRepository.addOperations(operations);
+            recordSnapshots(savedAccounts, operations);
+            return Arrays.asList(outcomes);
+        });
     }
 
     /**
-     * Operations history of the account.
+     * Find the account balance.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Account findAccount(UUID accountId) {
+        return withSlotsBalance(accountRepository.findAccountById(accountId).orElseThrow(AccountNotFoundException::new));
+    }
+
+    /**
+     * Whole operations history of the account, newest first.
+     * Read with a single forward cursor, then reversed.
      *
      * @param accountId the account id
      * @return the list
      */
     @Override
+    @Transactional(readOnly = true)
+    @Timed(value = OPERATIONS_TIMER, histogram = true)
+    @Counted(value = OPERATIONS_FAILURES, recordFailuresOnly = true)
     public List<Operation> operationsHistory(UUID accountId) {
-        Account account = accountRepository
-                .findAccountById(accountId)
-                .orElseThrow(AccountNotFoundException::new);
-        return account.getOperations();
+        if (!accountRepository.existsAccount(accountId))
+            throw new AccountNotFoundException();
+
+        List<Operation> operations = new ArrayList<>();
+        operationRepository.forEachOperation(accountId, operations::add);
+        Collections.reverse(operations);
+        return operations;
     }
 
     /**
-     * Process operation.
+     * Page of the operations history of the account.
+     *
+     * @param accountId the account id
+     * @param after     the cursor of the previous page
+     * @param pageSize  the page size
+     * @return the page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = OPERATIONS_TIMER, histogram = true)
+    @Counted(value = OPERATIONS_FAILURES, recordFailuresOnly = true)
+    public OperationsPage operationsHistory(UUID accountId, OperationCursor after, int pageSize) {
+        if (!accountRepository.existsAccount(accountId))
+            throw new AccountNotFoundException();
+
+        int limit = settings.historyPageSize(pageSize);
+        // one more operation tells whether a next page exists
+        List<Operation> operations = operationRepository.operationsHistory(accountId, after, limit + 1);
+        if (operations.size() <= limit)
+            return OperationsPage.builder().operations(operations).build();
+
+        operations = operations.subList(0, limit);
+        return OperationsPage.builder()
+                .operations(operations)
+                .next(OperationCursor.after(operations.get(limit - 1)))
+                .build();
+    }
+
+    /**
+     * Export the operations history of the account.
+     * The read only transaction takes no lock on the account.
+     *
+     * @param accountId the account id
+     * @param consumer  the operations consumer
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOperationsHistory(UUID accountId, Consumer<Operation> consumer) {
+        if (!accountRepository.existsAccount(accountId))
+            throw new AccountNotFoundException();
+
+        operationRepository.forEachOperation(accountId, consumer);
+    }
+
+    /**
+     * Balance of the account at an instant.
+     * Computed from the nearest snapshot and the operations between it and the instant,
+     * read together in one statement.
+     *
+     * @param accountId the account id
+     * @param instant   the instant
+     * @return the balance, in minor units
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long balanceAsOf(UUID accountId, Instant instant) {
+        LocalDateTime date = LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        return balanceSnapshots.balanceAsOf(accountId, date).orElseThrow(AccountNotFoundException::new);
+    }
+
+    /**
+     * Daily totals of the account operations.
+     * Read from the aggregates maintained with the operations, the operations are not scanned.
+     *
+     * @param accountId the account id
+     * @param from      the first day, included
+     * @param to        the last day, included
+     * @return the aggregates, ordered by day and type
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DailyAggregate> dailyAggregates(UUID accountId, LocalDate from, LocalDate to) {
+        if (!accountRepository.existsAccount(accountId))
+            throw new AccountNotFoundException();
+
+        return dailyAggregateRepository.findDailyAggregates(accountId, from, to);
+    }
+
+    /**
+     * Process operation following the configured balance update mode.
      *
      * @param operationType the operation type
-     * @param account       the account
+     * @param accountId     the account id
+     * @param amount        the amount
+     * @return the updated account
+     */
+    private Account processOperation(OperationType operationType, UUID accountId, long amount) {
+        if (settings.getBalanceUpdateMode() == BalanceUpdateMode.CONDITIONAL_UPDATE)
+            return processConditionalUpdate(operationType, accountId, amount);
+        return processReadModifyWrite(operationType, accountId, amount);
+    }
+
+    /**
+     * Process operation by loading and saving the account.
+     * The whole load-check-save sequence runs under the account lock,
+     * operations on different accounts proceed in parallel.
+     *
+     * @param operationType the operation type
+     * @param accountId     the account id
+     * @param amount        the amount
+     * @return the updated account
+     */
+    private Account processReadModifyWrite(OperationType operationType, UUID accountId, long amount) {
+        return accountLocks.withLock(accountId, () -> {
+            Account account = accountRepository
+                    .findAccountById(accountId)
+                    .orElseThrow(AccountNotFoundException::new);
+            hotAccounts.promoteIfDue(accountId);
+
+            account = switch (operationType) {
+                case DEPOSIT -> processDeposit(account, amount);
+                case WITHDRAW -> processWithDrawal(coverFromSlots(account, amount), amount);
+            };
+            accountRepository.saveAccount(account);
+
+            Operation operation = saveOperationHistory(operationType, account, amount);
+            recordSnapshotIfDue(account, operation);
+            return account;
+        });
+    }
+
+    /**
+     * Process operation with a single conditional update of the balance,
+     * the database serializes concurrent changes of the account row.
+     *
+     * @param operationType the operation type
+     * @param accountId     the account id
      * @param amount        the amount
      * @return the updated account
      */
-    private synchronized Account processOperation(OperationType operationType, Account account, Double amount) {
-        return switch (operationType) {
-            case DEPOSIT -> processDeposit(account, amount);
-            case WITHDRAW -> processWithDrawal(account, amount);
+    private Account processConditionalUpdate(OperationType operationType, UUID accountId, long amount) {
+        Account account = switch (operationType) {
+            case DEPOSIT -> depositToBalance(accountId, amount);
+            case WITHDRAW -> withdrawFromBalance(accountId, amount)
+                    .orElseThrow(() -> accountRepository.existsAccount(accountId)
+                            ? new InsufficientFundException()
+                            : new AccountNotFoundException());
         };
+
+        Operation operation = saveOperationHistory(operationType, account, amount);
+        recordSnapshotIfDue(account, operation);
+        return account;
+    }
+
+    /**
+     * Process deposit to a hot account, adding the amount to one of its balance slots.
+     * Neither the account lock nor the account row is taken, so deposits to distinct slots proceed in parallel,
+     * and the operation is aggregated in the aggregate slot of the balance slot.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the account with its balance summed over the slots, empty if the account has no slots
+     */
+    private Optional<Account> processHotDeposit(UUID accountId, long amount) {
+        Account account = accountRepository.findAccountById(accountId).orElseThrow(AccountNotFoundException::new);
+
+        int slot = hotAccounts.slotFor(accountId);
+        if (slot < 0 || !balanceSlotRepository.addToSlot(accountId, slot, amount)) {
+            if (slot >= 0 && balanceSlotRepository.existsSlot(accountId, slot))
+                throw new BalanceOverflowException();
+            // the slots are gone
+            hotAccounts.demote(accountId);
+            return Optional.empty();
+        }
+
+        Operation operation = Operation.builder()
+                .type(OperationType.DEPOSIT)
+                .date(LocalDateTime.now())
+                .account(account)
+                .amount(amount)
+                .build();
+        operationRepository.addOperation(operation);
+        dailyAggregateRepository.addOperations(List.of(operation), HotAccounts.aggregateSlot(slot));
+        return Optional.of(withSlotsBalance(account));
+    }
+
+    /**
+     * Deposit with a conditional update, refused when the balance would overflow.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the updated account
+     */
+    private Account depositToBalance(UUID accountId, long amount) {
+        return accountRepository.depositToBalance(accountId, amount)
+                .orElseThrow(() -> accountRepository.existsAccount(accountId)
+                        ? new BalanceOverflowException()
+                        : new AccountNotFoundException());
+    }
+
+    /**
+     * Withdraw with a conditional update, draining the balance slots of a hot account into its balance
+     * when the balance alone does not cover the amount.
+     *
+     * @param accountId the account id
+     * @param amount    the amount
+     * @return the updated account, empty if the account does not exist or its balance is insufficient
+     */
+    private Optional<Account> withdrawFromBalance(UUID accountId, long amount) {
+        Optional<Account> account = accountRepository.withdrawFromBalance(accountId, amount);
+        if (account.isPresent() || !hotAccounts.isHot(accountId))
+            return account;
+
+        long drained = balanceSlotRepository.drainSlots(accountId);
+        if (drained > 0)
+            accountRepository.depositToBalance(accountId, drained);
+        return accountRepository.withdrawFromBalance(accountId, amount);
+    }
+
+    /**
+     * Drain the balance slots of a hot account into its balance when the balance alone does not cover the amount.
+     * The caller holds the account lock.
+     *
+     * @param account the account
+     * @param amount  the amount to cover
+     * @return the account
+     */
+    private Account coverFromSlots(Account account, long amount) {
+        if (account.getBalance() < amount && hotAccounts.isHot(account.getId()))
+            account.setBalance(Math.addExact(account.getBalance(), balanceSlotRepository.drainSlots(account.getId())));
+        return account;
+    }
+
+    /**
+     * Read the balance of a hot account together with its balance slots,
+     * the row read before may predate slots drained into it.
+     *
+     * @param account the account, with the balance of its row
+     * @return the account
+     */
+    private Account withSlotsBalance(Account account) {
+        if (hotAccounts.isHot(account.getId()))
+            account.setBalance(balanceSlotRepository.balanceWithSlots(account.getId())
+                    .orElseThrow(AccountNotFoundException::new));
+        return account;
+    }
+
+    /**
+     * Record a snapshot of the saved account when one is due.
+     * Hot accounts take no snapshot, their saved balance misses their balance slots.
+     *
+     * @param account   the account
+     * @param operation the last operation applied to the balance
+     */
+    private void recordSnapshotIfDue(Account account, Operation operation) {
+        if (!hotAccounts.isHot(account.getId()))
+            balanceSnapshots.recordIfDue(account, operation);
+    }
+
+    /**
+     * Process transfer by loading and saving both accounts, under their locks.
+     *
+     * @param accountIds    the accounts ids, in ascending order
+     * @param fromAccountId the debited account id
+     * @param amount        the amount
+     * @return the transfer
+     */
+    private Transfer processReadModifyWriteTransfer(List<UUID> accountIds, UUID fromAccountId, long amount) {
+        List<Account> accounts = new ArrayList<>(2);
+        for (UUID accountId : accountIds)
+            accounts.add(accountRepository.findAccountById(accountId).orElseThrow(AccountNotFoundException::new));
+
+        boolean fromFirst = accountIds.get(0).equals(fromAccountId);
+        Account from = accounts.get(fromFirst ? 0 : 1);
+        Account to = accounts.get(fromFirst ? 1 : 0);
+        processWithDrawal(coverFromSlots(from, amount), amount);
+        processDeposit(to, amount);
+        accounts.forEach(accountRepository::saveAccount);
+
+        return saveTransferHistory(from, to, amount);
+    }
+
+    /**
+     * Process transfer with a conditional update of each balance.
+     * The rows are updated in ascending id order, a failed withdrawal rolls the deposit back with the transaction.
+     *
+     * @param accountIds    the accounts ids, in ascending order
+     * @param fromAccountId the debited account id
+     * @param amount        the amount
+     * @return the transfer
+     */
+    private Transfer processConditionalTransfer(List<UUID> accountIds, UUID fromAccountId, long amount) {
+        Account from = null;
+        Account to = null;
+        for (UUID accountId : accountIds) {
+            if (accountId.equals(fromAccountId))
+                from = withdrawFromBalance(accountId, amount)
+                        .orElseThrow(() -> accountRepository.existsAccount(accountId)
+                                ? new InsufficientFundException()
+                                : new AccountNotFoundException());
+            else
+                to = depositToBalance(accountId, amount);
+        }
+
+        return saveTransferHistory(from, to, amount);
+    }
+
+    /**
+     * Save both legs of a transfer with a single batch.
+     *
+     * @param from   the debited account
+     * @param to     the credited account
+     * @param amount the amount
+     * @return the transfer
+     */
+    private Transfer saveTransferHistory(Account from, Account to, long amount) {
+        LocalDateTime date = LocalDateTime.now();
+        List<Operation> legs = List.of(
+                Operation.builder().type(OperationType.WITHDRAW).date(date).account(from).amount(amount).build(),
+                Operation.builder().type(OperationType.DEPOSIT).date(date).account(to).amount(amount).build());
+
+        operationRepository.addOperations(legs);
+        dailyAggregateRepository.addOperations(legs);
+        recordSnapshots(List.of(from, to), legs);
+        return Transfer.builder().from(from).to(to).amount(amount).build();
+    }
+
+    private static OperationOutcome outcome(OperationCommand command, OperationStatus status, Long balance) {
+        return OperationOutcome.builder()
+                .command(command)
+                .status(status)
+                .balance(balance)
+                .build();
+    }
+
+    /**
+     * Record the due snapshots of the accounts saved by a batch.
+     *
+     * @param accounts   the saved accounts
+     * @param operations the operations of the batch
+     */
+    private void recordSnapshots(List<Account> accounts, List<Operation> operations) {
+        Map<UUID, Operation> lastOperations = new HashMap<>();
+        operations.forEach(operation -> lastOperations.put(operation.getAccount().getId(), operation));
+        accounts.forEach(account -> recordSnapshotIfDue(account, lastOperations.get(account.getId())));
     }
 
     /**
@@ -106,8 +587,9 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
      * @param operationType the operation type
      * @param account       the account
      * @param amount        the amount
+     * @return the saved operation
      */
-    private void saveOperationHistory(OperationType operationType, Account account, Double amount) {
+    private Operation saveOperationHistory(OperationType operationType, Account account, long amount) {
         Operation operation = Operation.builder()
                 .type(operationType)
                 .date(LocalDateTime.now())
@@ -116,6 +598,8 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
                 .build();
 
         operationRepository.addOperation(operation);
+        dailyAggregateRepository.addOperations(List.of(operation));
+        return operation;
     }
 
     /**
@@ -125,9 +609,9 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
      * @param amount  the amount
      * @return the updated account
      */
-    private Account processDeposit(Account account, double amount) {
+    private Account processDeposit(Account account, long amount) {
         // accept money whenever deposited
-        account.setBalance(account.getBalance() + amount);
+        account.setBalance(Money.credit(account.getBalance(), amount));
         return account;
     }
 
@@ -139,7 +623,7 @@ public class AccountOperationsServiceImpl implements AccountOperationsService {
      * @return the updated account
      * @throws UnsupportedOperationException the unsupported operation exception
      */
-    private Account processWithDrawal(Account account, double amount) throws UnsupportedOperationException {
+    private Account processWithDrawal(Account account, long amount) throws UnsupportedOperationException {
         // throw an exception if it has not sufficient funds
         if (account.getBalance() < amount)
             throw new InsufficientFundException();
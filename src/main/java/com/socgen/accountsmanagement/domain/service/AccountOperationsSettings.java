@@ -0,0 +1,33 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.enums.BalanceUpdateMode;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Settings of the account operations service.
+ */
+@Getter
+@Builder
+public class AccountOperationsSettings {
+
+    @Builder.Default
+    private BalanceUpdateMode balanceUpdateMode = BalanceUpdateMode.READ_MODIFY_WRITE;
+
+    @Builder.Default
+    private int historyPageSize = 50;
+
+    @Builder.Default
+    private int historyMaxPageSize = 500;
+
+    /**
+     * Page size to use for the requested one.
+     *
+     * @param requested the requested page size, 0 or less for the default one
+     * @return the page size, capped by the max page size
+     */
+    public int historyPageSize(int requested) {
+        if (requested <= 0) return historyPageSize;
+        return Math.min(requested, historyMaxPageSize);
+    }
+}
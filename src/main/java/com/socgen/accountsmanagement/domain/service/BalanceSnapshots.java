@@ -0,0 +1,87 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.repository.BalanceSnapshotRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Balance snapshots taken on the write path, every given number of balance updates of an account
+ * and on the first update of an account after the snapshot interval.
+ * A snapshot is written in the transaction saving the balance, so it always matches the history.
+ */
+public class BalanceSnapshots {
+
+    private final BalanceSnapshotRepository snapshotRepository;
+
+    private final int updatesInterval;
+
+    private final RecentSnapshots recentSnapshots;
+
+    /**
+     * @param snapshotRepository the snapshot repository
+     * @param updatesInterval    balance updates between two snapshots, 0 to disable
+     * @param recentSnapshots    accounts having a snapshot taken within the time interval, null to disable
+     */
+    public BalanceSnapshots(BalanceSnapshotRepository snapshotRepository, int updatesInterval,
+                            RecentSnapshots recentSnapshots) {
+        this.snapshotRepository = snapshotRepository;
+        this.updatesInterval = updatesInterval;
+        this.recentSnapshots = recentSnapshots;
+    }
+
+    /**
+     * Record a snapshot of the saved account when one is due.
+     *
+     * @param account       the account, with its saved balance and version
+     * @param lastOperation the last operation applied to the balance
+     */
+    public void recordIfDue(Account account, Operation lastOperation) {
+        dueSnapshot(account, lastOperation).ifPresent(snapshotRepository::addSnapshot);
+    }
+
+    /**
+     * Snapshot of the saved account when one is due, for callers writing it themselves.
+     *
+     * @param account       the account, with its saved balance and version
+     * @param lastOperation the last operation applied to the balance
+     * @return the snapshot to write, empty if none is due
+     */
+    public Optional<BalanceSnapshot> dueSnapshot(Account account, Operation lastOperation) {
+        if (!isDue(account)) return Optional.empty();
+
+        return Optional.of(BalanceSnapshot.builder()
+                .accountId(account.getId())
+                .balance(account.getBalance())
+                .date(lastOperation.getDate())
+                .operationId(lastOperation.getId())
+                .build());
+    }
+
+    /**
+     * Balance of the account at the end of the date, from the nearest snapshot.
+     *
+     * @param accountId the account id
+     * @param date      the date
+     * @return the balance, in minor units, empty if the account does not exist
+     */
+    public Optional<Long> balanceAsOf(UUID accountId, LocalDateTime date) {
+        return snapshotRepository.balanceAsOf(accountId, date);
+    }
+
+    private boolean isDue(Account account) {
+        // the version is bumped once per balance update
+        boolean due = updatesInterval > 0 && account.getVersion() % updatesInterval == 0;
+        if (recentSnapshots == null) return due;
+
+        if (due) {
+            recentSnapshots.record(account.getId());
+            return true;
+        }
+        return recentSnapshots.recordIfNoneRecent(account.getId());
+    }
+}
@@ -0,0 +1,155 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accounts whose deposits are spread over balance slots, in the spirit of {@link java.util.concurrent.atomic.LongAdder}.
+ * Deposits to a hot account update one of its slots instead of the account, so they neither take the account lock
+ * nor contend on the account row. Withdrawals empty the slots into the account only when its balance is short.
+ * <p>
+ * An account is promoted once its lock is contended a given number of times within the contention window.
+ * The promotion is due after the contention and applied by the next writer of the account, holding its lock;
+ * the account is hot once the slots are committed.
+ */
+public class HotAccounts {
+
+    private final BalanceSlotRepository slotRepository;
+
+    private final int slots;
+
+    private final int contentionThreshold;
+
+    // contended lock acquisitions of the accounts within the window, null when promotion is disabled
+    private final Cache<UUID, AtomicInteger> contentions;
+
+    private final Set<UUID> duePromotions = ConcurrentHashMap.newKeySet();
+
+    private final Map<UUID, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param slotRepository      the balance slot repository
+     * @param slots               the balance slots of a promoted account
+     * @param contentionThreshold contended lock acquisitions promoting an account, 0 to disable promotion
+     * @param contentionWindow    time within which the contended acquisitions are counted
+     * @param maxTrackedAccounts  maximum accounts whose contention is tracked
+     */
+    public HotAccounts(BalanceSlotRepository slotRepository, int slots, int contentionThreshold,
+                       Duration contentionWindow, long maxTrackedAccounts) {
+        if (contentionThreshold > 0 && slots <= 0)
+            throw new IllegalArgumentException("Balance slots must be positive");
+
+        this.slotRepository = slotRepository;
+        this.slots = slots;
+        this.contentionThreshold = contentionThreshold;
+        this.contentions = contentionThreshold <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maxTrackedAccounts)
+                .expireAfterWrite(contentionWindow)
+                .build();
+    }
+
+    /**
+     * Load the accounts promoted before, from their persisted slots.
+     */
+    public void load() {
+        slotCounts.putAll(slotRepository.slotCounts());
+    }
+
+    public boolean isHot(UUID accountId) {
+        return slotCounts.containsKey(accountId);
+    }
+
+    /**
+     * Slot receiving a deposit to the account, picked at random so concurrent depositors spread over the slots.
+     *
+     * @param accountId the account id
+     * @return the slot, -1 if the account is not hot
+     */
+    public int slotFor(UUID accountId) {
+        Integer count = slotCounts.get(accountId);
+        return count == null ? -1 : ThreadLocalRandom.current().nextInt(count);
+    }
+
+    /**
+     * Slot of the daily aggregates written with a balance slot, the first aggregate slot being
+     * the one of the writes serialized by the account lock.
+     *
+     * @param slot the balance slot
+     * @return the aggregate slot
+     */
+    public static int aggregateSlot(int slot) {
+        return slot + 1;
+    }
+
+    /**
+     * Record a contended acquisition of the account lock.
+     *
+     * @param accountId the account id
+     */
+    public void recordContention(UUID accountId) {
+        if (contentions == null || isHot(accountId))
+            return;
+
+        AtomicInteger count = contentions.get(accountId, id -> new AtomicInteger());
+        if (count.incrementAndGet() == contentionThreshold) {
+            duePromotions.add(accountId);
+            contentions.invalidate(accountId);
+        }
+    }
+
+    /**
+     * Promote the account when its promotion is due, adding its balance slots.
+     * The caller holds the account lock, the slots are written with its transaction
+     * and deposits go to them once it commits.
+     *
+     * @param accountId the account id
+     * @return true if the account is promoted
+     */
+    public boolean promoteIfDue(UUID accountId) {
+        if (!duePromotions.remove(accountId) || isHot(accountId))
+            return false;
+
+        slotRepository.addSlots(accountId, slots);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            slotCounts.put(accountId, slots);
+            return true;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                slotCounts.put(accountId, slots);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Forget an account found without slots.
+     *
+     * @param accountId the account id
+     */
+    public void demote(UUID accountId) {
+        slotCounts.remove(accountId);
+    }
+
+    /**
+     * Number of hot accounts.
+     *
+     * @return the count
+     */
+    public int count() {
+        return slotCounts.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.OperationsView;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the paged operations views attached to the accounts read from the repository.
+ * Creating a view reads nothing, the history is only read when the view is iterated.
+ */
+public class OperationsViews implements AutoCloseable {
+
+    private final OperationRepository operationRepository;
+
+    private final int pageSize;
+
+    private final int prefetch;
+
+    // null without prefetch
+    private final ExecutorService prefetchExecutor;
+
+    /**
+     * @param operationRepository the operation repository
+     * @param pageSize            the operations read per page
+     * @param prefetch            the pages read ahead of an iteration, 0 to read pages on demand only
+     * @param prefetchThreads     the threads reading prefetched pages
+     */
+    public OperationsViews(OperationRepository operationRepository, int pageSize, int prefetch, int prefetchThreads) {
+        this.operationRepository = operationRepository;
+        this.pageSize = pageSize;
+        this.prefetch = prefetch;
+        this.prefetchExecutor = prefetch <= 0 ? null : Executors.newFixedThreadPool(prefetchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "operations-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Operations view of the account.
+     *
+     * @param accountId the account id
+     * @return the view
+     */
+    public OperationsView forAccount(UUID accountId) {
+        return OperationsView.paged(accountId, operationRepository, pageSize, prefetch, prefetchExecutor);
+    }
+
+    @Override
+    public void close() {
+        if (prefetchExecutor != null)
+            prefetchExecutor.shutdownNow();
+    }
+}
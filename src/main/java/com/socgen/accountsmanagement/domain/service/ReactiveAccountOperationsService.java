@@ -0,0 +1,174 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ReactiveAccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ReactiveOperationRepository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Account operations applied without blocking the calling thread.
+ * Balances are changed with a single conditional update, the database serializes concurrent
+ * changes of an account row, and the operation, its daily aggregate and a due snapshot are written
+ * in the same transaction.
+ * <p>
+ * Account locks are not taken, so it must not be used along with the sharded ledger.
+ */
+public class ReactiveAccountOperationsService {
+
+    private final ReactiveAccountRepository accountRepository;
+
+    private final ReactiveOperationRepository operationRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final AccountOperationsSettings settings;
+
+    private final BalanceSnapshots balanceSnapshots;
+
+    // notified of committed balances, so cached balances stay fresh
+    private final AccountRepository committedBalances;
+
+    public ReactiveAccountOperationsService(ReactiveAccountRepository accountRepo,
+                                            ReactiveOperationRepository operationRepo,
+                                            TransactionalOperator operator,
+                                            AccountOperationsSettings operationsSettings,
+                                            BalanceSnapshots snapshots, AccountRepository balances) {
+        accountRepository = accountRepo;
+        operationRepository = operationRepo;
+        transactionalOperator = operator;
+        settings = operationsSettings;
+        balanceSnapshots = snapshots;
+        committedBalances = balances;
+    }
+
+    /**
+     * Deposit an amount to the account.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, in minor units
+     * @return the updated account
+     */
+    public Mono<Account> deposit(UUID accountId, long amount) {
+        return Mono.defer(() -> {
+            Money.requirePositive(amount);
+            Mono<Account> deposit = accountRepository.depositToBalance(accountId, amount)
+                    .switchIfEmpty(Mono.defer(() -> accountRepository.existsAccount(accountId)
+                            .flatMap(exists -> Mono.error(exists
+                                    ? new BalanceOverflowException()
+                                    : new AccountNotFoundException()))));
+            return processOperation(OperationType.DEPOSIT, deposit, amount);
+        });
+    }
+
+    /**
+     * Withdraw an amount from the account.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, in minor units
+     * @return the updated account
+     */
+    public Mono<Account> withdraw(UUID accountId, long amount) {
+        return Mono.defer(() -> {
+            Money.requirePositive(amount);
+            Mono<Account> withdrawal = accountRepository.withdrawFromBalance(accountId, amount)
+                    .switchIfEmpty(Mono.defer(() -> accountRepository.existsAccount(accountId)
+                            .flatMap(exists -> Mono.error(exists
+                                    ? new InsufficientFundException()
+                                    : new AccountNotFoundException()))));
+            return processOperation(OperationType.WITHDRAW, withdrawal, amount);
+        });
+    }
+
+    /**
+     * Find the account balance.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
+    public Mono<Account> findAccount(UUID accountId) {
+        return accountRepository.findAccountById(accountId)
+                .switchIfEmpty(Mono.error(AccountNotFoundException::new));
+    }
+
+    /**
+     * Page of the operations history of the account.
+     *
+     * @param accountId the account id
+     * @param after     the cursor of the previous page
+     * @param pageSize  the page size
+     * @return the page
+     */
+    public Mono<OperationsPage> operationsHistory(UUID accountId, OperationCursor after, int pageSize) {
+        int limit = settings.historyPageSize(pageSize);
+        return accountRepository.existsAccount(accountId)
+                .flatMap(exists -> exists
+                        // one more operation tells whether a next page exists
+                        ? operationRepository.operationsHistory(accountId, after, limit + 1).collectList()
+                        : Mono.error(new AccountNotFoundException()))
+                .map(operations -> page(operations, limit));
+    }
+
+    /**
+     * Apply the balance update and record the operation in one transaction,
+     * cached balances are refreshed once it commits.
+     *
+     * @param operationType the operation type
+     * @param balanceUpdate the balance update, emitting the updated account
+     * @param amount        the amount
+     * @return the updated account
+     */
+    private Mono<Account> processOperation(OperationType operationType, Mono<Account> balanceUpdate, long amount) {
+        return balanceUpdate
+                .flatMap(account -> saveOperationHistory(operationType, account, amount))
+                .as(transactionalOperator::transactional)
+                .doOnNext(committedBalances::balanceUpdated);
+    }
+
+    /**
+     * Save operation history, and the balance snapshot when one is due.
+     *
+     * @param operationType the operation type
+     * @param account       the updated account
+     * @param amount        the amount
+     * @return the account once everything is written
+     */
+    private Mono<Account> saveOperationHistory(OperationType operationType, Account account, long amount) {
+        Operation operation = Operation.builder()
+                .type(operationType)
+                .date(LocalDateTime.now())
+                .account(account)
+                .amount(amount)
+                .build();
+
+        return operationRepository.addOperation(operation)
+                .flatMap(saved -> balanceSnapshots.dueSnapshot(account, saved)
+                        .map(accountRepository::addSnapshot)
+                        .orElseGet(Mono::empty)
+                        .thenReturn(account));
+    }
+
+    private static OperationsPage page(List<Operation> operations, int limit) {
+        if (operations.size() <= limit)
+            return OperationsPage.builder().operations(operations).build();
+
+        operations = operations.subList(0, limit);
+        return OperationsPage.builder()
+                .operations(operations)
+                .next(OperationCursor.after(operations.get(limit - 1)))
+                .build();
+    }
+}
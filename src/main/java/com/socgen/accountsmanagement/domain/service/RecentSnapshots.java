@@ -0,0 +1,24 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import java.util.UUID;
+
+/**
+ * Accounts having a balance snapshot taken within the snapshot interval.
+ */
+public interface RecentSnapshots {
+
+    /**
+     * Record that a snapshot of the account is taken.
+     *
+     * @param accountId the account id
+     */
+    void record(UUID accountId);
+
+    /**
+     * Record a snapshot of the account unless one was taken within the interval.
+     *
+     * @param accountId the account id
+     * @return true when no snapshot was taken within the interval
+     */
+    boolean recordIfNoneRecent(UUID accountId);
+}
@@ -0,0 +1,83 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCommand;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationOutcome;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.concurrency.OptimisticRetryExecutor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Account operations retried on optimistic locking conflicts.
+ * Each attempt runs the delegate in its own transaction.
+ */
+public class RetryingAccountOperationsService implements AccountOperationsService {
+
+    private final AccountOperationsService delegate;
+
+    private final OptimisticRetryExecutor retryExecutor;
+
+    public RetryingAccountOperationsService(AccountOperationsService delegate, OptimisticRetryExecutor retryExecutor) {
+        this.delegate = delegate;
+        this.retryExecutor = retryExecutor;
+    }
+
+    @Override
+    public Account deposit(UUID accountId, long amount) {
+        return retryExecutor.execute(() -> delegate.deposit(accountId, amount));
+    }
+
+    @Override
+    public Account withdraw(UUID accountId, long amount) {
+        return retryExecutor.execute(() -> delegate.withdraw(accountId, amount));
+    }
+
+    @Override
+    public Transfer transfer(UUID fromAccountId, UUID toAccountId, long amount) {
+        return retryExecutor.execute(() -> delegate.transfer(fromAccountId, toAccountId, amount));
+    }
+
+    @Override
+    public List<OperationOutcome> applyOperations(List<OperationCommand> commands) {
+        return retryExecutor.execute(() -> delegate.applyOperations(commands));
+    }
+
+    @Override
+    public Account findAccount(UUID accountId) {
+        return delegate.findAccount(accountId);
+    }
+
+    @Override
+    public List<Operation> operationsHistory(UUID accountId) {
+        return delegate.operationsHistory(accountId);
+    }
+
+    @Override
+    public OperationsPage operationsHistory(UUID accountId, OperationCursor after, int pageSize) {
+        return delegate.operationsHistory(accountId, after, pageSize);
+    }
+
+    @Override
+    public void exportOperationsHistory(UUID accountId, Consumer<Operation> consumer) {
+        delegate.exportOperationsHistory(accountId, consumer);
+    }
+
+    @Override
+    public long balanceAsOf(UUID accountId, Instant instant) {
+        return delegate.balanceAsOf(accountId, instant);
+    }
+
+    @Override
+    public List<DailyAggregate> dailyAggregates(UUID accountId, LocalDate from, LocalDate to) {
+        return delegate.dailyAggregates(accountId, from, to);
+    }
+}
@@ -0,0 +1,173 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCommand;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationOutcome;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.enums.OperationStatus;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import com.socgen.accountsmanagement.domain.ledger.ShardedLedger;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Account operations applied by the in-memory sharded ledger.
+ * Balances are persisted asynchronously: accounts are read from the ledger,
+ * while the history read from the database may miss the latest operations for a short while.
+ */
+public class ShardedAccountOperationsService implements AccountOperationsService {
+
+    private final ShardedLedger ledger;
+
+    private final AccountOperationsService historyService;
+
+    public ShardedAccountOperationsService(ShardedLedger ledger, AccountOperationsService historyService) {
+        this.ledger = ledger;
+        this.historyService = historyService;
+    }
+
+    /**
+     * Deposit an amount to the account without waiting for it to be applied.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, in minor units
+     * @return the account once the deposit is applied
+     */
+    public CompletableFuture<Account> depositAsync(UUID accountId, long amount) {
+        Money.requirePositive(amount);
+        return ledger.submit(OperationType.DEPOSIT, accountId, amount);
+    }
+
+    /**
+     * Withdraw an amount from the account without waiting for it to be applied.
+     *
+     * @param accountId the account id
+     * @param amount    the amount, in minor units
+     * @return the account once the withdrawal is applied
+     */
+    public CompletableFuture<Account> withdrawAsync(UUID accountId, long amount) {
+        Money.requirePositive(amount);
+        return ledger.submit(OperationType.WITHDRAW, accountId, amount);
+    }
+
+    @Override
+    public Account deposit(UUID accountId, long amount) {
+        return join(depositAsync(accountId, amount));
+    }
+
+    @Override
+    public Account withdraw(UUID accountId, long amount) {
+        return join(withdrawAsync(accountId, amount));
+    }
+
+    /**
+     * Transfer an amount from an account to another one.
+     * The accounts may belong to different shards: room is reserved on the credited account,
+     * then the amount is withdrawn and credited, so no leg has to be compensated.
+     * Money is conserved but a reader may observe it in flight.
+     *
+     * @param fromAccountId the debited account id
+     * @param toAccountId   the credited account id
+     * @param amount        the amount, in minor units
+     * @return the transfer
+     */
+    @Override
+    public Transfer transfer(UUID fromAccountId, UUID toAccountId, long amount) {
+        Money.requirePositive(amount);
+        if (fromAccountId.equals(toAccountId))
+            throw new ValidationException("Cannot transfer to the same account");
+
+        return join(ledger.transfer(fromAccountId, toAccountId, amount));
+    }
+
+    /**
+     * Apply a batch of operations.
+     * Commands are submitted at once and applied independently by the shards.
+     *
+     * @param commands the operation commands
+     * @return the outcomes, in the commands order
+     */
+    @Override
+    public List<OperationOutcome> applyOperations(List<OperationCommand> commands) {
+        commands.forEach(command -> Money.requirePositive(command.getAmount()));
+
+        List<CompletableFuture<Account>> results = commands.stream()
+                .map(command -> ledger.submit(command.getType(), command.getAccountId(), command.getAmount()))
+                .toList();
+
+        List<OperationOutcome> outcomes = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            OperationOutcome.OperationOutcomeBuilder outcome = OperationOutcome.builder().command(commands.get(i));
+            try {
+                outcome.status(OperationStatus.APPLIED).balance(join(results.get(i)).getBalance());
+            } catch (InsufficientFundException e) {
+                outcome.status(OperationStatus.INSUFFICIENT_FUND);
+            } catch (AccountNotFoundException e) {
+                outcome.status(OperationStatus.ACCOUNT_NOT_FOUND);
+            }
+            outcomes.add(outcome.build());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Read the account from the ledger, so the balance includes the operations already acknowledged,
+     * ahead of their persistence.
+     *
+     * @param accountId the account id
+     * @return the account
+     */
+    @Override
+    public Account findAccount(UUID accountId) {
+        return join(ledger.read(accountId));
+    }
+
+    @Override
+    public List<Operation> operationsHistory(UUID accountId) {
+        return historyService.operationsHistory(accountId);
+    }
+
+    @Override
+    public OperationsPage operationsHistory(UUID accountId, OperationCursor after, int pageSize) {
+        return historyService.operationsHistory(accountId, after, pageSize);
+    }
+
+    @Override
+    public void exportOperationsHistory(UUID accountId, Consumer<Operation> consumer) {
+        historyService.exportOperationsHistory(accountId, consumer);
+    }
+
+    @Override
+    public long balanceAsOf(UUID accountId, Instant instant) {
+        return historyService.balanceAsOf(accountId, instant);
+    }
+
+    @Override
+    public List<DailyAggregate> dailyAggregates(UUID accountId, LocalDate from, LocalDate to) {
+        return historyService.dailyAggregates(accountId, from, to);
+    }
+
+    private static <T> T join(CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.socgen.accountsmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.util.UUID;
+
+/**
+ * Balances cache in front of the account repository, disabled with {@code accounts.cache.enabled=false}
+ * and with the {@code offheap} profile, whose store is read in place.
+ */
+@Configuration
+@Profile("!offheap")
+@ConditionalOnProperty(prefix = "accounts.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccountCacheConfiguration {
+
+    @Bean
+    @Primary
+    public CachingAccountRepository cachingAccountRepository(JpaAccountRepository jpaAccountRepository,
+                                                             AccountsProperties properties) {
+        AccountsProperties.Cache cache = properties.getCache();
+        return new CachingAccountRepository(jpaAccountRepository, Caffeine.newBuilder()
+                .maximumSize(cache.getMaxSize())
+                .expireAfterWrite(cache.getExpireAfterWrite())
+                .recordStats()
+                .<UUID, Account>build());
+    }
+}
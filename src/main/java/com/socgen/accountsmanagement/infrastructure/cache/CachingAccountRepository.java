@@ -0,0 +1,120 @@
+package com.socgen.accountsmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Account repository keeping account balances in a bounded read-through cache.
+ * <p>
+ * Write transactions always read the database, so balances are checked and saved against committed state.
+ * Updated balances are put in the cache once their transaction commits, a cached balance is only replaced
+ * by a newer version, so neither a concurrent load nor a late commit can bring back an older balance.
+ */
+public class CachingAccountRepository implements AccountRepository {
+
+    private final AccountRepository delegate;
+
+    private final Cache<UUID, Account> balances;
+
+    public CachingAccountRepository(AccountRepository delegate, Cache<UUID, Account> balances) {
+        this.delegate = delegate;
+        this.balances = balances;
+    }
+
+    @Override
+    public Account addAccount(Account account) {
+        return delegate.addAccount(account);
+    }
+
+    @Override
+    public void saveAccount(Account account) {
+        delegate.saveAccount(account);
+        cacheOnCommit(account);
+    }
+
+    @Override
+    public Optional<Account> findAccountById(UUID accountId) {
+        if (inWriteTransaction())
+            return delegate.findAccountById(accountId);
+
+        // loading under the cache entry makes a commit of the account wait for the load to be cached
+        Account cached = balances.get(accountId, id -> delegate.findAccountById(id).orElse(null));
+        return Optional.ofNullable(cached).map(CachingAccountRepository::copy);
+    }
+
+    @Override
+    public boolean existsAccount(UUID accountId) {
+        // accounts are never deleted
+        return balances.getIfPresent(accountId) != null || delegate.existsAccount(accountId);
+    }
+
+    @Override
+    public Optional<Account> depositToBalance(UUID accountId, long amount) {
+        Optional<Account> account = delegate.depositToBalance(accountId, amount);
+        account.ifPresent(this::cacheOnCommit);
+        return account;
+    }
+
+    @Override
+    public Optional<Account> withdrawFromBalance(UUID accountId, long amount) {
+        Optional<Account> account = delegate.withdrawFromBalance(accountId, amount);
+        account.ifPresent(this::cacheOnCommit);
+        return account;
+    }
+
+    @Override
+    public void balanceUpdated(Account account) {
+        cache(copy(account));
+    }
+
+    /**
+     * Hit, miss and eviction counts of the balances cache.
+     *
+     * @return the statistics
+     */
+    public CacheStats stats() {
+        return balances.stats();
+    }
+
+    private void cacheOnCommit(Account account) {
+        Account saved = copy(account);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache(saved);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache(saved);
+            }
+        });
+    }
+
+    private void cache(Account saved) {
+        balances.asMap().merge(saved.getId(), saved,
+                (cached, updated) -> updated.getVersion() > cached.getVersion() ? updated : cached);
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static Account copy(Account account) {
+        // an operations view holds no state, so copies share it
+        return Account.builder()
+                .id(account.getId())
+                .balance(account.getBalance())
+                .version(account.getVersion())
+                .operations(account.getOperations())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.socgen.accountsmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.socgen.accountsmanagement.domain.service.RecentSnapshots;
+
+import java.util.UUID;
+
+/**
+ * Recent snapshots kept in a bounded cache whose entries expire after the snapshot interval.
+ * An evicted account only gets its next snapshot earlier.
+ */
+public class CaffeineRecentSnapshots implements RecentSnapshots {
+
+    private final Cache<UUID, Boolean> snapshots;
+
+    public CaffeineRecentSnapshots(Cache<UUID, Boolean> snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public void record(UUID accountId) {
+        snapshots.put(accountId, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean recordIfNoneRecent(UUID accountId) {
+        return snapshots.asMap().putIfAbsent(accountId, Boolean.TRUE) == null;
+    }
+}
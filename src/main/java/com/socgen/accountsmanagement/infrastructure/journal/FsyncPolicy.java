@@ -0,0 +1,19 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+/**
+ * When journal records are forced to the storage device.
+ */
+public enum FsyncPolicy {
+    /**
+     * After every append and completion, slowest but no record is lost on power failure.
+     */
+    ALWAYS,
+    /**
+     * Periodically, records of the last interval may be lost on power failure.
+     */
+    INTERVAL,
+    /**
+     * Left to the operating system, records survive a process crash but not a power failure.
+     */
+    NEVER
+}
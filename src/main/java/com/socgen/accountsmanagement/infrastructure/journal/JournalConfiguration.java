@@ -0,0 +1,42 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaOperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataJournalCommitRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.nio.file.Path;
+
+/**
+ * Journal mode of the operation repository, enabled with {@code accounts.journal.enabled}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.journal", name = "enabled", havingValue = "true")
+public class JournalConfiguration {
+
+    @Bean
+    public OperationJournal operationJournal(AccountsProperties properties) {
+        AccountsProperties.Journal journal = properties.getJournal();
+        return new OperationJournal(Path.of(journal.getDirectory()), journal.getSegmentSize().toBytes(), journal.getFsyncPolicy());
+    }
+
+    @Bean
+    public JournalWriteBehind journalWriteBehind(OperationJournal operationJournal, JpaOperationRepository jpaOperationRepository,
+                                                 SpringDataJournalCommitRepository journalCommitRepository,
+                                                 AccountsProperties properties) {
+        AccountsProperties.Journal journal = properties.getJournal();
+        return new JournalWriteBehind(operationJournal, jpaOperationRepository, journalCommitRepository, journal.getBatchSize(),
+                journal.getPollInterval(), journal.getFsyncPolicy(), journal.getFsyncInterval());
+    }
+
+    @Bean
+    @Primary
+    public JournaledOperationRepository journaledOperationRepository(OperationJournal operationJournal,
+                                                                     JpaOperationRepository jpaOperationRepository,
+                                                                     SpringDataJournalCommitRepository journalCommitRepository) {
+        return new JournaledOperationRepository(operationJournal, jpaOperationRepository, journalCommitRepository);
+    }
+}
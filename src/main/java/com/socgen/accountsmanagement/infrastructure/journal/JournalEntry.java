@@ -0,0 +1,22 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import lombok.Value;
+
+/**
+ * Completed record read from the journal.
+ */
+@Value
+public class JournalEntry {
+
+    long sequence;
+
+    /**
+     * The operation, null when its transaction was rolled back.
+     */
+    Operation operation;
+
+    public boolean isCommitted() {
+        return operation != null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaOperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataJournalCommitRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background writer draining committed journal records to the operation table in large batches.
+ * The unapplied tail left by a previous run is replayed when starting, before operations are accepted,
+ * its pending records settled from the commit markers of their transactions.
+ */
+@Slf4j
+public class JournalWriteBehind implements SmartLifecycle {
+
+    private final OperationJournal journal;
+
+    private final JpaOperationRepository operationRepository;
+
+    private final SpringDataJournalCommitRepository commitRepository;
+
+    private final int batchSize;
+
+    private final Duration pollInterval;
+
+    private final FsyncPolicy fsyncPolicy;
+
+    private final Duration fsyncInterval;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public JournalWriteBehind(OperationJournal journal, JpaOperationRepository operationRepository,
+                              SpringDataJournalCommitRepository commitRepository, int batchSize,
+                              Duration pollInterval, FsyncPolicy fsyncPolicy, Duration fsyncInterval) {
+        this.journal = journal;
+        this.operationRepository = operationRepository;
+        this.commitRepository = commitRepository;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+    }
+
+    @Override
+    public void start() {
+        journal.settle(commitRepository::existsById);
+        long replayed = drain();
+        if (replayed > 0)
+            log.info("Replayed {} journaled operations", replayed);
+
+        running = true;
+        writer = new Thread(this::run, "operation-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        drain();
+        journal.close();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // start before and stop after the web server
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    /**
+     * Drain all completed records.
+     *
+     * @return the number of operations applied
+     */
+    long drain() {
+        long applied = 0;
+        List<Operation> operations = new ArrayList<>(batchSize);
+        while (drainBatch(operations) > 0) {
+            applied += operations.size();
+            operations.clear();
+        }
+        return applied;
+    }
+
+    private void run() {
+        long lastForce = System.nanoTime();
+        List<Operation> operations = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                operations.clear();
+                if (drainBatch(operations) == 0)
+                    TimeUnit.NANOSECONDS.sleep(pollInterval.toNanos());
+
+                if (fsyncPolicy == FsyncPolicy.INTERVAL && System.nanoTime() - lastForce >= fsyncInterval.toNanos()) {
+                    journal.force();
+                    lastForce = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // records stay in the journal, they are retried on the next poll
+                log.error("Cannot drain journaled operations", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Drain the next completed records.
+     *
+     * @param operations receives the committed operations applied
+     * @return the number of records consumed, aborted ones included
+     */
+    private int drainBatch(List<Operation> operations) {
+        List<JournalEntry> entries = new ArrayList<>(batchSize);
+        long next = journal.read(journal.appliedSequence(), batchSize, entries);
+        if (entries.isEmpty()) return 0;
+
+        for (JournalEntry entry : entries)
+            if (entry.isCommitted())
+                operations.add(entry.getOperation());
+
+        if (!operations.isEmpty()) {
+            operationRepository.insertOperations(operations);
+            // the records are completed, their markers are no longer read
+            commitRepository.deleteAllByIdInBatch(operations.stream().map(Operation::getId).toList());
+        }
+        journal.checkpoint(next);
+        return entries.size();
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
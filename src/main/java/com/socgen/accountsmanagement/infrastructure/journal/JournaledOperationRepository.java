@@ -0,0 +1,76 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataJournalCommitRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Operation repository appending new operations to the journal,
+ * the write-behind drains them to the database in batches.
+ * Within a transaction, a marker of the operation is inserted with the balance update, so a record
+ * the process had no time to complete after the commit is still replayed.
+ * History reads go to the database and may miss the latest operations until they are drained.
+ */
+public class JournaledOperationRepository implements OperationRepository {
+
+    private final OperationJournal journal;
+
+    private final OperationRepository databaseRepository;
+
+    private final SpringDataJournalCommitRepository commitRepository;
+
+    public JournaledOperationRepository(OperationJournal journal, OperationRepository databaseRepository,
+                                        SpringDataJournalCommitRepository commitRepository) {
+        this.journal = journal;
+        this.databaseRepository = databaseRepository;
+        this.commitRepository = commitRepository;
+    }
+
+    @Override
+    public void addOperation(Operation operation) {
+        if (operation.getId() == null)
+            operation.setId(TimeOrderedUuids.next());
+
+        long sequence = journal.append(operation);
+        completeWithTransaction(sequence, operation.getId());
+    }
+
+    @Override
+    public void addOperations(List<Operation> operations) {
+        operations.forEach(this::addOperation);
+    }
+
+    @Override
+    public List<Operation> operationsHistory(UUID accountId, OperationCursor after, int limit) {
+        return databaseRepository.operationsHistory(accountId, after, limit);
+    }
+
+    @Override
+    public void forEachOperation(UUID accountId, Consumer<Operation> consumer) {
+        databaseRepository.forEachOperation(accountId, consumer);
+    }
+
+    private void completeWithTransaction(long sequence, UUID operationId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            journal.complete(sequence, true);
+            return;
+        }
+
+        commitRepository.insert(operationId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                journal.complete(sequence, status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,328 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of operations, written to memory mapped segment files.
+ * <p>
+ * Records have a fixed size and are addressed by a sequence number, a segment holds
+ * {@code segmentSize / RECORD_SIZE} records. A record is appended as pending and completed
+ * once its transaction commits or rolls back: readers stop at the first pending record, so
+ * operations are handed over in sequence order and only when their transaction is settled.
+ * Records still pending when the process stopped are left pending when the journal is opened again,
+ * until {@link #settle(Predicate)} tells from the database whether their transaction committed.
+ * <p>
+ * Record layout: header (int) | operation id (16) | account id (16) | type (int) | amount (long)
+ * | epoch second (long) | nano (int) | CRC32C of the payload (int).
+ */
+@Slf4j
+public class OperationJournal implements Closeable {
+
+    static final int RECORD_SIZE = 64;
+
+    private static final int EMPTY = 0;
+    private static final int PENDING = 0x4A4F0001;
+    private static final int COMMITTED = 0x4A4F0002;
+    private static final int ABORTED = 0x4A4F0003;
+
+    private static final int PAYLOAD_OFFSET = 4;
+    private static final int CRC_OFFSET = 60;
+
+    private static final VarHandle HEADER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final OperationType[] TYPES = OperationType.values();
+
+    private final Path directory;
+
+    private final int recordsPerSegment;
+
+    private final FsyncPolicy fsyncPolicy;
+
+    private final Map<Long, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private final Path checkpointFile;
+
+    private long nextSequence;
+
+    /**
+     * Sequence following the records written by a previous run.
+     */
+    private final long recoveredSequence;
+
+    private volatile long appliedSequence;
+
+    public OperationJournal(Path directory, long segmentSize, FsyncPolicy fsyncPolicy) {
+        if (segmentSize < RECORD_SIZE || segmentSize / RECORD_SIZE > Integer.MAX_VALUE / RECORD_SIZE)
+            throw new IllegalArgumentException("Journal segment size must hold between 1 and 2^25 records");
+
+        this.directory = directory;
+        this.recordsPerSegment = (int) (segmentSize / RECORD_SIZE);
+        this.fsyncPolicy = fsyncPolicy;
+        this.checkpointFile = directory.resolve("checkpoint");
+
+        try {
+            Files.createDirectories(directory);
+            appliedSequence = readCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open operation journal in " + directory, e);
+        }
+        nextSequence = recover(appliedSequence);
+        recoveredSequence = nextSequence;
+    }
+
+    /**
+     * Append the operation as a pending record.
+     *
+     * @param operation the operation, with its id assigned
+     * @return the record sequence
+     */
+    public long append(Operation operation) {
+        appendLock.lock();
+        try {
+            long sequence = nextSequence;
+            MappedByteBuffer segment = segment(sequence);
+            int offset = offset(sequence);
+
+            segment.putLong(offset + 4, operation.getId().getMostSignificantBits());
+            segment.putLong(offset + 12, operation.getId().getLeastSignificantBits());
+            segment.putLong(offset + 20, operation.getAccount().getId().getMostSignificantBits());
+            segment.putLong(offset + 28, operation.getAccount().getId().getLeastSignificantBits());
+            segment.putInt(offset + 36, operation.getType().ordinal());
+            segment.putLong(offset + 40, operation.getAmount());
+            segment.putLong(offset + 48, operation.getDate().toEpochSecond(ZoneOffset.UTC));
+            segment.putInt(offset + 56, operation.getDate().getNano());
+            segment.putInt(offset + CRC_OFFSET, checksum(segment, offset));
+            // publish the payload with the header
+            HEADER.setRelease(segment, offset, PENDING);
+
+            nextSequence = sequence + 1;
+            if (fsyncPolicy == FsyncPolicy.ALWAYS)
+                segment.force(offset, RECORD_SIZE);
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Complete a pending record.
+     *
+     * @param sequence  the record sequence
+     * @param committed whether its transaction committed
+     */
+    public void complete(long sequence, boolean committed) {
+        MappedByteBuffer segment = segment(sequence);
+        int offset = offset(sequence);
+        HEADER.setRelease(segment, offset, committed ? COMMITTED : ABORTED);
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS)
+            segment.force(offset, 4);
+    }
+
+    /**
+     * Complete the records left pending by a previous run. The process may have stopped after their transaction
+     * committed and before they were completed, the transaction is asked for instead.
+     *
+     * @param committed whether the transaction of the operation with this id committed
+     * @return the number of records completed as committed
+     */
+    public long settle(Predicate<UUID> committed) {
+        long settled = 0;
+        for (long sequence = appliedSequence; sequence < recoveredSequence; sequence++) {
+            MappedByteBuffer segment = segment(sequence);
+            int offset = offset(sequence);
+            if ((int) HEADER.getAcquire(segment, offset) != PENDING) continue;
+
+            UUID operationId = decode(segment, offset).getId();
+            if (committed.test(operationId)) {
+                settled++;
+                complete(sequence, true);
+            } else {
+                log.warn("Dropping journaled operation {} of a transaction rolled back", operationId);
+                complete(sequence, false);
+            }
+        }
+        return settled;
+    }
+
+    /**
+     * Read completed records, in sequence order, up to the first pending one.
+     *
+     * @param from the first sequence to read
+     * @param max  the maximum number of records
+     * @param out  the read entries
+     * @return the sequence following the last read record
+     */
+    public long read(long from, int max, List<JournalEntry> out) {
+        long end = endSequence();
+        long sequence = from;
+        while (sequence - from < max && sequence < end) {
+            MappedByteBuffer segment = segment(sequence);
+            int offset = offset(sequence);
+
+            int header = (int) HEADER.getAcquire(segment, offset);
+            if (header == PENDING || header == EMPTY) break;
+
+            out.add(new JournalEntry(sequence, header == COMMITTED ? decode(segment, offset) : null));
+            sequence++;
+        }
+        return sequence;
+    }
+
+    /**
+     * Sequence of the next appended record.
+     */
+    public long endSequence() {
+        appendLock.lock();
+        try {
+            return nextSequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Sequence following the last record applied to the database.
+     */
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Record that the records before the sequence are applied to the database,
+     * segments holding only applied records are deleted.
+     *
+     * @param sequence the sequence following the last applied record
+     */
+    public void checkpoint(long sequence) {
+        try {
+            Path temporary = directory.resolve("checkpoint.tmp");
+            Files.write(temporary, ByteBuffer.allocate(8).putLong(sequence).array());
+            Files.move(temporary, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appliedSequence = sequence;
+
+            long firstLiveSegment = sequence / recordsPerSegment;
+            for (Long index : segments.keySet())
+                if (index < firstLiveSegment) {
+                    segments.remove(index);
+                    Files.deleteIfExists(segmentFile(index));
+                }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write operation journal checkpoint", e);
+        }
+    }
+
+    /**
+     * Force the mapped segments to the storage device.
+     */
+    public void force() {
+        segments.values().forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public void close() {
+        force();
+        segments.clear();
+    }
+
+    private long recover(long from) {
+        long sequence = from;
+        while (Files.exists(segmentFile(sequence / recordsPerSegment))) {
+            MappedByteBuffer segment = segment(sequence);
+            int offset = offset(sequence);
+
+            int header = segment.getInt(offset);
+            if (header == EMPTY || segment.getInt(offset + CRC_OFFSET) != checksum(segment, offset))
+                break;
+            sequence++;
+        }
+
+        // a torn record is overwritten by the next append
+        if (Files.exists(segmentFile(sequence / recordsPerSegment)))
+            segment(sequence).putInt(offset(sequence), EMPTY);
+        return sequence;
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                // without checkpoint, start from the oldest segment
+                return files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.startsWith("segment-"))
+                        .mapToLong(name -> Long.parseLong(name.substring(8, name.length() - 4)))
+                        .min()
+                        .orElse(0) * recordsPerSegment;
+            }
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+    }
+
+    private MappedByteBuffer segment(long sequence) {
+        return segments.computeIfAbsent(sequence / recordsPerSegment, this::map);
+    }
+
+    private MappedByteBuffer map(long index) {
+        try (FileChannel channel = FileChannel.open(segmentFile(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map operation journal segment " + index, e);
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("segment-%020d.log", index));
+    }
+
+    private int offset(long sequence) {
+        return (int) (sequence % recordsPerSegment) * RECORD_SIZE;
+    }
+
+    private static int checksum(ByteBuffer segment, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(offset + PAYLOAD_OFFSET, CRC_OFFSET - PAYLOAD_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    private static Operation decode(ByteBuffer segment, int offset) {
+        UUID id = new UUID(segment.getLong(offset + 4), segment.getLong(offset + 12));
+        UUID accountId = new UUID(segment.getLong(offset + 20), segment.getLong(offset + 28));
+
+        return Operation.builder()
+                .id(id)
+                .account(Account.builder().id(accountId).build())
+                .type(TYPES[segment.getInt(offset + 36)])
+                .amount(segment.getLong(offset + 40))
+                .date(LocalDateTime.ofEpochSecond(segment.getLong(offset + 48), segment.getInt(offset + 56), ZoneOffset.UTC))
+                .build();
+    }
+}
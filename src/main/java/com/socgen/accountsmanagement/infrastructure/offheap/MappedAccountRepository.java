@@ -0,0 +1,167 @@
+package com.socgen.accountsmanagement.infrastructure.offheap;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataAccountRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Account repository serving balances and versions from the off-heap {@link MappedAccountStore}.
+ * <p>
+ * Accounts are still added to the database, the operations reference them, and are loaded into the store
+ * when first accessed. From then on the store holds their balance, written back to the balance column
+ * by {@link #writeBack()}.
+ * <p>
+ * Balances are updated in place at once: a transaction rolled back gives the amount back to the balance,
+ * and other transactions may read a balance before its transaction commits. The amount is given back
+ * before the account locks are released, the next writer of the account never spends it.
+ */
+@Timed("accounts.repository")
+public class MappedAccountRepository implements AccountRepository {
+
+    private final MappedAccountStore store;
+
+    private final JpaAccountRepository jpaAccountRepository;
+
+    private final SpringDataAccountRepository accountRepository;
+
+    private final OperationsViews operationsViews;
+
+    public MappedAccountRepository(MappedAccountStore store, JpaAccountRepository jpaAccountRepository,
+                                   SpringDataAccountRepository accountRepository, OperationsViews operationsViews) {
+        this.store = store;
+        this.jpaAccountRepository = jpaAccountRepository;
+        this.accountRepository = accountRepository;
+        this.operationsViews = operationsViews;
+    }
+
+    @Override
+    public Account addAccount(Account account) {
+        Account added = jpaAccountRepository.addAccount(account);
+        store.insert(added.getId(), added.getBalance(), added.getVersion(),
+                account.getClient() != null ? account.getClient().getId() : null);
+        return added;
+    }
+
+    @Override
+    public void saveAccount(Account account) {
+        UUID accountId = account.getId();
+        if (account.getVersion() == null)
+            throw new IllegalArgumentException("Account " + accountId + " has no version, it was not read");
+
+        load(accountId);
+        long previous = store.compareAndSetBalance(accountId, account.getVersion(), account.getBalance());
+        if (previous == Long.MIN_VALUE)
+            throw new ObjectOptimisticLockingFailureException(AccountEntity.class, accountId);
+
+        undoOnRollback(accountId, previous - account.getBalance());
+        account.setVersion(account.getVersion() + 1);
+    }
+
+    @Override
+    public Optional<Account> findAccountById(UUID accountId) {
+        load(accountId);
+        return find(accountId);
+    }
+
+    @Override
+    public boolean existsAccount(UUID accountId) {
+        return store.contains(accountId) || jpaAccountRepository.existsAccount(accountId);
+    }
+
+    @Override
+    public Optional<Account> depositToBalance(UUID accountId, long amount) {
+        load(accountId);
+        if (!store.addToBalance(accountId, amount))
+            return Optional.empty();
+
+        undoOnRollback(accountId, -amount);
+        return find(accountId);
+    }
+
+    @Override
+    public Optional<Account> withdrawFromBalance(UUID accountId, long amount) {
+        load(accountId);
+        if (!store.subtractFromBalanceIfCovered(accountId, amount))
+            return Optional.empty();
+
+        undoOnRollback(accountId, amount);
+        return find(accountId);
+    }
+
+    /**
+     * Writes the balances and versions updated since the last write back to the database, in a single transaction.
+     * Balances of transactions still running may be written, the account is written again once they complete.
+     *
+     * @return the accounts written back
+     */
+    @Transactional
+    public int writeBack() {
+        List<Account> updated = new ArrayList<>();
+        store.forEachUnsynced((id, balance, version) ->
+                updated.add(Account.builder().id(id).balance(balance).version(version).build()));
+        for (Account account : updated)
+            accountRepository.writeBackBalance(account.getId(), account.getBalance(), account.getVersion());
+
+        Runnable markSynced = () -> updated.forEach(account -> store.markSynced(account.getId(), account.getVersion()));
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    markSynced.run();
+                }
+            });
+        else
+            markSynced.run();
+        return updated.size();
+    }
+
+    private Optional<Account> find(UUID accountId) {
+        return Optional.ofNullable(store.read(accountId, (id, balance, version) -> Account.builder()
+                .id(id)
+                .balance(balance)
+                .version(version)
+                .operations(operationsViews.forAccount(id))
+                .build()));
+    }
+
+    /**
+     * Loads the account from the database on its first access, a concurrent load keeps the first one stored.
+     */
+    private void load(UUID accountId) {
+        if (store.contains(accountId)) return;
+
+        accountRepository.findRecordById(accountId).ifPresent(view ->
+                store.insert(view.getId(), view.getBalance(), view.getVersion(), view.getClientId()));
+    }
+
+    private void undoOnRollback(UUID accountId, long amount) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                // before the account locks released on completion
+                return HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK)
+                    store.addToBalance(accountId, amount);
+            }
+        });
+    }
+}
@@ -0,0 +1,385 @@
+package com.socgen.accountsmanagement.infrastructure.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * Accounts stored off-heap in a memory-mapped file of fixed 64 bytes records, one cache line each.
+ * <p>
+ * The records are the slots of an open-addressing hash table with linear probing, keyed by account id:
+ * a lookup hashes the id and reads the following slots until the id or an empty slot is found.
+ * Accounts are never removed and the table does not grow, it accepts up to three quarters of its capacity.
+ * <p>
+ * Balances and versions are updated in place under striped locks and read without locking,
+ * with the sequence of the record retried while a writer holds it. Lookups and updates allocate nothing.
+ * Updates reach the file when the operating system writes the mapped pages back or when {@link #sync()} is called,
+ * updates since the last sync may be lost if the machine stops. Each record also keeps the last version written back
+ * to another store, the accounts updated since are listed by {@link #forEachUnsynced(RecordReader)}.
+ * <p>
+ * Record layout, in little endian longs:
+ * <pre>
+ *  0 sequence, 0 for an empty slot, odd while being written
+ *  8 id, most significant bits
+ * 16 id, least significant bits
+ * 24 balance, in minor units
+ * 32 version
+ * 40 client id, most significant bits
+ * 48 client id, least significant bits
+ * 56 version last written back, see {@link #markSynced(UUID, long)}
+ * </pre>
+ */
+public final class MappedAccountStore implements AutoCloseable {
+
+    private static final long MAGIC = 0x41434354_53544f31L;
+
+    private static final int HEADER_BYTES = 64;
+
+    private static final int RECORD_SHIFT = 6;
+
+    /**
+     * Records per mapped segment, a buffer maps at most 2 GiB.
+     */
+    private static final int SEGMENT_SHIFT = 24;
+
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int LOCK_STRIPES = 1024;
+
+    private static final int SEQUENCE = 0;
+    private static final int ID_MSB = 8;
+    private static final int ID_LSB = 16;
+    private static final int BALANCE = 24;
+    private static final int VERSION = 32;
+    private static final int CLIENT_MSB = 40;
+    private static final int CLIENT_LSB = 48;
+    private static final int SYNCED_VERSION = 56;
+
+    private static final int HEADER_CAPACITY = 8;
+    private static final int HEADER_SIZE = 16;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer header;
+
+    private final MappedByteBuffer[] segments;
+
+    private final int mask;
+
+    private final int maxSize;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Object insertLock = new Object();
+
+    private volatile int size;
+
+    /**
+     * Opens the store file, created if missing.
+     *
+     * @param file     the store file
+     * @param capacity the records of a new file, rounded up to a power of two,
+     *                 an existing file keeps the capacity it was created with
+     */
+    public MappedAccountStore(Path file, int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+
+        try {
+            boolean created = !Files.exists(file) || Files.size(file) == 0;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+
+            int slots;
+            if (created) {
+                slots = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+                LONGS.set(header, HEADER_CAPACITY, (long) slots);
+                LONGS.set(header, HEADER_SIZE, 0L);
+                LONGS.set(header, 0, MAGIC);
+            } else {
+                if ((long) LONGS.get(header, 0) != MAGIC)
+                    throw new IllegalStateException(file + " is not an account store");
+                slots = (int) (long) LONGS.get(header, HEADER_CAPACITY);
+                size = (int) (long) LONGS.get(header, HEADER_SIZE);
+            }
+
+            mask = slots - 1;
+            maxSize = (int) (slots * 3L / 4);
+            segments = new MappedByteBuffer[(slots + SEGMENT_MASK) >>> SEGMENT_SHIFT];
+            for (int i = 0; i < segments.length; i++) {
+                long records = Math.min(slots - ((long) i << SEGMENT_SHIFT), 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_BYTES + ((long) i << (SEGMENT_SHIFT + RECORD_SHIFT)), records << RECORD_SHIFT);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the account store " + file, e);
+        }
+
+        for (int i = 0; i < LOCK_STRIPES; i++)
+            locks[i] = new Object();
+    }
+
+    /**
+     * Reads the balance and version of an account.
+     *
+     * @param <T>    the result type
+     * @param id     the account id
+     * @param reader receives a consistent balance and version
+     * @return the reader result, null if the account is not stored
+     */
+    public <T> T read(UUID id, RecordReader<T> reader) {
+        int slot = find(id);
+        if (slot < 0) return null;
+
+        return read(slot, id, reader);
+    }
+
+    /**
+     * Reads the accounts whose version changed since they were last marked synced.
+     * A record read is consistent, the records are not read at the same instant.
+     *
+     * @param reader receives the balance and version of each account
+     */
+    public void forEachUnsynced(RecordReader<?> reader) {
+        for (int slot = 0; slot <= mask; slot++) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((long) LONGS.getAcquire(segment, offset + SEQUENCE) == 0) continue;
+
+            UUID id = new UUID((long) LONGS.get(segment, offset + ID_MSB), (long) LONGS.get(segment, offset + ID_LSB));
+            long synced = (long) LONGS.getOpaque(segment, offset + SYNCED_VERSION);
+            read(slot, id, (accountId, balance, version) -> version != synced
+                    ? reader.read(accountId, balance, version) : null);
+        }
+    }
+
+    /**
+     * Records the version of an account written back, the account is listed again once its version changes.
+     */
+    public void markSynced(UUID id, long version) {
+        int slot = find(id);
+        if (slot < 0) return;
+
+        LONGS.setOpaque(segment(slot), offset(slot) + SYNCED_VERSION, version);
+    }
+
+    public boolean contains(UUID id) {
+        return find(id) >= 0;
+    }
+
+    /**
+     * Stores an account, unless already stored.
+     *
+     * @return false if the account is already stored
+     * @throws IllegalStateException if the store is full
+     */
+    public boolean insert(UUID id, long balance, long version, UUID clientId) {
+        synchronized (insertLock) {
+            int slot = probe(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((long) LONGS.getAcquire(segment, offset + SEQUENCE) != 0)
+                return false;
+            if (size >= maxSize)
+                throw new IllegalStateException("Account store is full, " + size + " accounts stored");
+
+            LONGS.set(segment, offset + ID_MSB, id.getMostSignificantBits());
+            LONGS.set(segment, offset + ID_LSB, id.getLeastSignificantBits());
+            LONGS.set(segment, offset + BALANCE, balance);
+            LONGS.set(segment, offset + VERSION, version);
+            LONGS.set(segment, offset + CLIENT_MSB, clientId != null ? clientId.getMostSignificantBits() : 0L);
+            LONGS.set(segment, offset + CLIENT_LSB, clientId != null ? clientId.getLeastSignificantBits() : 0L);
+            LONGS.set(segment, offset + SYNCED_VERSION, version);
+            // lookups see the record once its sequence is published
+            LONGS.setRelease(segment, offset + SEQUENCE, 2L);
+
+            size++;
+            LONGS.setRelease(header, HEADER_SIZE, (long) size);
+            return true;
+        }
+    }
+
+    /**
+     * Adds the amount to the account balance, bumping its version.
+     *
+     * @return false if the account is not stored
+     */
+    public boolean addToBalance(UUID id, long amount) {
+        int slot = find(id);
+        if (slot < 0) return false;
+
+        synchronized (lock(slot)) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            write(segment, offset, Math.addExact((long) LONGS.get(segment, offset + BALANCE), amount));
+            return true;
+        }
+    }
+
+    /**
+     * Subtracts the amount from the account balance when the balance covers it, bumping its version.
+     *
+     * @return false if the account is not stored or its balance is insufficient
+     */
+    public boolean subtractFromBalanceIfCovered(UUID id, long amount) {
+        int slot = find(id);
+        if (slot < 0) return false;
+
+        synchronized (lock(slot)) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            long balance = (long) LONGS.get(segment, offset + BALANCE);
+            if (balance < amount) return false;
+
+            write(segment, offset, balance - amount);
+            return true;
+        }
+    }
+
+    /**
+     * Sets the account balance if its version is still the expected one, bumping its version.
+     *
+     * @return the previous balance, {@link Long#MIN_VALUE} if the account is not stored or its version changed
+     */
+    public long compareAndSetBalance(UUID id, long expectedVersion, long balance) {
+        int slot = find(id);
+        if (slot < 0) return Long.MIN_VALUE;
+
+        synchronized (lock(slot)) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((long) LONGS.get(segment, offset + VERSION) != expectedVersion)
+                return Long.MIN_VALUE;
+
+            long previous = (long) LONGS.get(segment, offset + BALANCE);
+            write(segment, offset, balance);
+            return previous;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Writes the mapped pages back to the file.
+     */
+    public void sync() {
+        for (MappedByteBuffer segment : segments)
+            segment.force();
+        header.force();
+    }
+
+    @Override
+    public void close() {
+        sync();
+        try {
+            // the mappings stay valid until the buffers are collected
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T read(int slot, UUID id, RecordReader<T> reader) {
+        ByteBuffer segment = segment(slot);
+        int offset = offset(slot);
+        while (true) {
+            long sequence = (long) LONGS.getAcquire(segment, offset + SEQUENCE);
+            if ((sequence & 1) == 0) {
+                long balance = (long) LONGS.getOpaque(segment, offset + BALANCE);
+                long version = (long) LONGS.getOpaque(segment, offset + VERSION);
+                VarHandle.acquireFence();
+                if ((long) LONGS.getOpaque(segment, offset + SEQUENCE) == sequence)
+                    return reader.read(id, balance, version);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Writes a new balance under the record lock, bumping the version.
+     */
+    private static void write(ByteBuffer segment, int offset, long balance) {
+        long sequence = (long) LONGS.get(segment, offset + SEQUENCE);
+        LONGS.setOpaque(segment, offset + SEQUENCE, sequence + 1);
+        VarHandle.storeStoreFence();
+        LONGS.setOpaque(segment, offset + BALANCE, balance);
+        LONGS.setOpaque(segment, offset + VERSION, (long) LONGS.get(segment, offset + VERSION) + 1);
+        LONGS.setRelease(segment, offset + SEQUENCE, sequence + 2);
+    }
+
+    private int find(UUID id) {
+        int slot = probe(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return (long) LONGS.getAcquire(segment(slot), offset(slot) + SEQUENCE) != 0 ? slot : -1;
+    }
+
+    /**
+     * Slot of the account, or the empty slot ending its probe sequence.
+     */
+    private int probe(long msb, long lsb) {
+        int slot = hash(msb, lsb) & mask;
+        while (true) {
+            ByteBuffer segment = segment(slot);
+            int offset = offset(slot);
+            if ((long) LONGS.getAcquire(segment, offset + SEQUENCE) == 0
+                    || (long) LONGS.get(segment, offset + ID_MSB) == msb
+                    && (long) LONGS.get(segment, offset + ID_LSB) == lsb)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private ByteBuffer segment(int slot) {
+        return segments[slot >>> SEGMENT_SHIFT];
+    }
+
+    private static int offset(int slot) {
+        return (slot & SEGMENT_MASK) << RECORD_SHIFT;
+    }
+
+    private Object lock(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Murmur3 finalizer, version 7 ids share their leading timestamp bits.
+     */
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Receives the state of an account read from the store.
+     */
+    @FunctionalInterface
+    public interface RecordReader<T> {
+
+        T read(UUID id, long balance, long version);
+    }
+}
@@ -0,0 +1,82 @@
+package com.socgen.accountsmanagement.infrastructure.offheap;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.enums.BalanceUpdateMode;
+import com.socgen.accountsmanagement.domain.service.HotAccounts;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Off-heap account store in front of the database with the {@code offheap} profile, replacing the balances cache.
+ * Requires the read-modify-write balance update mode, whose account locks serialize the writers of an account
+ * until they commit as the row lock of a conditional update would. Not to be combined with the ledger
+ * or the reactive service, which read and write the balance column, nor with hot accounts, whose balance
+ * is read from the balance column plus the slots.
+ */
+@Slf4j
+@Configuration
+@Profile("offheap")
+public class OffHeapAccountConfiguration {
+
+    @Bean
+    public MappedAccountStore mappedAccountStore(AccountsProperties properties, HotAccounts hotAccounts) {
+        if (properties.getOperations().getBalanceUpdateMode() != BalanceUpdateMode.READ_MODIFY_WRITE
+                || properties.getLedger().isEnabled() || properties.getReactive().isEnabled())
+            throw new IllegalStateException("The offheap profile requires the read_modify_write balance update mode, "
+                    + "without the ledger and the reactive service");
+        // accounts promoted by a previous run stay hot
+        if (properties.getHotAccounts().isEnabled() || hotAccounts.count() > 0)
+            throw new IllegalStateException("The offheap profile requires accounts.hot-accounts.enabled=false "
+                    + "and no hot account");
+
+        AccountsProperties.OffHeap offHeap = properties.getOffHeap();
+        return new MappedAccountStore(Path.of(offHeap.getFile()), offHeap.getCapacity());
+    }
+
+    /**
+     * Writes the updated balances back to the database, then the mapped pages back to the file, periodically.
+     * Stopped before the store is closed.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService mappedAccountStoreSync(MappedAccountStore mappedAccountStore,
+                                                           MappedAccountRepository mappedAccountRepository,
+                                                           AccountsProperties properties) {
+        ScheduledExecutorService sync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "account-store-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getOffHeap().getSyncInterval().toMillis();
+        sync.scheduleWithFixedDelay(() -> {
+            try {
+                mappedAccountRepository.writeBack();
+            } catch (RuntimeException e) {
+                // the accounts are left unsynced, they are written back on the next run
+                log.error("Cannot write the account store back to the database", e);
+            }
+            mappedAccountStore.sync();
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return sync;
+    }
+
+    @Bean
+    @Primary
+    public MappedAccountRepository mappedAccountRepository(MappedAccountStore mappedAccountStore,
+                                                           JpaAccountRepository jpaAccountRepository,
+                                                           SpringDataAccountRepository springDataAccountRepository,
+                                                           OperationsViews operationsViews) {
+        return new MappedAccountRepository(mappedAccountStore, jpaAccountRepository, springDataAccountRepository,
+                operationsViews);
+    }
+}
@@ -0,0 +1,282 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.bulk;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import lombok.Value;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seeds clients, accounts and operations with plain JDBC, bypassing the mappers and the entity manager.
+ * Generated rows are written by concurrent producers, each inserting chunks of clients
+ * with JDBC batches of at most the batch size, committed together.
+ * CSV files are loaded by the database with {@code CSVREAD}, H2 only, in a single statement per table.
+ * Daily aggregates and snapshots are not maintained, they are to be rebuilt once the import is done.
+ */
+public class BulkImporter {
+
+    static final String CLIENTS_CSV = "client.csv";
+    static final String ACCOUNTS_CSV = "account.csv";
+    static final String OPERATIONS_CSV = "operation.csv";
+
+    private static final String INSERT_CLIENT = "insert into client (id, first_name, last_name) values (?, ?, ?)";
+    private static final String INSERT_ACCOUNT =
+            "insert into account (id, balance, version, client_id) values (?, ?, 0, ?)";
+    private static final String INSERT_OPERATION =
+            "insert into operation (id, type, amount, date, account_id) values (?, ?, ?, ?, ?)";
+
+    /**
+     * Largest generated operation amount, in minor units.
+     */
+    private static final long MAX_AMOUNT = 100_000;
+
+    private final DataSource dataSource;
+
+    private final int threads;
+
+    private final int batchSize;
+
+    /**
+     * @param dataSource the data source, whose pool should hold at least {@code threads} connections
+     * @param threads    concurrent producers
+     * @param batchSize  rows inserted and committed together by a producer
+     */
+    public BulkImporter(DataSource dataSource, int threads, int batchSize) {
+        if (threads < 1 || batchSize < 1)
+            throw new IllegalArgumentException("Threads and batch size must be positive");
+        this.dataSource = dataSource;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates clients, each owning an account with its operations history.
+     * Operations are spread over the last days, oldest first, starting with a deposit.
+     * Withdrawals never exceed the balance and the account balance is the sum of its operations.
+     *
+     * @param clients              the number of clients and accounts
+     * @param operationsPerAccount the number of operations of each account
+     * @param historyDays          the days over which the operations are spread
+     * @return the imported rows
+     */
+    public Report importGenerated(int clients, int operationsPerAccount, int historyDays) {
+        if (clients < 0 || operationsPerAccount < 0 || historyDays < 1)
+            throw new IllegalArgumentException("Invalid generated data size");
+
+        long start = System.nanoTime();
+        LongAdder operations = new LongAdder();
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(historyDays);
+        // a chunk holds about a batch, or a single client whose operations make several batches
+        int chunk = Math.max(1, batchSize / (operationsPerAccount + 2));
+
+        ExecutorService producers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int first = 0; first < clients; first += chunk) {
+                int firstClient = first;
+                int lastClient = Math.min(first + chunk, clients);
+                chunks.add(producers.submit(() -> {
+                    insertGenerated(firstClient, lastClient, operationsPerAccount, from, to);
+                    operations.add((long) (lastClient - firstClient) * operationsPerAccount);
+                    return null;
+                }));
+            }
+            await(chunks);
+        } finally {
+            producers.shutdownNow();
+        }
+        return new Report(clients, clients, operations.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void insertGenerated(int firstClient, int lastClient, int operationsPerAccount,
+                                 LocalDateTime from, LocalDateTime to) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long stepMillis = Duration.between(from, to).toMillis() / Math.max(1, operationsPerAccount);
+        Timestamp start = Timestamp.valueOf(from);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement clientInsert = connection.prepareStatement(INSERT_CLIENT);
+                 PreparedStatement accountInsert = connection.prepareStatement(INSERT_ACCOUNT);
+                 PreparedStatement operationInsert = connection.prepareStatement(INSERT_OPERATION)) {
+                int pending = 0;
+                for (int i = firstClient; i < lastClient; i++) {
+                    UUID clientId = TimeOrderedUuids.next();
+                    UUID accountId = TimeOrderedUuids.next();
+                    // the operations are generated twice from the seed, the account row goes first with its balance
+                    long seed = random.nextLong();
+
+                    clientInsert.setObject(1, clientId);
+                    clientInsert.setString(2, "Client");
+                    clientInsert.setString(3, String.valueOf(i));
+                    clientInsert.addBatch();
+
+                    accountInsert.setObject(1, accountId);
+                    accountInsert.setLong(2, generatedBalance(seed, operationsPerAccount));
+                    accountInsert.setObject(3, clientId);
+                    accountInsert.addBatch();
+                    pending += 2;
+
+                    SplittableRandom operations = new SplittableRandom(seed);
+                    long balance = 0;
+                    for (int j = 0; j < operationsPerAccount; j++) {
+                        long amount = nextAmount(operations);
+                        OperationType type = nextType(operations, balance, amount);
+                        balance += type == OperationType.DEPOSIT ? amount : -amount;
+
+                        operationInsert.setObject(1, TimeOrderedUuids.next());
+                        operationInsert.setString(2, type.name());
+                        operationInsert.setLong(3, amount);
+                        operationInsert.setTimestamp(4,
+                                new Timestamp(start.getTime() + j * stepMillis + random.nextLong(Math.max(1, stepMillis))));
+                        operationInsert.setObject(5, accountId);
+                        operationInsert.addBatch();
+
+                        if (++pending >= batchSize) {
+                            commitBatches(connection, clientInsert, accountInsert, operationInsert);
+                            pending = 0;
+                        }
+                    }
+                }
+                if (pending > 0)
+                    commitBatches(connection, clientInsert, accountInsert, operationInsert);
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Execute the pending batches, parents first for the foreign keys, and commit them.
+     */
+    private static void commitBatches(Connection connection, PreparedStatement... inserts) throws SQLException {
+        for (PreparedStatement insert : inserts)
+            insert.executeBatch();
+        connection.commit();
+    }
+
+    private static long generatedBalance(long seed, int operationsPerAccount) {
+        SplittableRandom operations = new SplittableRandom(seed);
+        long balance = 0;
+        for (int j = 0; j < operationsPerAccount; j++) {
+            long amount = nextAmount(operations);
+            balance += nextType(operations, balance, amount) == OperationType.DEPOSIT ? amount : -amount;
+        }
+        return balance;
+    }
+
+    private static long nextAmount(SplittableRandom operations) {
+        return operations.nextLong(1, MAX_AMOUNT + 1);
+    }
+
+    /**
+     * Withdrawals never exceed the balance.
+     */
+    private static OperationType nextType(SplittableRandom operations, long balance, long amount) {
+        return balance >= amount && operations.nextBoolean() ? OperationType.WITHDRAW : OperationType.DEPOSIT;
+    }
+
+    /**
+     * Loads {@value #CLIENTS_CSV}, {@value #ACCOUNTS_CSV} and {@value #OPERATIONS_CSV} from the directory,
+     * in a single transaction. Files have a header line and their columns in this order:
+     * <ul>
+     *     <li>client: id, first_name, last_name</li>
+     *     <li>account: id, balance, client_id, balances in minor units</li>
+     *     <li>operation: id, type, amount, date, account_id, amounts in minor units
+     *     and dates formatted as {@code yyyy-MM-dd HH:mm:ss}</li>
+     * </ul>
+     *
+     * @param directory the directory of the CSV files
+     * @return the imported rows
+     */
+    public Report importCsv(Path directory) {
+        for (String file : List.of(CLIENTS_CSV, ACCOUNTS_CSV, OPERATIONS_CSV))
+            if (!Files.isReadable(directory.resolve(file)))
+                throw new IllegalArgumentException("Missing " + directory.resolve(file));
+
+        long start = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long clients = loadCsv(connection, "insert into client (id, first_name, last_name) " +
+                        "select * from csvread(%s)", directory.resolve(CLIENTS_CSV));
+                long accounts = loadCsv(connection, "insert into account (id, balance, client_id, version) " +
+                        "select *, 0 from csvread(%s)", directory.resolve(ACCOUNTS_CSV));
+                long operations = loadCsv(connection, "insert into operation (id, type, amount, date, account_id) " +
+                        "select * from csvread(%s)", directory.resolve(OPERATIONS_CSV));
+                connection.commit();
+                return new Report(clients, accounts, operations, Duration.ofNanos(System.nanoTime() - start));
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("CSV import from " + directory + " failed", e);
+        }
+    }
+
+    private static long loadCsv(Connection connection, String sql, Path file) throws SQLException {
+        // the file name is read when the statement is prepared, it cannot be a parameter
+        String fileName = "'" + file.toAbsolutePath().toString().replace("'", "''") + "'";
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeLargeUpdate(sql.formatted(fileName));
+        }
+    }
+
+    private static void await(List<Future<?>> chunks) {
+        try {
+            for (Future<?> chunk : chunks)
+                chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bulk import failed", e.getCause());
+        }
+    }
+
+    @Value
+    public static class Report {
+
+        long clients;
+
+        long accounts;
+
+        long operations;
+
+        Duration elapsed;
+
+        public long rows() {
+            return clients + accounts + operations;
+        }
+
+        public long rowsPerSecond() {
+            return rows() * 1_000_000_000 / Math.max(1, elapsed.toNanos());
+        }
+    }
+}
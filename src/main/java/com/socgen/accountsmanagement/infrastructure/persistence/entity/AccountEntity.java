@@ -1,6 +1,7 @@
 package com.socgen.accountsmanagement.infrastructure.persistence.entity;
 
 
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,10 +20,13 @@ import java.util.UUID;
 public class AccountEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
-    private Double balance;
+    private long balance;
+
+    @Version
+    private Long version;
 
     @OneToMany(cascade = CascadeType.ALL, mappedBy = "account")
     private List<OperationEntity> operations;
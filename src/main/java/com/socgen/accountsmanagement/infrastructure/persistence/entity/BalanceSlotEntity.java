@@ -0,0 +1,23 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "account_balance_slot")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class BalanceSlotEntity {
+
+    @EmbeddedId
+    private BalanceSlotKey id;
+
+    private long balance;
+}
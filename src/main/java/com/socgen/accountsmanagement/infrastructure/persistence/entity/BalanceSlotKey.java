@@ -0,0 +1,22 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class BalanceSlotKey implements Serializable {
+
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    private int slot;
+}
@@ -0,0 +1,36 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuid;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "balance_snapshot", indexes = {
+        @Index(name = "idx_balance_snapshot_account_date", columnList = "account_id, date, operation_id")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class BalanceSnapshotEntity {
+
+    @Id
+    @TimeOrderedUuid
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id")
+    private AccountEntity account;
+
+    private long balance;
+    private LocalDateTime date;
+
+    @Column(name = "operation_id")
+    private UUID operationId;
+}
@@ -1,5 +1,6 @@
 package com.socgen.accountsmanagement.infrastructure.persistence.entity;
 
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,7 +18,7 @@ import java.util.UUID;
 public class ClientEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     private String firstName;
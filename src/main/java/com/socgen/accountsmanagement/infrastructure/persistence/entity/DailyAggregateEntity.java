@@ -0,0 +1,27 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "operation_daily_aggregate")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class DailyAggregateEntity {
+
+    @EmbeddedId
+    private DailyAggregateKey id;
+
+    private long total;
+
+    @Column(name = "operation_count")
+    private long count;
+
+    private long minAmount;
+    private long maxAmount;
+}
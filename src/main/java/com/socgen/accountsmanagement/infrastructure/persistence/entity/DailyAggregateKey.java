@@ -0,0 +1,36 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class DailyAggregateKey implements Serializable {
+
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    @Column(name = "operation_day")
+    private LocalDate day;
+
+    @Enumerated(value = EnumType.STRING)
+    private OperationType type;
+
+    /**
+     * Aggregates of an account, day and type are split in slots summed when read,
+     * 0 for the writes serialized by the account lock.
+     */
+    private int slot;
+}
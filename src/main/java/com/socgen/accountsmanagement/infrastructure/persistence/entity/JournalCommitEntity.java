@@ -0,0 +1,29 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Marker of a journaled operation, written by the transaction of the operation.
+ * The journal record of the operation is committed once the marker is, deleted when the operation is drained.
+ */
+@Entity
+@Table(name = "journal_commit")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Data
+public class JournalCommitEntity {
+
+    @Id
+    @Column(name = "operation_id")
+    private UUID operationId;
+}
@@ -1,6 +1,7 @@
 package com.socgen.accountsmanagement.infrastructure.persistence.entity;
 
 import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "operation")
+@Table(name = "operation", indexes = {
+        @Index(name = "idx_operation_account_date_id", columnList = "account_id, date desc, id desc")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -19,15 +22,15 @@ import java.util.UUID;
 public class OperationEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Enumerated(value = EnumType.STRING)
     private OperationType type;
-    private Double amount;
+    private long amount;
     private LocalDateTime date;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id")
     private AccountEntity account;
 }
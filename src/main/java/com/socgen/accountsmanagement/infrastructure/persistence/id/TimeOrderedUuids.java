@@ -0,0 +1,53 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time ordered UUIDs, version 7 layout of RFC 9562:
+ * 48 bits of unix epoch millis, 12 bits counter, 62 random bits.
+ * Ids generated in this JVM are strictly increasing, even within the same millisecond,
+ * so inserts land at the right end of primary key indexes.
+ */
+public final class TimeOrderedUuids {
+
+    private static final int COUNTER_BITS = 12;
+
+    private static final TimeOrderedUuids SHARED = new TimeOrderedUuids();
+
+    /**
+     * Last generated millis and counter, packed as millis << 12 | counter.
+     */
+    private final AtomicLong lastState = new AtomicLong();
+
+    TimeOrderedUuids() {
+    }
+
+    public static UUID next() {
+        return SHARED.generate(System.currentTimeMillis());
+    }
+
+    UUID generate(long epochMillis) {
+        long candidate = epochMillis << COUNTER_BITS;
+        // a counter overflow borrows the next millisecond, a clock going back keeps the last one
+        long state = lastState.updateAndGet(previous -> Math.max(candidate, previous + 1));
+
+        long msb = (state >>> COUNTER_BITS) << 16
+                | 0x7000L
+                | state & 0xFFFL;
+        long lsb = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /**
+     * Creation time of a time ordered UUID.
+     *
+     * @param uuid the uuid
+     * @return the epoch millis
+     */
+    public static long epochMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
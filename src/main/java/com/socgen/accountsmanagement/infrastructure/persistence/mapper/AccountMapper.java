@@ -4,14 +4,22 @@ package com.socgen.accountsmanagement.infrastructure.persistence.mapper;
 import com.socgen.accountsmanagement.domain.Account;
 import com.socgen.accountsmanagement.domain.Client;
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationsView;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.ClientEntity;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import org.hibernate.Hibernate;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+/**
+ * Maps accounts with their operations history.
+ * Operations are mapped once each, with their back-reference set to the mapped account,
+ * so mapping is linear in the history size whatever the operations reference.
+ * Only operations already in memory are mapped: a paged view or a lazy collection is never read.
+ */
 public class AccountMapper {
 
     public static AccountEntity toEntity(Account account) {
@@ -19,18 +27,24 @@ public class AccountMapper {
 
         ClientEntity client = ClientMapper.toEntity(account.getClient());
 
-        List<OperationEntity> operations = Collections.emptyList();
+        List<Operation> loaded = account.getOperations() == null
+                ? Collections.emptyList()
+                : account.getOperations().loaded();
+        List<OperationEntity> operations = loaded.isEmpty()
+                ? Collections.emptyList()
+                : new ArrayList<>(loaded.size());
 
-        if (account.getOperations() != null)
-            operations = account.getOperations().stream().map(OperationMapper::toEntity)
-                    .collect(Collectors.toList());
-
-        return AccountEntity.builder()
+        AccountEntity entity = AccountEntity.builder()
                 .id(account.getId())
                 .client(client)
                 .operations(operations)
                 .balance(account.getBalance())
+                .version(account.getVersion())
                 .build();
+
+        for (Operation operation : loaded)
+            operations.add(OperationMapper.toEntity(operation, entity));
+        return entity;
     }
 
     public static Account fromEntity(AccountEntity account) {
@@ -38,16 +52,55 @@ public class AccountMapper {
 
         Client client = ClientMapper.fromEntity(account.getClient());
 
-        List<Operation> operations = Collections.emptyList();
-        if (account.getOperations() != null)
-            operations = account.getOperations().stream().map(OperationMapper::fromEntity)
-                    .collect(Collectors.toList());
+        // left null when not loaded, the repository attaches a paged view instead
+        boolean loaded = account.getOperations() != null && Hibernate.isInitialized(account.getOperations());
+        List<Operation> operations = loaded
+                ? new ArrayList<>(account.getOperations().size())
+                : Collections.emptyList();
 
-        return Account.builder()
+        Account mapped = Account.builder()
                 .id(account.getId())
                 .client(client)
-                .operations(operations)
+                .operations(loaded ? OperationsView.of(operations) : null)
                 .balance(account.getBalance())
+                .version(account.getVersion())
+                .build();
+
+        if (loaded)
+            for (OperationEntity operation : account.getOperations())
+                operations.add(OperationMapper.fromEntity(operation, mapped));
+        return mapped;
+    }
+
+    /**
+     * Maps the account referenced by an operation, without its client and operations.
+     * The version is kept so the persistence layer sees an existing account.
+     *
+     * @param account the account
+     * @return the account reference
+     */
+    public static AccountEntity toReference(Account account) {
+        if (account == null) return null;
+
+        return AccountEntity.builder()
+                .id(account.getId())
+                .balance(account.getBalance())
+                .version(account.getVersion())
+                .build();
+    }
+
+    /**
+     * Maps the account referenced by an operation, without its client and operations.
+     * Only the id is read, so a lazy account is not loaded.
+     *
+     * @param account the account
+     * @return the account reference
+     */
+    public static Account fromReference(AccountEntity account) {
+        if (account == null) return null;
+
+        return Account.builder()
+                .id(account.getId())
                 .build();
     }
-}
\ No newline at end of file
+}
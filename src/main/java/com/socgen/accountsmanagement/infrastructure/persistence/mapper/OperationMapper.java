@@ -6,31 +6,67 @@ import com.socgen.accountsmanagement.domain.Operation;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
 
-import java.time.LocalDateTime;
-
 public class OperationMapper {
 
+    /**
+     * Maps the operation, its account is mapped as a reference.
+     *
+     * @param operation the operation
+     * @return the operation entity
+     */
     public static OperationEntity toEntity(Operation operation) {
         if (operation == null) return null;
 
-        AccountEntity account = AccountMapper.toEntity(operation.getAccount());
+        return toEntity(operation, AccountMapper.toReference(operation.getAccount()));
+    }
+
+    /**
+     * Maps the operation of a known account, the account is not mapped again.
+     *
+     * @param operation the operation
+     * @param account   the account entity owning the operation
+     * @return the operation entity
+     */
+    public static OperationEntity toEntity(Operation operation, AccountEntity account) {
+        if (operation == null) return null;
+
         return OperationEntity.builder()
+                .id(operation.getId())
                 .amount(operation.getAmount())
-                .date(LocalDateTime.now())
+                .date(operation.getDate())
                 .type(operation.getType())
                 .account(account)
                 .build();
     }
 
-    public static Operation fromEntity(OperationEntity operation) {
+    /**
+     * Maps the operation of a known account, the account is not mapped again.
+     *
+     * @param operation the operation
+     * @param account   the account owning the operation
+     * @return the operation
+     */
+    public static Operation fromEntity(OperationEntity operation, Account account) {
         if (operation == null) return null;
 
-        Account account = AccountMapper.fromEntity(operation.getAccount());
         return Operation.builder()
+                .id(operation.getId())
                 .amount(operation.getAmount())
-                .date(LocalDateTime.now())
+                .date(operation.getDate())
                 .type(operation.getType())
                 .account(account)
                 .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps the operation, its account is mapped as a reference.
+     *
+     * @param operation the operation
+     * @return the operation
+     */
+    public static Operation fromEntity(OperationEntity operation) {
+        if (operation == null) return null;
+
+        return fromEntity(operation, AccountMapper.fromReference(operation.getAccount()));
+    }
+}
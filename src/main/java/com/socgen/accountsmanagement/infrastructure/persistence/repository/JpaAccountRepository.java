@@ -2,35 +2,87 @@ package com.socgen.accountsmanagement.infrastructure.persistence.repository;
 
 import com.socgen.accountsmanagement.domain.Account;
 import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
 import com.socgen.accountsmanagement.infrastructure.persistence.mapper.AccountMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Component
+@Timed("accounts.repository")
 public class JpaAccountRepository implements AccountRepository {
 
     private final SpringDataAccountRepository accountRepository;
 
-    public JpaAccountRepository(final SpringDataAccountRepository accountRepository) {
+    private final OperationsViews operationsViews;
+
+    public JpaAccountRepository(final SpringDataAccountRepository accountRepository,
+                                final OperationsViews operationsViews) {
         this.accountRepository = accountRepository;
+        this.operationsViews = operationsViews;
     }
 
     @Override
     public Account addAccount(Account account) {
-        return AccountMapper.fromEntity(accountRepository.save(AccountMapper.toEntity(account)));
+        Account added = AccountMapper.fromEntity(accountRepository.save(AccountMapper.toEntity(account)));
+        added.setOperations(operationsViews.forAccount(added.getId()));
+        return added;
     }
 
     @Override
+    @Transactional
     public void saveAccount(Account account) {
-        accountRepository.save(AccountMapper.toEntity(account));
+        // update the balance row only, the operations graph is never merged back
+        if (account.getVersion() == null)
+            throw new IllegalArgumentException("Account " + account.getId() + " has no version, it was not read");
+        if (accountRepository.updateBalance(account.getId(), account.getBalance(), account.getVersion()) == 0)
+            throw new ObjectOptimisticLockingFailureException(AccountEntity.class, account.getId());
+
+        account.setVersion(account.getVersion() + 1);
     }
 
     @Override
     public Optional<Account> findAccountById(UUID accountId) {
-        AccountEntity account = accountRepository.findById(accountId).orElse(null);
-        return Optional.ofNullable(AccountMapper.fromEntity(account));
+        return findBalance(accountId);
+    }
+
+    @Override
+    public boolean existsAccount(UUID accountId) {
+        return accountRepository.existsById(accountId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Account> depositToBalance(UUID accountId, long amount) {
+        // the update keeps the row locked until the transaction ends, the read returns the balance it left
+        if (accountRepository.addToBalance(accountId, amount) == 0)
+            return Optional.empty();
+        return findBalance(accountId);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Account> withdrawFromBalance(UUID accountId, long amount) {
+        if (accountRepository.subtractFromBalanceIfCovered(accountId, amount) == 0)
+            return Optional.empty();
+        return findBalance(accountId);
+    }
+
+    private Optional<Account> findBalance(UUID accountId) {
+        return accountRepository.findBalanceById(accountId).map(view -> toAccount(view.getId(), view));
+    }
+
+    private Account toAccount(UUID accountId, SpringDataAccountRepository.BalanceUpdateView view) {
+        return Account.builder()
+                .id(accountId)
+                .balance(view.getBalance())
+                .version(view.getVersion())
+                .operations(operationsViews.forAccount(accountId))
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSlotEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSlotKey;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Timed("accounts.repository")
+public class JpaBalanceSlotRepository implements BalanceSlotRepository {
+
+    private final SpringDataBalanceSlotRepository slotRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaBalanceSlotRepository(final SpringDataBalanceSlotRepository slotRepository) {
+        this.slotRepository = slotRepository;
+    }
+
+    @Override
+    public void addSlots(UUID accountId, int slots) {
+        for (int slot = 0; slot < slots; slot++)
+            entityManager.persist(BalanceSlotEntity.builder().id(new BalanceSlotKey(accountId, slot)).build());
+    }
+
+    @Override
+    public boolean addToSlot(UUID accountId, int slot, long amount) {
+        return slotRepository.addToSlot(accountId, slot, amount) > 0;
+    }
+
+    @Override
+    public boolean existsSlot(UUID accountId, int slot) {
+        return slotRepository.existsById(new BalanceSlotKey(accountId, slot));
+    }
+
+    @Override
+    public Optional<Long> balanceWithSlots(UUID accountId) {
+        return slotRepository.balanceWithSlots(accountId);
+    }
+
+    @Override
+    public long drainSlots(UUID accountId) {
+        // slots are locked in slot order, the emptied balances are flushed with the transaction
+        List<BalanceSlotEntity> slots = slotRepository.findAllForUpdate(accountId);
+        long drained = 0;
+        for (BalanceSlotEntity slot : slots) {
+            drained = Math.addExact(drained, slot.getBalance());
+            slot.setBalance(0);
+        }
+        return drained;
+    }
+
+    @Override
+    public Map<UUID, Integer> slotCounts() {
+        Map<UUID, Integer> counts = new HashMap<>();
+        slotRepository.countSlots().forEach(view -> counts.put(view.getAccountId(), (int) view.getSlots()));
+        return counts;
+    }
+}
@@ -0,0 +1,43 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import com.socgen.accountsmanagement.domain.repository.BalanceSnapshotRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSnapshotEntity;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@Timed("accounts.repository")
+public class JpaBalanceSnapshotRepository implements BalanceSnapshotRepository {
+
+    private final SpringDataBalanceSnapshotRepository snapshotRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaBalanceSnapshotRepository(final SpringDataBalanceSnapshotRepository snapshotRepository) {
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    @Override
+    public void addSnapshot(BalanceSnapshot snapshot) {
+        snapshotRepository.save(BalanceSnapshotEntity.builder()
+                .account(entityManager.getReference(AccountEntity.class, snapshot.getAccountId()))
+                .balance(snapshot.getBalance())
+                .date(snapshot.getDate())
+                .operationId(snapshot.getOperationId())
+                .build());
+    }
+
+    @Override
+    public Optional<Long> balanceAsOf(UUID accountId, LocalDateTime date) {
+        return snapshotRepository.balanceAsOf(accountId, date);
+    }
+}
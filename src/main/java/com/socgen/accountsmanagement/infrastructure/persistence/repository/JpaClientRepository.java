@@ -3,9 +3,11 @@ package com.socgen.accountsmanagement.infrastructure.persistence.repository;
 import com.socgen.accountsmanagement.domain.Client;
 import com.socgen.accountsmanagement.domain.repository.ClientRepository;
 import com.socgen.accountsmanagement.infrastructure.persistence.mapper.ClientMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 
 @Component
+@Timed("accounts.repository")
 public class JpaClientRepository implements ClientRepository {
 
     private final SpringDataClientRepository clientRepository;
@@ -0,0 +1,105 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.repository.DailyAggregateRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.DailyAggregateEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.DailyAggregateKey;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@Timed("accounts.repository")
+public class JpaDailyAggregateRepository implements DailyAggregateRepository {
+
+    private final SpringDataDailyAggregateRepository aggregateRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaDailyAggregateRepository(final SpringDataDailyAggregateRepository aggregateRepository) {
+        this.aggregateRepository = aggregateRepository;
+    }
+
+    @Override
+    public void addOperations(List<Operation> operations, int slot) {
+        // one statement per account, day and type, whatever the number of operations
+        Map<DailyAggregateKey, DailyAggregateEntity> increments = new LinkedHashMap<>();
+        for (Operation operation : operations) {
+            DailyAggregateKey key = new DailyAggregateKey(operation.getAccount().getId(),
+                    operation.getDate().toLocalDate(), operation.getType(), slot);
+            DailyAggregateEntity increment = increments.computeIfAbsent(key, k -> DailyAggregateEntity.builder()
+                    .id(k)
+                    .minAmount(Long.MAX_VALUE)
+                    .maxAmount(Long.MIN_VALUE)
+                    .build());
+
+            increment.setTotal(Math.addExact(increment.getTotal(), operation.getAmount()));
+            increment.setCount(increment.getCount() + 1);
+            increment.setMinAmount(Math.min(increment.getMinAmount(), operation.getAmount()));
+            increment.setMaxAmount(Math.max(increment.getMaxAmount(), operation.getAmount()));
+        }
+
+        for (DailyAggregateEntity increment : increments.values()) {
+            if (increment(increment) > 0) continue;
+
+            // first operation of the day: the aggregate row is the only one locked, whatever the locks
+            // of the caller, a concurrent writer inserting it first makes this transaction conflict
+            insertIfAbsent(increment.getId());
+            increment(increment);
+        }
+    }
+
+    private void insertIfAbsent(DailyAggregateKey key) {
+        try {
+            aggregateRepository.insertIfAbsent(key.getAccountId(), key.getDay(), key.getType().name(), key.getSlot());
+        } catch (DataIntegrityViolationException e) {
+            throw new OptimisticLockingFailureException("Daily aggregate " + key + " inserted concurrently", e);
+        }
+    }
+
+    private int increment(DailyAggregateEntity increment) {
+        DailyAggregateKey key = increment.getId();
+        return aggregateRepository.increment(key.getAccountId(), key.getDay(), key.getType(), key.getSlot(),
+                increment.getTotal(), increment.getCount(), increment.getMinAmount(), increment.getMaxAmount());
+    }
+
+    @Override
+    public List<DailyAggregate> findDailyAggregates(UUID accountId, LocalDate from, LocalDate to) {
+        return aggregateRepository.findBetween(accountId, from, to).stream()
+                .map(aggregate -> DailyAggregate.builder()
+                        .accountId(accountId)
+                        .day(aggregate.getDay())
+                        .type(aggregate.getType())
+                        .total(aggregate.getTotal())
+                        .count(aggregate.getCount())
+                        .minAmount(aggregate.getMinAmount())
+                        .maxAmount(aggregate.getMaxAmount())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Recompute all the aggregates from the operations with a single insert-select.
+     * Meant for backfills, while no operation is written.
+     *
+     * @return the number of aggregates
+     */
+    @Transactional
+    public int rebuild() {
+        aggregateRepository.deleteAllAggregates();
+        entityManager.clear();
+        return aggregateRepository.insertAggregatesFromOperations();
+    }
+}
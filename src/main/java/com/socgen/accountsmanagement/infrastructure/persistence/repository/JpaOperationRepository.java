@@ -1,30 +1,157 @@
 package com.socgen.accountsmanagement.infrastructure.persistence.repository;
 
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.Account;
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
 import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
 import com.socgen.accountsmanagement.infrastructure.persistence.mapper.OperationMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Component
+@Timed("accounts.repository")
 public class JpaOperationRepository implements OperationRepository {
 
     private final SpringDataOperationRepository operationRepository;
 
-    public JpaOperationRepository(final SpringDataOperationRepository repository) {
+    private final int exportFetchSize;
+
+    // null when metrics are disabled
+    private final Timer toEntityTimer;
+
+    private final Timer fromEntityTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public JpaOperationRepository(final SpringDataOperationRepository repository, final AccountsProperties properties,
+                                  final MeterRegistry meterRegistry) {
         this.operationRepository = repository;
+        this.exportFetchSize = properties.getOperations().getHistory().getExportFetchSize();
+        this.toEntityTimer = properties.getMetrics().isEnabled() ? mapperTimer(meterRegistry, "to_entity") : null;
+        this.fromEntityTimer = properties.getMetrics().isEnabled() ? mapperTimer(meterRegistry, "from_entity") : null;
     }
 
-
     @Override
     public void addOperation(Operation operation) {
-        operationRepository.save(OperationMapper.toEntity(operation));
+        OperationEntity saved = operationRepository.save(timed(toEntityTimer, () -> OperationMapper.toEntity(operation)));
+        stored(operation, saved);
+    }
+
+    @Override
+    public void addOperations(List<Operation> operations) {
+        // ids are generated in memory, inserts are only sent at flush in JDBC batches
+        List<OperationEntity> entities = timed(toEntityTimer, () -> operations.stream().map(OperationMapper::toEntity).toList());
+        List<OperationEntity> saved = operationRepository.saveAll(entities);
+        for (int i = 0; i < operations.size(); i++)
+            stored(operations.get(i), saved.get(i));
+    }
+
+    /**
+     * Insert operations having their id assigned, skipping the ones already inserted,
+     * so a batch replayed after a crash is not inserted twice.
+     * A stateless session on the transaction connection inserts them in JDBC batches,
+     * without the persistence context treating the assigned ids as detached entities.
+     *
+     * @param operations the operations
+     */
+    @Transactional
+    public void insertOperations(List<Operation> operations) {
+        Set<UUID> inserted = new HashSet<>(operationRepository.findExistingIds(
+                operations.stream().map(Operation::getId).toList()));
+
+        Session session = entityManager.unwrap(Session.class);
+        session.doWork(connection -> {
+            try (StatelessSession statelessSession = session.getSessionFactory()
+                    .withStatelessOptions()
+                    .connection(connection)
+                    .openStatelessSession()) {
+                for (Operation operation : operations) {
+                    if (inserted.contains(operation.getId())) continue;
+
+                    statelessSession.insert(OperationEntity.builder()
+                            .id(operation.getId())
+                            .type(operation.getType())
+                            .amount(operation.getAmount())
+                            .date(operation.getDate())
+                            .account(session.getReference(AccountEntity.class, operation.getAccount().getId()))
+                            .build());
+                }
+            }
+        });
     }
 
     @Override
-    public List<Operation> operationsHistory(UUID accountId) {
-        return null;
+    public List<Operation> operationsHistory(UUID accountId, OperationCursor after, int limit) {
+        Pageable page = PageRequest.ofSize(limit);
+        List<OperationEntity> operations = after == null
+                ? operationRepository.findLatest(accountId, page)
+                : operationRepository.findLatestBefore(accountId, after.getDate(), after.getId(), page);
+
+        Account account = Account.builder().id(accountId).build();
+        return timed(fromEntityTimer, () -> operations.stream()
+                .map(operation -> OperationMapper.fromEntity(operation, account))
+                .toList());
+    }
+
+    @Override
+    public void forEachOperation(UUID accountId, Consumer<Operation> consumer) {
+        Account account = Account.builder().id(accountId).build();
+
+        try (Stream<OperationEntity> operations = entityManager
+                .createQuery("select o from OperationEntity o where o.account.id = :accountId " +
+                        "order by o.date, o.id", OperationEntity.class)
+                .setParameter("accountId", accountId)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            operations.forEach(operation -> {
+                consumer.accept(OperationMapper.fromEntity(operation, account));
+                // keep the persistence context empty whatever the history length
+                entityManager.detach(operation);
+            });
+        }
+    }
+
+    private static Timer mapperTimer(MeterRegistry meterRegistry, String direction) {
+        return Timer.builder("accounts.mapper")
+                .description("Time mapping operations, per mapped call or page")
+                .tag("mapper", "operation")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> mapping) {
+        return timer == null ? mapping.get() : timer.record(mapping);
+    }
+
+    /**
+     * Report the generated id and the stored date, which locate the operation in the history.
+     */
+    private static void stored(Operation operation, OperationEntity entity) {
+        operation.setId(entity.getId());
+        operation.setDate(entity.getDate());
     }
-}
\ No newline at end of file
+}
@@ -3,10 +3,86 @@ package com.socgen.accountsmanagement.infrastructure.persistence.repository;
 
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SpringDataAccountRepository extends JpaRepository<AccountEntity, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Sets the balance if the version is still the expected one.
+     *
+     * @return the updated rows, 0 if the account does not exist or its version changed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update AccountEntity a set a.balance = :balance, a.version = a.version + 1 " +
+            "where a.id = :id and a.version = :version")
+    int updateBalance(@Param("id") UUID id, @Param("balance") long balance, @Param("version") long version);
+
+    /**
+     * Sets the balance and version kept by another store, such as the off-heap one.
+     *
+     * @return the updated rows, 0 if the account does not exist
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "update account set balance = :balance, version = :version where id = :id")
+    int writeBackBalance(@Param("id") UUID id, @Param("balance") long balance, @Param("version") long version);
+
+    /**
+     * Adds the amount to the balance unless it would overflow.
+     *
+     * @return the updated rows, 0 if the account does not exist or its balance would overflow
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update AccountEntity a set a.balance = a.balance + :amount, a.version = a.version + 1 " +
+            "where a.id = :id and a.balance <= 9223372036854775807L - :amount")
+    int addToBalance(@Param("id") UUID id, @Param("amount") long amount);
+
+    /**
+     * Subtracts the amount from the balance when the balance covers it.
+     *
+     * @return the updated rows, 0 if the account does not exist or its balance is insufficient
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update AccountEntity a set a.balance = a.balance - :amount, a.version = a.version + 1 " +
+            "where a.id = :id and a.balance >= :amount")
+    int subtractFromBalanceIfCovered(@Param("id") UUID id, @Param("amount") long amount);
+
+    @Query("select a.id as id, a.balance as balance, a.version as version from AccountEntity a where a.id = :id")
+    Optional<AccountBalanceView> findBalanceById(@Param("id") UUID id);
+
+    @Query("select a.id as id, a.balance as balance, a.version as version, a.client.id as clientId " +
+            "from AccountEntity a where a.id = :id")
+    Optional<AccountRecordView> findRecordById(@Param("id") UUID id);
+
+    /**
+     * Balance and version of an account.
+     */
+    interface BalanceUpdateView {
+
+        long getBalance();
+
+        Long getVersion();
+    }
+
+    /**
+     * Balance state of an account, without its client and operations.
+     */
+    interface AccountBalanceView extends BalanceUpdateView {
+
+        UUID getId();
+    }
+
+    /**
+     * Balance state of an account and the id of its client.
+     */
+    interface AccountRecordView extends AccountBalanceView {
+
+        UUID getClientId();
+    }
+}
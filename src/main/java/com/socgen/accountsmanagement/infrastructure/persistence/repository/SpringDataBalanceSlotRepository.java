@@ -0,0 +1,51 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSlotEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSlotKey;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataBalanceSlotRepository extends JpaRepository<BalanceSlotEntity, BalanceSlotKey> {
+
+    /**
+     * Add the amount to the slot unless the balance of the account plus its slots would overflow.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update BalanceSlotEntity s set s.balance = s.balance + :amount " +
+            "where s.id.accountId = :accountId and s.id.slot = :slot " +
+            "and (select a.balance from AccountEntity a where a.id = :accountId) " +
+            "+ (select sum(o.balance) from BalanceSlotEntity o where o.id.accountId = :accountId) " +
+            "<= 9223372036854775807L - :amount")
+    int addToSlot(@Param("accountId") UUID accountId, @Param("slot") int slot, @Param("amount") long amount);
+
+    @Query("select a.balance + coalesce((select sum(s.balance) from BalanceSlotEntity s " +
+            "where s.id.accountId = a.id), 0) from AccountEntity a where a.id = :accountId")
+    Optional<Long> balanceWithSlots(@Param("accountId") UUID accountId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from BalanceSlotEntity s where s.id.accountId = :accountId order by s.id.slot")
+    List<BalanceSlotEntity> findAllForUpdate(@Param("accountId") UUID accountId);
+
+    @Query("select s.id.accountId as accountId, count(s) as slots from BalanceSlotEntity s group by s.id.accountId")
+    List<SlotCountView> countSlots();
+
+    /**
+     * Slots count of an account.
+     */
+    interface SlotCountView {
+
+        UUID getAccountId();
+
+        long getSlots();
+    }
+}
@@ -0,0 +1,38 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataBalanceSnapshotRepository extends JpaRepository<BalanceSnapshotEntity, UUID> {
+
+    String SIGNED_AMOUNT = "case when o.type = 'DEPOSIT' then o.amount else -o.amount end";
+
+    /**
+     * Balance at the end of the date, the snapshot and the operations are read in the same statement
+     * so a concurrent operation is either in both or in none.
+     */
+    @Query(value = "select cast(coalesce(" +
+            "(select s.balance + coalesce((select sum(" + SIGNED_AMOUNT + ") from operation o " +
+            "where o.account_id = s.account_id and o.date <= :date " +
+            "and (o.date > s.date or (o.date = s.date and o.id > s.operation_id))), 0) " +
+            "from balance_snapshot s where s.account_id = :accountId and s.date <= :date " +
+            "order by s.date desc, s.operation_id desc limit 1), " +
+            "(select s.balance - coalesce((select sum(" + SIGNED_AMOUNT + ") from operation o " +
+            "where o.account_id = s.account_id and o.date > :date " +
+            "and (o.date < s.date or (o.date = s.date and o.id <= s.operation_id))), 0) " +
+            "from balance_snapshot s where s.account_id = :accountId and s.date > :date " +
+            "order by s.date, s.operation_id limit 1), " +
+            "(select a.balance + coalesce((select sum(sl.balance) from account_balance_slot sl where sl.account_id = a.id), 0) " +
+            "- coalesce((select sum(" + SIGNED_AMOUNT + ") from operation o where o.account_id = a.id and o.date > :date), 0) " +
+            "from account a where a.id = :accountId)) as bigint)",
+            nativeQuery = true)
+    Optional<Long> balanceAsOf(@Param("accountId") UUID accountId, @Param("date") LocalDateTime date);
+}
@@ -0,0 +1,86 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.DailyAggregateEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.DailyAggregateKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SpringDataDailyAggregateRepository extends JpaRepository<DailyAggregateEntity, DailyAggregateKey> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("update DailyAggregateEntity d set d.total = d.total + :total, d.count = d.count + :count, " +
+            "d.minAmount = least(d.minAmount, :minAmount), d.maxAmount = greatest(d.maxAmount, :maxAmount) " +
+            "where d.id.accountId = :accountId and d.id.day = :day and d.id.type = :type and d.id.slot = :slot")
+    int increment(@Param("accountId") UUID accountId,
+                  @Param("day") LocalDate day,
+                  @Param("type") OperationType type,
+                  @Param("slot") int slot,
+                  @Param("total") long total,
+                  @Param("count") long count,
+                  @Param("minAmount") long minAmount,
+                  @Param("maxAmount") long maxAmount);
+
+    /**
+     * Insert an empty aggregate unless it exists, to be incremented next.
+     * An aggregate inserted by a concurrent transaction makes the insert wait for its commit
+     * and fail with a duplicate key.
+     *
+     * @return the number of inserted aggregates
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into operation_daily_aggregate " +
+            "(account_id, operation_day, type, slot, total, operation_count, min_amount, max_amount) " +
+            "select :accountId, :day, :type, :slot, 0, 0, 9223372036854775807, -9223372036854775808 " +
+            "where not exists (select 1 from operation_daily_aggregate where account_id = :accountId " +
+            "and operation_day = :day and type = :type and slot = :slot)", nativeQuery = true)
+    int insertIfAbsent(@Param("accountId") UUID accountId,
+                       @Param("day") LocalDate day,
+                       @Param("type") String type,
+                       @Param("slot") int slot);
+
+    @Query("select d.id.day as day, d.id.type as type, sum(d.total) as total, sum(d.count) as count, " +
+            "min(d.minAmount) as minAmount, max(d.maxAmount) as maxAmount " +
+            "from DailyAggregateEntity d where d.id.accountId = :accountId and d.id.day between :from and :to " +
+            "group by d.id.day, d.id.type order by d.id.day, d.id.type")
+    List<DailyAggregateView> findBetween(@Param("accountId") UUID accountId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    @Modifying
+    @Query(value = "delete from operation_daily_aggregate", nativeQuery = true)
+    int deleteAllAggregates();
+
+    @Modifying
+    @Query(value = "insert into operation_daily_aggregate " +
+            "(account_id, operation_day, type, slot, total, operation_count, min_amount, max_amount) " +
+            "select account_id, cast(date as date), type, 0, sum(amount), count(*), min(amount), max(amount) " +
+            "from operation group by account_id, cast(date as date), type", nativeQuery = true)
+    int insertAggregatesFromOperations();
+
+    /**
+     * Aggregate of an account, day and type, summed over its slots.
+     */
+    interface DailyAggregateView {
+
+        LocalDate getDay();
+
+        OperationType getType();
+
+        long getTotal();
+
+        long getCount();
+
+        long getMinAmount();
+
+        long getMaxAmount();
+    }
+}
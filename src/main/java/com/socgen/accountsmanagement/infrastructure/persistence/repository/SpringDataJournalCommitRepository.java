@@ -0,0 +1,21 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.JournalCommitEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface SpringDataJournalCommitRepository extends JpaRepository<JournalCommitEntity, UUID> {
+
+    /**
+     * Inserts the marker without reading it first, as saving an entity with an assigned id would.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into journal_commit (operation_id) values (:operationId)")
+    void insert(@Param("operationId") UUID operationId);
+}
@@ -2,11 +2,32 @@ package com.socgen.accountsmanagement.infrastructure.persistence.repository;
 
 
 import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface SpringDataOperationRepository extends JpaRepository<OperationEntity, UUID> {
-}
\ No newline at end of file
+
+    @Query("select o.id from OperationEntity o where o.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select o from OperationEntity o where o.account.id = :accountId " +
+            "order by o.date desc, o.id desc")
+    List<OperationEntity> findLatest(@Param("accountId") UUID accountId, Pageable page);
+
+    @Query("select o from OperationEntity o where o.account.id = :accountId " +
+            "and (o.date < :date or (o.date = :date and o.id < :id)) " +
+            "order by o.date desc, o.id desc")
+    List<OperationEntity> findLatestBefore(@Param("accountId") UUID accountId,
+                                           @Param("date") LocalDateTime date,
+                                           @Param("id") UUID id,
+                                           Pageable page);
+}
@@ -0,0 +1,84 @@
+package com.socgen.accountsmanagement.infrastructure.r2dbc;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import com.socgen.accountsmanagement.domain.repository.ReactiveAccountRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Account repository over R2DBC, reading and writing the tables mapped by the JPA entities.
+ */
+public class R2dbcAccountRepository implements ReactiveAccountRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcAccountRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Account> findAccountById(UUID accountId) {
+        return databaseClient.sql("select id, balance, version from account where id = :id")
+                .bind("id", accountId)
+                .map((row, metadata) -> Account.builder()
+                        .id(row.get("id", UUID.class))
+                        .balance(row.get("balance", Long.class))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .one();
+    }
+
+    @Override
+    public Mono<Boolean> existsAccount(UUID accountId) {
+        return databaseClient.sql("select 1 from account where id = :id")
+                .bind("id", accountId)
+                .fetch()
+                .first()
+                .hasElement();
+    }
+
+    @Override
+    public Mono<Account> depositToBalance(UUID accountId, long amount) {
+        return updateBalance(accountId, amount, "update account set balance = balance + :amount, version = version + 1 " +
+                "where id = :id and balance <= 9223372036854775807 - :amount");
+    }
+
+    @Override
+    public Mono<Account> withdrawFromBalance(UUID accountId, long amount) {
+        return updateBalance(accountId, amount, "update account set balance = balance - :amount, version = version + 1 " +
+                "where id = :id and balance >= :amount");
+    }
+
+    @Override
+    public Mono<Void> addSnapshot(BalanceSnapshot snapshot) {
+        return databaseClient.sql("insert into balance_snapshot (id, account_id, balance, date, operation_id) " +
+                        "values (:id, :accountId, :balance, :date, :operationId)")
+                .bind("id", TimeOrderedUuids.next())
+                .bind("accountId", snapshot.getAccountId())
+                .bind("balance", snapshot.getBalance())
+                .bind("date", snapshot.getDate())
+                .bind("operationId", snapshot.getOperationId())
+                .then();
+    }
+
+    /**
+     * Runs the conditional update and reads the updated row from the update itself.
+     *
+     * @return the updated account, empty if the account does not exist or the condition is not met
+     */
+    private Mono<Account> updateBalance(UUID accountId, long amount, String update) {
+        return databaseClient.sql("select balance, version from final table (" + update + ")")
+                .bind("amount", amount)
+                .bind("id", accountId)
+                .map((row, metadata) -> Account.builder()
+                        .id(accountId)
+                        .balance(row.get("balance", Long.class))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .one();
+    }
+}
@@ -0,0 +1,82 @@
+package com.socgen.accountsmanagement.infrastructure.r2dbc;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsSettings;
+import com.socgen.accountsmanagement.domain.service.BalanceSnapshots;
+import com.socgen.accountsmanagement.domain.service.HotAccounts;
+import com.socgen.accountsmanagement.domain.service.ReactiveAccountOperationsService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Reactive operations over R2DBC, enabled with {@code accounts.reactive.enabled}.
+ * Not to be combined with hot accounts, whose balance slots the reactive service ignores.
+ * <p>
+ * The connection pool and its transaction manager are kept out of the context:
+ * a connection factory or reactive transaction manager bean would make the data source
+ * and JPA transaction manager auto-configurations back off.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accounts.reactive", name = "enabled", havingValue = "true")
+public class R2dbcConfiguration implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfiguration(AccountsProperties properties) {
+        AccountsProperties.Reactive reactive = properties.getReactive();
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(reactive.getUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, reactive.getUsername())
+                .option(ConnectionFactoryOptions.PASSWORD, reactive.getPassword())
+                .build();
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(reactive.getPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient r2dbcDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Bean
+    public R2dbcAccountRepository r2dbcAccountRepository(DatabaseClient r2dbcDatabaseClient) {
+        return new R2dbcAccountRepository(r2dbcDatabaseClient);
+    }
+
+    @Bean
+    public R2dbcOperationRepository r2dbcOperationRepository(DatabaseClient r2dbcDatabaseClient) {
+        return new R2dbcOperationRepository(r2dbcDatabaseClient);
+    }
+
+    @Bean
+    public ReactiveAccountOperationsService reactiveAccountOperationsService(
+            R2dbcAccountRepository r2dbcAccountRepository, R2dbcOperationRepository r2dbcOperationRepository,
+            AccountOperationsSettings accountOperationsSettings, BalanceSnapshots balanceSnapshots,
+            AccountRepository accountRepository, AccountsProperties properties, HotAccounts hotAccounts) {
+        // accounts promoted by a previous run stay hot
+        if (properties.getHotAccounts().isEnabled() || hotAccounts.count() > 0)
+            throw new IllegalStateException("The reactive service requires accounts.hot-accounts.enabled=false "
+                    + "and no hot account");
+
+        TransactionalOperator transactionalOperator =
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+        return new ReactiveAccountOperationsService(r2dbcAccountRepository, r2dbcOperationRepository,
+                transactionalOperator, accountOperationsSettings, balanceSnapshots, accountRepository);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
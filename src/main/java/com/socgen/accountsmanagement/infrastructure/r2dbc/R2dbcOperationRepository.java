@@ -0,0 +1,90 @@
+package com.socgen.accountsmanagement.infrastructure.r2dbc;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.repository.ReactiveOperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.id.TimeOrderedUuids;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Operation repository over R2DBC, reading and writing the tables mapped by the JPA entities.
+ */
+public class R2dbcOperationRepository implements ReactiveOperationRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcOperationRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Operation> addOperation(Operation operation) {
+        if (operation.getId() == null)
+            operation.setId(TimeOrderedUuids.next());
+
+        Mono<Void> insert = databaseClient.sql("insert into operation (id, type, amount, date, account_id) " +
+                        "values (:id, :type, :amount, :date, :accountId)")
+                .bind("id", operation.getId())
+                .bind("type", operation.getType().name())
+                .bind("amount", operation.getAmount())
+                .bind("date", operation.getDate())
+                .bind("accountId", operation.getAccount().getId())
+                .then();
+        return insert.then(addToDailyAggregate(operation)).thenReturn(operation);
+    }
+
+    @Override
+    public Flux<Operation> operationsHistory(UUID accountId, OperationCursor after, int limit) {
+        DatabaseClient.GenericExecuteSpec select = after == null
+                ? databaseClient.sql("select id, type, amount, date from operation where account_id = :accountId " +
+                "order by date desc, id desc limit :limit")
+                : databaseClient.sql("select id, type, amount, date from operation where account_id = :accountId " +
+                        "and (date < :date or (date = :date and id < :id)) " +
+                        "order by date desc, id desc limit :limit")
+                .bind("date", after.getDate())
+                .bind("id", after.getId());
+
+        Account account = Account.builder().id(accountId).build();
+        return select.bind("accountId", accountId)
+                .bind("limit", limit)
+                .map((row, metadata) -> Operation.builder()
+                        .id(row.get("id", UUID.class))
+                        .type(OperationType.valueOf(row.get("type", String.class)))
+                        .amount(row.get("amount", Long.class))
+                        .date(row.get("date", LocalDateTime.class))
+                        .account(account)
+                        .build())
+                .all();
+    }
+
+    private Mono<Void> addToDailyAggregate(Operation operation) {
+        UUID accountId = operation.getAccount().getId();
+        return databaseClient.sql("update operation_daily_aggregate set total = total + :amount, " +
+                        "operation_count = operation_count + 1, " +
+                        "min_amount = least(min_amount, :amount), max_amount = greatest(max_amount, :amount) " +
+                        "where account_id = :accountId and operation_day = :day and type = :type and slot = 0")
+                .bind("amount", operation.getAmount())
+                .bind("accountId", accountId)
+                .bind("day", operation.getDate().toLocalDate())
+                .bind("type", operation.getType().name())
+                .fetch()
+                .rowsUpdated()
+                // first operation of the day, the account row updated before is locked so no one else inserts it
+                .flatMap(updated -> updated > 0 ? Mono.empty() : databaseClient.sql(
+                                "insert into operation_daily_aggregate " +
+                                        "(account_id, operation_day, type, slot, total, operation_count, min_amount, max_amount) " +
+                                        "values (:accountId, :day, :type, 0, :amount, 1, :amount, :amount)")
+                        .bind("accountId", accountId)
+                        .bind("day", operation.getDate().toLocalDate())
+                        .bind("type", operation.getType().name())
+                        .bind("amount", operation.getAmount())
+                        .then());
+    }
+}
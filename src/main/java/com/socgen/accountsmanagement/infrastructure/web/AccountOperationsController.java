@@ -0,0 +1,55 @@
+package com.socgen.accountsmanagement.infrastructure.web;
+
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.infrastructure.web.dto.AccountResponse;
+import com.socgen.accountsmanagement.infrastructure.web.dto.AmountRequest;
+import com.socgen.accountsmanagement.infrastructure.web.dto.CursorToken;
+import com.socgen.accountsmanagement.infrastructure.web.dto.OperationsPageResponse;
+import com.socgen.accountsmanagement.infrastructure.web.dto.TransferRequest;
+import com.socgen.accountsmanagement.infrastructure.web.dto.TransferResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Account operations over HTTP, amounts are exchanged in major units.
+ */
+@RestController
+@RequestMapping("/accounts/{accountId}")
+public class AccountOperationsController {
+
+    private final AccountOperationsService accountOperationsService;
+
+    public AccountOperationsController(AccountOperationsService accountOperationsService) {
+        this.accountOperationsService = accountOperationsService;
+    }
+
+    @PostMapping("/deposit")
+    public AccountResponse deposit(@PathVariable UUID accountId, @RequestBody AmountRequest request) {
+        return AccountResponse.of(accountOperationsService.deposit(accountId, request.minorAmount()));
+    }
+
+    @PostMapping("/withdraw")
+    public AccountResponse withdraw(@PathVariable UUID accountId, @RequestBody AmountRequest request) {
+        return AccountResponse.of(accountOperationsService.withdraw(accountId, request.minorAmount()));
+    }
+
+    @PostMapping("/transfer")
+    public TransferResponse transfer(@PathVariable UUID accountId, @RequestBody TransferRequest request) {
+        return TransferResponse.of(
+                accountOperationsService.transfer(accountId, request.requiredToAccountId(), request.minorAmount()));
+    }
+
+    @GetMapping("/balance")
+    public AccountResponse balance(@PathVariable UUID accountId) {
+        return AccountResponse.of(accountOperationsService.findAccount(accountId));
+    }
+
+    @GetMapping("/operations")
+    public OperationsPageResponse operations(@PathVariable UUID accountId,
+                                             @RequestParam(name = "cursor", required = false) String cursor,
+                                             @RequestParam(name = "size", defaultValue = "0") int size) {
+        return OperationsPageResponse.of(
+                accountOperationsService.operationsHistory(accountId, CursorToken.decode(cursor), size));
+    }
+}
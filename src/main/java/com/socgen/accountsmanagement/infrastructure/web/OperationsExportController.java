@@ -0,0 +1,59 @@
+package com.socgen.accountsmanagement.infrastructure.web;
+
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.infrastructure.web.export.ExportFormat;
+import com.socgen.accountsmanagement.infrastructure.web.export.OperationsExportWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Streams the operations history of an account straight to the response.
+ */
+@RestController
+@RequestMapping("/accounts/{accountId}/operations/export")
+public class OperationsExportController {
+
+    private final AccountOperationsService accountOperationsService;
+
+    public OperationsExportController(AccountOperationsService accountOperationsService) {
+        this.accountOperationsService = accountOperationsService;
+    }
+
+    @GetMapping
+    public void export(@PathVariable UUID accountId,
+                       @RequestParam(name = "format", defaultValue = "ndjson") String formatName,
+                       HttpServletResponse response) throws IOException {
+        // parameters are validated before the response is started, later failures cannot change its status
+        ExportFormat format = ExportFormat.fromName(formatName);
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"operations-" + accountId + "." + format.name().toLowerCase() + "\"");
+
+        OperationsExportWriter writer = new OperationsExportWriter(format,
+                new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)));
+        accountOperationsService.exportOperationsHistory(accountId, writer);
+        writer.finish();
+    }
+
+    @ExceptionHandler(AccountNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public void accountNotFound() {
+        // the account is checked before anything is written
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public void unknownFormat() {
+        // only the export formats are parsed before writing
+    }
+}
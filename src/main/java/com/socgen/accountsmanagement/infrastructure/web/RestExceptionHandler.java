@@ -0,0 +1,50 @@
+package com.socgen.accountsmanagement.infrastructure.web;
+
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import com.socgen.accountsmanagement.infrastructure.web.dto.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the domain exceptions to HTTP statuses.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(AccountNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ErrorResponse accountNotFound(AccountNotFoundException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler(InsufficientFundException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponse insufficientFund(InsufficientFundException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler(BalanceOverflowException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorResponse balanceOverflow(BalanceOverflowException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse invalidRequest(ValidationException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse conflict() {
+        // retries are exhausted, the client may try again
+        return new ErrorResponse("Account updated concurrently");
+    }
+}
@@ -0,0 +1,24 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Money;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+@Builder
+public class AccountResponse {
+
+    UUID id;
+    BigDecimal balance;
+
+    public static AccountResponse of(Account account) {
+        return AccountResponse.builder()
+                .id(account.getId())
+                .balance(Money.toMajor(account.getBalance()))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Amount of a deposit or a withdrawal, in major units.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmountRequest {
+
+    private BigDecimal amount;
+
+    /**
+     * The amount in minor units.
+     *
+     * @return the amount
+     * @throws ValidationException if the amount is missing, not positive or not representable
+     */
+    public long minorAmount() {
+        return minorAmount(amount);
+    }
+
+    static long minorAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0)
+            throw new ValidationException("Amount must be positive");
+        try {
+            return Money.ofMajor(amount);
+        } catch (ArithmeticException e) {
+            throw new ValidationException("Amount has too many decimals or is too large", e);
+        }
+    }
+}
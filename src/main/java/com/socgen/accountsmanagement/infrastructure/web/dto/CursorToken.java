@@ -0,0 +1,52 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque form of a history cursor exchanged with clients.
+ */
+public final class CursorToken {
+
+    private CursorToken() {
+    }
+
+    public static String encode(OperationCursor cursor) {
+        String raw = cursor.getDate() + "|" + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token.
+     *
+     * @param token the token, may be null
+     * @return the cursor, null when no token is given
+     * @throws ValidationException if the token is malformed
+     */
+    public static OperationCursor decode(String token) {
+        if (token == null || token.isEmpty()) return null;
+
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Malformed cursor", e);
+        }
+
+        int separator = raw.indexOf('|');
+        if (separator < 0)
+            throw new ValidationException("Malformed cursor");
+        try {
+            return new OperationCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new ValidationException("Malformed cursor", e);
+        }
+    }
+}
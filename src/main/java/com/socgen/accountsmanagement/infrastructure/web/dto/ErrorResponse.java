@@ -0,0 +1,9 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import lombok.Value;
+
+@Value
+public class ErrorResponse {
+
+    String message;
+}
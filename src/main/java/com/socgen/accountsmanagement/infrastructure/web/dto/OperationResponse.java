@@ -0,0 +1,30 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class OperationResponse {
+
+    UUID id;
+    OperationType type;
+    BigDecimal amount;
+    LocalDateTime date;
+
+    public static OperationResponse of(Operation operation) {
+        return OperationResponse.builder()
+                .id(operation.getId())
+                .type(operation.getType())
+                .amount(Money.toMajor(operation.getAmount()))
+                .date(operation.getDate())
+                .build();
+    }
+}
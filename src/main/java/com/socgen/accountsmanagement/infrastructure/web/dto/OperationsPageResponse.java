@@ -0,0 +1,26 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class OperationsPageResponse {
+
+    List<OperationResponse> operations;
+
+    /**
+     * Cursor of the next page, null on the last page.
+     */
+    String next;
+
+    public static OperationsPageResponse of(OperationsPage page) {
+        return OperationsPageResponse.builder()
+                .operations(page.getOperations().stream().map(OperationResponse::of).toList())
+                .next(page.getNext() == null ? null : CursorToken.encode(page.getNext()))
+                .build();
+    }
+}
@@ -0,0 +1,44 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Transfer to another account, amount in major units.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequest {
+
+    private UUID toAccountId;
+
+    private BigDecimal amount;
+
+    /**
+     * The credited account id.
+     *
+     * @return the account id
+     * @throws ValidationException if the account id is missing
+     */
+    public UUID requiredToAccountId() {
+        if (toAccountId == null)
+            throw new ValidationException("Credited account is required");
+        return toAccountId;
+    }
+
+    /**
+     * The amount in minor units.
+     *
+     * @return the amount
+     * @throws ValidationException if the amount is missing, not positive or not representable
+     */
+    public long minorAmount() {
+        return AmountRequest.minorAmount(amount);
+    }
+}
@@ -0,0 +1,25 @@
+package com.socgen.accountsmanagement.infrastructure.web.dto;
+
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Transfer;
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+@Builder
+public class TransferResponse {
+
+    AccountResponse from;
+    AccountResponse to;
+    BigDecimal amount;
+
+    public static TransferResponse of(Transfer transfer) {
+        return TransferResponse.builder()
+                .from(AccountResponse.of(transfer.getFrom()))
+                .to(AccountResponse.of(transfer.getTo()))
+                .amount(Money.toMajor(transfer.getAmount()))
+                .build();
+    }
+}
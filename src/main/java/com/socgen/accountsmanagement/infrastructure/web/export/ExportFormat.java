@@ -0,0 +1,75 @@
+package com.socgen.accountsmanagement.infrastructure.web.export;
+
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Formats of the operations history export.
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+            // no header, one JSON document per line
+        }
+
+        @Override
+        void write(Writer writer, Operation operation) throws IOException {
+            writer.append("{\"id\":\"").append(String.valueOf(operation.getId()))
+                    .append("\",\"type\":\"").append(operation.getType().name())
+                    .append("\",\"amount\":").append(Money.toMajor(operation.getAmount()).toPlainString())
+                    .append(",\"date\":\"").append(String.valueOf(operation.getDate()))
+                    .append("\"}\n");
+        }
+    },
+
+    CSV("text/csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.append("id,type,amount,date\n");
+        }
+
+        @Override
+        void write(Writer writer, Operation operation) throws IOException {
+            writer.append(String.valueOf(operation.getId())).append(',')
+                    .append(operation.getType().name()).append(',')
+                    .append(Money.toMajor(operation.getAmount()).toPlainString()).append(',')
+                    .append(String.valueOf(operation.getDate())).append('\n');
+        }
+    };
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Format of the given name, ignoring case.
+     *
+     * @param name the format name
+     * @return the format
+     * @throws ValidationException if the format is unknown
+     */
+    public static ExportFormat fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unknown export format " + name, e);
+        }
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void write(Writer writer, Operation operation) throws IOException;
+}
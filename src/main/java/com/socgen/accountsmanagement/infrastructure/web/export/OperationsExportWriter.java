@@ -0,0 +1,50 @@
+package com.socgen.accountsmanagement.infrastructure.web.export;
+
+import com.socgen.accountsmanagement.domain.Operation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported operations one at a time, nothing is buffered beyond the writer buffer.
+ */
+public class OperationsExportWriter implements Consumer<Operation> {
+
+    private final ExportFormat format;
+
+    private final Writer writer;
+
+    private boolean headerWritten;
+
+    public OperationsExportWriter(ExportFormat format, Writer writer) {
+        this.format = format;
+        this.writer = writer;
+    }
+
+    @Override
+    public void accept(Operation operation) {
+        try {
+            writeHeader();
+            format.write(writer, operation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the header if not written yet, then flush.
+     */
+    public void finish() throws IOException {
+        writeHeader();
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        if (headerWritten) return;
+
+        format.writeHeader(writer);
+        headerWritten = true;
+    }
+}
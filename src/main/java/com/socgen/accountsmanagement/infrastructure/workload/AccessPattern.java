@@ -0,0 +1,10 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+/**
+ * Distributions of the accesses over the accounts, see {@link AccountDistribution}.
+ */
+public enum AccessPattern {
+    UNIFORM,
+    ZIPF,
+    HOT_SPOT
+}
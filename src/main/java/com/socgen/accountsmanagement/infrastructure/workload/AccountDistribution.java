@@ -0,0 +1,44 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of the accesses over the accounts, drawing account indexes from 0 to the number of accounts.
+ */
+@FunctionalInterface
+public interface AccountDistribution {
+
+    /**
+     * Draws the index of the next account accessed.
+     *
+     * @param random the random of the calling thread
+     * @return the account index
+     */
+    int next(ThreadLocalRandom random);
+
+    static AccountDistribution uniform(int accounts) {
+        return random -> random.nextInt(accounts);
+    }
+
+    /**
+     * Zipf distribution, the account of rank k being accessed in proportion to 1 / k^exponent.
+     */
+    static AccountDistribution zipf(int accounts, double exponent) {
+        ZipfDistribution zipf = new ZipfDistribution(accounts, exponent);
+        return random -> zipf.sample(random) - 1;
+    }
+
+    /**
+     * A fraction of hot accounts receiving a fraction of the accesses, the other accounts sharing the rest uniformly.
+     *
+     * @param accounts           the number of accounts
+     * @param hotAccountFraction the fraction of hot accounts, e.g. 0.01
+     * @param hotAccessFraction  the fraction of the accesses to the hot accounts, e.g. 0.9
+     */
+    static AccountDistribution hotSpot(int accounts, double hotAccountFraction, double hotAccessFraction) {
+        int hot = Math.max(1, Math.min(accounts, (int) (accounts * hotAccountFraction)));
+        return random -> hot == accounts || random.nextDouble() < hotAccessFraction
+                ? random.nextInt(hot)
+                : hot + random.nextInt(accounts - hot);
+    }
+}
@@ -0,0 +1,79 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import com.socgen.accountsmanagement.domain.Money;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Calls the REST endpoints of a running instance, measuring the web layer and its threading model too.
+ */
+public class RestWorkloadTarget implements WorkloadTarget {
+
+    private final HttpClient httpClient;
+
+    private final URI baseUri;
+
+    private final Duration timeout;
+
+    /**
+     * @param baseUri the base URI of the instance, e.g. {@code http://localhost:8080}
+     * @param timeout the timeout of a request
+     */
+    public RestWorkloadTarget(URI baseUri, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void deposit(UUID accountId, long amount) {
+        send(post(accountId, "deposit", amount));
+    }
+
+    @Override
+    public void withdraw(UUID accountId, long amount) {
+        send(post(accountId, "withdraw", amount));
+    }
+
+    @Override
+    public void history(UUID accountId, int pageSize) {
+        send(HttpRequest.newBuilder(baseUri.resolve("/accounts/" + accountId + "/operations?size=" + pageSize))
+                .timeout(timeout)
+                .GET()
+                .build());
+    }
+
+    private HttpRequest post(UUID accountId, String operation, long amount) {
+        return HttpRequest.newBuilder(baseUri.resolve("/accounts/" + accountId + "/" + operation))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"amount\":" + Money.toMajor(amount).toPlainString() + "}"))
+                .build();
+    }
+
+    private void send(HttpRequest request) {
+        HttpResponse<Void> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request interrupted", e);
+        }
+
+        if (response.statusCode() == 422)
+            throw new InsufficientFundException();
+        if (response.statusCode() >= 300)
+            throw new IllegalStateException(request.method() + " " + request.uri() + " answered " + response.statusCode());
+    }
+}
@@ -0,0 +1,32 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+
+import java.util.UUID;
+
+/**
+ * Calls the operations service in-process, measuring it without the web layer.
+ */
+public class ServiceWorkloadTarget implements WorkloadTarget {
+
+    private final AccountOperationsService accountOperationsService;
+
+    public ServiceWorkloadTarget(AccountOperationsService accountOperationsService) {
+        this.accountOperationsService = accountOperationsService;
+    }
+
+    @Override
+    public void deposit(UUID accountId, long amount) {
+        accountOperationsService.deposit(accountId, amount);
+    }
+
+    @Override
+    public void withdraw(UUID accountId, long amount) {
+        accountOperationsService.withdraw(accountId, amount);
+    }
+
+    @Override
+    public void history(UUID accountId, int pageSize) {
+        accountOperationsService.operationsHistory(accountId, null, pageSize);
+    }
+}
@@ -0,0 +1,15 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+/**
+ * Layer receiving the workload.
+ */
+public enum TargetLayer {
+    /**
+     * The operations service, in-process.
+     */
+    SERVICE,
+    /**
+     * The REST endpoints, over HTTP.
+     */
+    REST
+}
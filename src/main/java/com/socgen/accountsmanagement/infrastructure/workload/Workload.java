@@ -0,0 +1,69 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Shape of an open-loop workload: arrivals are issued at a fixed rate whatever the latency of the target,
+ * an arrival finding {@code maxOutstanding} operations in flight being dropped.
+ */
+@Value
+@Builder(toBuilder = true)
+public class Workload {
+
+    /**
+     * Operations issued per second.
+     */
+    @Builder.Default
+    int rate = 1000;
+
+    @Builder.Default
+    Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Relative weights of the operations.
+     */
+    @Builder.Default
+    int depositWeight = 45;
+
+    @Builder.Default
+    int withdrawWeight = 45;
+
+    @Builder.Default
+    int historyWeight = 10;
+
+    /**
+     * Largest amount of a deposit or withdrawal, in minor units.
+     */
+    @Builder.Default
+    long maxAmount = 10_000;
+
+    @Builder.Default
+    int historyPageSize = 50;
+
+    /**
+     * Platform threads executing the operations, ignored with virtual threads.
+     */
+    @Builder.Default
+    int threads = 64;
+
+    /**
+     * Execute each operation on its own virtual thread, requires Java 21.
+     */
+    boolean virtualThreads;
+
+    @Builder.Default
+    int maxOutstanding = 10_000;
+
+    WorkloadOperation pick(int draw) {
+        if (draw < depositWeight) return WorkloadOperation.DEPOSIT;
+        if (draw < depositWeight + withdrawWeight) return WorkloadOperation.WITHDRAW;
+        return WorkloadOperation.HISTORY;
+    }
+
+    int totalWeight() {
+        return depositWeight + withdrawWeight + historyWeight;
+    }
+}
@@ -0,0 +1,163 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import com.socgen.accountsmanagement.config.VirtualThreadsConfiguration;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: a dispatcher schedules the arrivals at the workload rate and hands them over
+ * to the executing threads, recording the latency of each operation in HDR histograms.
+ */
+@Slf4j
+public class WorkloadGenerator {
+
+    private static final long COMPLETION_TIMEOUT_SECONDS = 60;
+
+    private final WorkloadTarget target;
+
+    private final List<UUID> accounts;
+
+    private final AccountDistribution distribution;
+
+    /**
+     * @param target       the system under load
+     * @param accounts     the accounts accessed, the first ones being the hottest with a skewed distribution
+     * @param distribution the distribution of the accesses over the accounts
+     */
+    public WorkloadGenerator(WorkloadTarget target, List<UUID> accounts, AccountDistribution distribution) {
+        if (accounts.isEmpty())
+            throw new IllegalArgumentException("No account to load");
+        this.target = target;
+        this.accounts = List.copyOf(accounts);
+        this.distribution = distribution;
+    }
+
+    /**
+     * Runs the workload until its duration is elapsed and the operations in flight are completed.
+     *
+     * @param workload the workload
+     * @return the throughput, latencies and errors
+     */
+    public WorkloadReport run(Workload workload) {
+        if (workload.getRate() < 1 || workload.totalWeight() < 1)
+            throw new IllegalArgumentException("Rate and operation weights must be positive");
+
+        Map<WorkloadOperation, Recorder> latencies = new EnumMap<>(WorkloadOperation.class);
+        Map<WorkloadOperation, LongAdder> rejected = new EnumMap<>(WorkloadOperation.class);
+        Map<WorkloadOperation, LongAdder> errors = new EnumMap<>(WorkloadOperation.class);
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            latencies.put(operation, new Recorder(3));
+            rejected.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+        long dropped = 0;
+
+        Semaphore outstanding = new Semaphore(workload.getMaxOutstanding());
+        ExecutorService executor = executor(workload);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / workload.getRate();
+        long start = System.nanoTime();
+        long end = start + workload.getDuration().toNanos();
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long scheduled = start + arrival * intervalNanos;
+                if (scheduled >= end) break;
+
+                // behind schedule, the late arrivals are issued at once
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+
+                if (!outstanding.tryAcquire()) {
+                    dropped++;
+                    continue;
+                }
+
+                WorkloadOperation operation = workload.pick(random.nextInt(workload.totalWeight()));
+                UUID accountId = accounts.get(distribution.next(random));
+                long amount = random.nextLong(1, workload.getMaxAmount() + 1);
+                executor.execute(() -> {
+                    try {
+                        execute(workload, operation, accountId, amount);
+                    } catch (InsufficientFundException e) {
+                        rejected.get(operation).increment();
+                    } catch (RuntimeException e) {
+                        errors.get(operation).increment();
+                        log.debug("{} on account {} failed", operation, accountId, e);
+                        return;
+                    } finally {
+                        outstanding.release();
+                    }
+                    latencies.get(operation).recordValue(
+                            Math.max(0, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled)));
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        awaitCompletion(executor);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<WorkloadOperation, WorkloadReport.OperationStats> stats = new EnumMap<>(WorkloadOperation.class);
+        latencies.forEach((operation, recorder) -> {
+            Histogram histogram = recorder.getIntervalHistogram();
+            stats.put(operation, new WorkloadReport.OperationStats(
+                    histogram.getTotalCount(),
+                    rejected.get(operation).sum(),
+                    errors.get(operation).sum(),
+                    histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(99),
+                    histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue()));
+        });
+        return new WorkloadReport(elapsed, dropped, stats);
+    }
+
+    private void execute(Workload workload, WorkloadOperation operation, UUID accountId, long amount) {
+        switch (operation) {
+            case DEPOSIT -> target.deposit(accountId, amount);
+            case WITHDRAW -> target.withdraw(accountId, amount);
+            case HISTORY -> target.history(accountId, workload.getHistoryPageSize());
+        }
+    }
+
+    private static ExecutorService executor(Workload workload) {
+        if (workload.isVirtualThreads())
+            return VirtualThreadsConfiguration.virtualThreadPerTaskExecutor();
+
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(workload.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "workload-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void awaitCompletion(ExecutorService executor) {
+        try {
+            if (!executor.awaitTermination(COMPLETION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Operations still in flight after {} s are not reported", COMPLETION_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+/**
+ * Operations issued by the workload generator.
+ */
+public enum WorkloadOperation {
+    DEPOSIT,
+    WITHDRAW,
+    /**
+     * Read of the first page of the operations history.
+     */
+    HISTORY
+}
@@ -0,0 +1,68 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of a workload run. Latencies are measured from the scheduled arrival of each operation,
+ * so the time an operation waited for a free thread is accounted for.
+ */
+@Value
+public class WorkloadReport {
+
+    Duration elapsed;
+
+    /**
+     * Arrivals dropped because too many operations were in flight.
+     */
+    long dropped;
+
+    Map<WorkloadOperation, OperationStats> operations;
+
+    public long completed() {
+        return operations.values().stream().mapToLong(OperationStats::getCompleted).sum();
+    }
+
+    public long errors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+
+    public double throughput() {
+        return completed() * 1e9 / Math.max(1, elapsed.toNanos());
+    }
+
+    /**
+     * Errors and dropped arrivals over all the arrivals.
+     */
+    public double errorRate() {
+        long failed = errors() + dropped;
+        long arrivals = completed() + failed;
+        return arrivals == 0 ? 0 : (double) failed / arrivals;
+    }
+
+    @Value
+    public static class OperationStats {
+
+        /**
+         * Operations answered, including the rejected ones.
+         */
+        long completed;
+
+        /**
+         * Withdrawals refused for insufficient balance.
+         */
+        long rejected;
+
+        long errors;
+
+        long p50Micros;
+
+        long p99Micros;
+
+        long p999Micros;
+
+        long maxMicros;
+    }
+}
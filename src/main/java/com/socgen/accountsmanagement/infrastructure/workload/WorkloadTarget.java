@@ -0,0 +1,17 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import java.util.UUID;
+
+/**
+ * System under load. Withdrawals refused for insufficient balance throw
+ * {@link com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException},
+ * any other exception is counted as an error.
+ */
+public interface WorkloadTarget {
+
+    void deposit(UUID accountId, long amount);
+
+    void withdraw(UUID accountId, long amount);
+
+    void history(UUID accountId, int pageSize);
+}
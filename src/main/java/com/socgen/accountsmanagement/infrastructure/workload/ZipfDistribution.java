@@ -0,0 +1,78 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Zipf distribution over ranks 1 to n, sampled by rejection-inversion
+ * (Hörmann and Derflinger, "Rejection-inversion to generate variates from monotone discrete distributions").
+ * Sampling takes constant time and memory whatever the number of ranks, for any positive exponent.
+ */
+final class ZipfDistribution {
+
+    private final int ranks;
+
+    private final double exponent;
+
+    private final double hIntegralX1;
+
+    private final double hIntegralRanks;
+
+    private final double s;
+
+    ZipfDistribution(int ranks, double exponent) {
+        if (ranks < 1 || exponent <= 0)
+            throw new IllegalArgumentException("Ranks and exponent must be positive");
+        this.ranks = ranks;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralRanks = hIntegral(ranks + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Draws a rank, 1 being the most frequent.
+     *
+     * @param random the random of the calling thread
+     * @return the rank
+     */
+    int sample(ThreadLocalRandom random) {
+        while (true) {
+            double u = hIntegralRanks + random.nextDouble() * (hIntegralX1 - hIntegralRanks);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.min(ranks, Math.max(1, Math.round(x)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k))
+                return k;
+        }
+    }
+
+    /**
+     * Integral of h, from 1 to x.
+     */
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return helper2((1 - exponent) * logX) * logX;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1, x * (1 - exponent));
+        return Math.exp(helper1(t) * x);
+    }
+
+    /**
+     * log(1 + x) / x, accurate near 0.
+     */
+    private static double helper1(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+
+    /**
+     * (exp(x) - 1) / x, accurate near 0.
+     */
+    private static double helper2(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x * (1.0 / 3) * (1 + 0.25 * x));
+    }
+}
@@ -0,0 +1,9 @@
+-- Migrates an existing database from floating point amounts to long minor units (cents).
+-- The schema of the in-memory database is generated by Hibernate and needs no migration.
+UPDATE account SET balance = ROUND(balance * 100);
+ALTER TABLE account ALTER COLUMN balance SET DATA TYPE BIGINT;
+ALTER TABLE account ALTER COLUMN balance SET NOT NULL;
+
+UPDATE operation SET amount = ROUND(amount * 100);
+ALTER TABLE operation ALTER COLUMN amount SET DATA TYPE BIGINT;
+ALTER TABLE operation ALTER COLUMN amount SET NOT NULL;
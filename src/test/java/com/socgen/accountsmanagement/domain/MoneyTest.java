@@ -0,0 +1,49 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoneyTest {
+
+    @Test
+    public void ofMajor_should_convert_to_minor_units() {
+        assertEquals(100_000, Money.ofMajor(1000));
+        assertEquals(2050, Money.ofMajor(new BigDecimal("20.5")));
+        assertEquals(-1, Money.ofMajor(new BigDecimal("-0.01")));
+    }
+
+    @Test
+    public void ofMajor_should_reject_sub_minor_amounts() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(new BigDecimal("0.001")));
+    }
+
+    @Test
+    public void ofMajor_should_reject_overflow() {
+        assertThrows(ArithmeticException.class, () -> Money.ofMajor(Long.MAX_VALUE / 10));
+    }
+
+    @Test
+    public void toMajor_should_keep_two_decimals() {
+        assertEquals(new BigDecimal("20.50"), Money.toMajor(2050));
+        assertEquals("0.07", Money.toMajor(7).toPlainString());
+    }
+
+    @Test
+    public void credit_should_refuse_overflowing_balance() {
+        assertEquals(Long.MAX_VALUE, Money.credit(Long.MAX_VALUE - 10, 10));
+        assertThrows(BalanceOverflowException.class, () -> Money.credit(Long.MAX_VALUE - 10, 11));
+    }
+
+    @Test
+    public void minor_units_should_not_drift() {
+        long balance = 0;
+        for (int i = 0; i < 1_000_000; i++)
+            balance += Money.ofMajor(new BigDecimal("0.10"));
+
+        assertEquals(Money.ofMajor(100_000), balance);
+    }
+}
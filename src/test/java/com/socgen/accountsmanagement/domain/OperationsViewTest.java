@@ -0,0 +1,136 @@
+package com.socgen.accountsmanagement.domain;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OperationsViewTest {
+
+    private static final UUID ACCOUNT_ID = UUID.randomUUID();
+
+    @Mock
+    private OperationRepository operationRepository;
+
+    @Test
+    public void paged_view_should_not_read_history_until_iterated() {
+
+        // WHEN
+        OperationsView view = OperationsView.paged(ACCOUNT_ID, operationRepository, 2, 0, null);
+        Account account = Account.builder().id(ACCOUNT_ID).operations(view).build();
+
+        // THEN
+        assertTrue(view.isPaged());
+        assertTrue(view.loaded().isEmpty());
+        assertDoesNotThrow(account::toString);
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    public void paged_view_should_read_pages_after_last_operation_until_short_page() {
+
+        // GIVEN
+        List<Operation> history = history(5);
+        when(operationRepository.operationsHistory(eq(ACCOUNT_ID), isNull(), eq(2))).thenReturn(history.subList(0, 2));
+        when(operationRepository.operationsHistory(ACCOUNT_ID, OperationCursor.after(history.get(1)), 2))
+                .thenReturn(history.subList(2, 4));
+        when(operationRepository.operationsHistory(ACCOUNT_ID, OperationCursor.after(history.get(3)), 2))
+                .thenReturn(history.subList(4, 5));
+        OperationsView view = OperationsView.paged(ACCOUNT_ID, operationRepository, 2, 0, null);
+
+        // WHEN
+        List<Operation> operations = view.stream().toList();
+
+        // THEN
+        assertEquals(history, operations);
+        verify(operationRepository, times(3)).operationsHistory(eq(ACCOUNT_ID), any(), eq(2));
+    }
+
+    @Test
+    public void paged_view_should_read_only_pages_iterated() {
+
+        // GIVEN
+        List<Operation> history = history(4);
+        when(operationRepository.operationsHistory(eq(ACCOUNT_ID), isNull(), eq(2))).thenReturn(history.subList(0, 2));
+        OperationsView view = OperationsView.paged(ACCOUNT_ID, operationRepository, 2, 0, null);
+
+        // WHEN
+        Iterator<Operation> iterator = view.iterator();
+        iterator.next();
+        iterator.next();
+
+        // THEN
+        verify(operationRepository, times(1)).operationsHistory(eq(ACCOUNT_ID), any(), eq(2));
+    }
+
+    @Test
+    public void paged_view_should_prefetch_pages_ahead_of_iteration() {
+
+        // GIVEN
+        List<Operation> history = history(5);
+        when(operationRepository.operationsHistory(eq(ACCOUNT_ID), isNull(), eq(2))).thenReturn(history.subList(0, 2));
+        when(operationRepository.operationsHistory(ACCOUNT_ID, OperationCursor.after(history.get(1)), 2))
+                .thenReturn(history.subList(2, 4));
+        when(operationRepository.operationsHistory(ACCOUNT_ID, OperationCursor.after(history.get(3)), 2))
+                .thenReturn(history.subList(4, 5));
+        List<Runnable> prefetches = new ArrayList<>();
+        OperationsView view = OperationsView.paged(ACCOUNT_ID, operationRepository, 2, 2, prefetches::add);
+
+        // WHEN
+        Iterator<Operation> iterator = view.iterator();
+        Operation first = iterator.next();
+        prefetches.remove(0).run();
+        prefetches.remove(0).run();
+
+        // THEN
+        assertEquals(history.get(0), first);
+        verify(operationRepository, times(3)).operationsHistory(eq(ACCOUNT_ID), any(), eq(2));
+        List<Operation> rest = new ArrayList<>();
+        iterator.forEachRemaining(rest::add);
+        assertEquals(history.subList(1, 5), rest);
+        verifyNoMoreInteractions(operationRepository);
+    }
+
+    @Test
+    public void view_of_list_should_iterate_list() {
+
+        // GIVEN
+        List<Operation> history = history(3);
+
+        // WHEN
+        OperationsView view = OperationsView.of(history);
+
+        // THEN
+        assertFalse(view.isPaged());
+        assertSame(history, view.loaded());
+        assertEquals(history, view.stream().toList());
+    }
+
+    private static List<Operation> history(int size) {
+        LocalDateTime date = LocalDateTime.of(2023, 1, 1, 10, 0);
+        return IntStream.range(0, size)
+                .mapToObj(i -> Operation.builder()
+                        .id(UUID.randomUUID())
+                        .type(OperationType.DEPOSIT)
+                        .amount(100L)
+                        .date(date.minusMinutes(i))
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,192 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountLocksTest {
+
+    @Test
+    public void stripes_should_be_rounded_to_power_of_two() {
+        assertEquals(1, new AccountLocks(1).stripes());
+        assertEquals(16, new AccountLocks(16).stripes());
+        assertEquals(128, new AccountLocks(100).stripes());
+    }
+
+    @Test
+    public void stripes_should_be_positive() {
+        assertThrows(IllegalArgumentException.class, () -> new AccountLocks(0));
+    }
+
+    @Test
+    public void withLock_should_serialize_operations_on_same_account() throws InterruptedException {
+
+        // GIVEN
+        AccountLocks locks = new AccountLocks(64);
+        UUID accountId = UUID.randomUUID();
+        long[] counter = {0};
+
+        // WHEN
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(i -> executor.execute(() -> {
+            for (int j = 0; j < 10_000; j++)
+                locks.withLock(accountId, () -> counter[0]++);
+        }));
+        executor.shutdown();
+
+        // THEN
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(80_000, counter[0]);
+    }
+
+    @Test
+    public void withLock_should_not_block_unrelated_accounts() throws InterruptedException {
+
+        // GIVEN
+        AccountLocks locks = new AccountLocks(1024);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        while (locks.stripeIndex(first) == locks.stripeIndex(second))
+            second = UUID.randomUUID();
+
+        CountDownLatch firstHeld = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        // WHEN
+        Thread holder = new Thread(() -> locks.withLock(first, () -> {
+            firstHeld.countDown();
+            try {
+                return secondDone.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }));
+        holder.start();
+        assertTrue(firstHeld.await(5, TimeUnit.SECONDS));
+
+        UUID secondId = second;
+        Thread other = new Thread(() -> locks.withLock(secondId, () -> {
+            secondDone.countDown();
+            return null;
+        }));
+        other.start();
+
+        // THEN
+        assertTrue(secondDone.await(5, TimeUnit.SECONDS), "Unrelated account was blocked by another account lock");
+        holder.join();
+        other.join();
+    }
+
+    @Test
+    public void withLock_should_release_lock_when_action_fails() {
+
+        // GIVEN
+        AccountLocks locks = new AccountLocks(16);
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        assertThrows(IllegalStateException.class, () -> locks.withLock(accountId, () -> {
+            throw new IllegalStateException();
+        }));
+
+        // THEN
+        assertFalse(locks.lockFor(accountId).isLocked());
+    }
+
+    @Test
+    public void withLocks_should_not_deadlock_when_locking_accounts_in_any_order() throws InterruptedException {
+
+        // GIVEN
+        AccountLocks locks = new AccountLocks(16);
+        List<UUID> accountIds = IntStream.range(0, 8).mapToObj(i -> UUID.randomUUID()).toList();
+        // pairs of distinct accounts run concurrently, so the count itself must be thread safe
+        AtomicLong counter = new AtomicLong();
+
+        // WHEN
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        IntStream.range(0, 8).forEach(i -> executor.execute(() -> {
+            for (int j = 0; j < 2_000; j++) {
+                UUID first = accountIds.get((i + j) % accountIds.size());
+                UUID second = accountIds.get((i * 3 + j + 1) % accountIds.size());
+                locks.withLocks(List.of(second, first), counter::incrementAndGet);
+            }
+        }));
+        executor.shutdown();
+
+        // THEN
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS), "Locking accounts pairs deadlocked");
+        assertEquals(16_000, counter.get());
+    }
+
+    @Test
+    public void withLock_should_record_wait_time_of_contended_lock() throws InterruptedException {
+
+        // GIVEN
+        List<Long> waitTimes = new CopyOnWriteArrayList<>();
+        AccountLocks locks = new AccountLocks(64, waitTimes::add);
+        UUID accountId = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> locks.withLock(accountId, () -> {
+            held.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        locks.withLock(accountId, () -> null);
+        holder.join();
+
+        // THEN
+        assertEquals(2, waitTimes.size());
+        assertEquals(0L, waitTimes.get(0));
+        assertTrue(waitTimes.get(1) > 0L);
+    }
+
+    @Test
+    public void withLock_should_report_contended_account() throws InterruptedException {
+
+        // GIVEN
+        List<UUID> contended = new CopyOnWriteArrayList<>();
+        AccountLocks locks = new AccountLocks(64, null, contended::add);
+        UUID accountId = UUID.randomUUID();
+        CountDownLatch held = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> locks.withLock(accountId, () -> {
+            held.countDown();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        holder.start();
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+
+        // WHEN
+        locks.withLock(accountId, () -> null);
+        holder.join();
+        locks.withLocks(List.of(accountId), () -> null);
+
+        // THEN
+        assertEquals(List.of(accountId), contended);
+    }
+}
@@ -0,0 +1,78 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MpscRingBufferTest {
+
+    @Test
+    public void capacity_should_be_rounded_to_power_of_two() {
+        assertEquals(8, new MpscRingBuffer<>(5).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MpscRingBuffer<>(0));
+    }
+
+    @Test
+    public void offer_should_fail_when_full_and_poll_should_keep_order() {
+
+        // GIVEN
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+
+        // WHEN
+        IntStream.range(0, 4).forEach(i -> assertTrue(buffer.offer(i)));
+
+        // THEN
+        assertFalse(buffer.offer(4));
+        for (int i = 0; i < 4; i++)
+            assertEquals(i, buffer.poll());
+        assertNull(buffer.poll());
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.offer(5));
+    }
+
+    @Test
+    public void poll_should_receive_all_elements_of_concurrent_producers() throws InterruptedException {
+
+        // GIVEN
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 20_000;
+
+        // WHEN
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        IntStream.range(0, producers).forEach(p -> executor.execute(() -> {
+            for (int i = 0; i < perProducer; i++)
+                while (!buffer.offer(p * perProducer + i))
+                    Thread.yield();
+        }));
+
+        boolean[] received = new boolean[producers * perProducer];
+        int[] lastOfProducer = new int[producers];
+        Arrays.fill(lastOfProducer, -1);
+        for (int count = 0; count < received.length; ) {
+            Integer element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            received[element] = true;
+            // elements of a producer come out in the order it offered them
+            assertTrue(element % perProducer > lastOfProducer[element / perProducer]);
+            lastOfProducer[element / perProducer] = element % perProducer;
+            count++;
+        }
+        executor.shutdown();
+
+        // THEN
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        for (boolean element : received)
+            assertTrue(element);
+        assertNull(buffer.poll());
+    }
+}
@@ -0,0 +1,87 @@
+package com.socgen.accountsmanagement.domain.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptimisticRetryExecutorTest {
+
+    private final RetryPolicy policy = RetryPolicy.builder()
+            .maxAttempts(3)
+            .initialBackoff(Duration.ofMillis(1))
+            .maxBackoff(Duration.ofMillis(2))
+            .build();
+
+    @Test
+    public void execute_should_retry_conflicts_until_success() {
+
+        // GIVEN
+        OptimisticRetryExecutor underTest = new OptimisticRetryExecutor(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        // WHEN
+        String result = underTest.execute(() -> {
+            if (calls.incrementAndGet() < 3)
+                throw new OptimisticLockingFailureException("conflict");
+            return "done";
+        });
+
+        // THEN
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2, underTest.conflicts());
+        assertEquals(2, underTest.retries());
+        assertEquals(0, underTest.exhausted());
+    }
+
+    @Test
+    public void execute_should_rethrow_conflict_when_attempts_exhausted() {
+
+        // GIVEN
+        OptimisticRetryExecutor underTest = new OptimisticRetryExecutor(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        // WHEN
+        assertThrows(OptimisticLockingFailureException.class, () -> underTest.execute(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+
+        // THEN
+        assertEquals(3, calls.get());
+        assertEquals(3, underTest.conflicts());
+        assertEquals(1, underTest.exhausted());
+    }
+
+    @Test
+    public void execute_should_not_retry_other_failures() {
+
+        // GIVEN
+        OptimisticRetryExecutor underTest = new OptimisticRetryExecutor(policy);
+        AtomicInteger calls = new AtomicInteger();
+
+        // WHEN
+        assertThrows(IllegalStateException.class, () -> underTest.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException();
+        }));
+
+        // THEN
+        assertEquals(1, calls.get());
+        assertEquals(0, underTest.conflicts());
+    }
+
+    @Test
+    public void backoff_should_stay_within_max_backoff() {
+        RetryPolicy retryPolicy = RetryPolicy.builder().maxBackoff(Duration.ofMillis(50)).build();
+
+        for (int retry = 1; retry < 20; retry++) {
+            long backoff = retryPolicy.backoffNanos(retry);
+            assertTrue(backoff >= 0 && backoff <= Duration.ofMillis(50).toNanos());
+        }
+    }
+}
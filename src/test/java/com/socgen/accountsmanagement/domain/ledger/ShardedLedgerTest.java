@@ -0,0 +1,405 @@
+package com.socgen.accountsmanagement.domain.ledger;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardedLedgerTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private LedgerWriter ledgerWriter;
+
+    private ShardedLedger ledger;
+
+    @BeforeEach
+    public void setUp() {
+        ledger = new ShardedLedger(4, 16, 8, accountRepository, ledgerWriter);
+        ledger.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (ledger.isRunning())
+            ledger.stop();
+    }
+
+    @Test
+    public void submit_should_apply_operations_of_account_in_order() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 100L)));
+
+        // WHEN
+        List<CompletableFuture<Account>> results = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            results.add(ledger.submit(OperationType.DEPOSIT, accountId, 10L));
+        CompletableFuture<Account> withdrawal = ledger.submit(OperationType.WITHDRAW, accountId, 500L);
+
+        // THEN
+        for (int i = 0; i < 100; i++)
+            assertEquals(100L + 10L * (i + 1), results.get(i).join().getBalance());
+        assertEquals(600L, withdrawal.join().getBalance());
+        verify(accountRepository, times(1)).findAccountById(accountId);
+    }
+
+    @Test
+    public void submit_should_fail_on_insufficient_fund_and_unknown_account() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 100L)));
+        when(accountRepository.findAccountById(unknownId)).thenReturn(Optional.empty());
+
+        // WHEN
+        CompletableFuture<Account> withdrawal = ledger.submit(OperationType.WITHDRAW, accountId, 150L);
+        CompletableFuture<Account> deposit = ledger.submit(OperationType.DEPOSIT, unknownId, 10L);
+
+        // THEN
+        ExecutionException insufficient = assertThrows(ExecutionException.class, withdrawal::get);
+        assertInstanceOf(InsufficientFundException.class, insufficient.getCause());
+        ExecutionException notFound = assertThrows(ExecutionException.class, deposit::get);
+        assertInstanceOf(AccountNotFoundException.class, notFound.getCause());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stop_should_persist_all_operations_with_consecutive_versions() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 0L)));
+
+        // WHEN
+        for (int i = 0; i < 50; i++)
+            ledger.submit(OperationType.DEPOSIT, accountId, 1L);
+        ledger.stop();
+
+        // THEN
+        ArgumentCaptor<Collection<Account>> accounts = ArgumentCaptor.forClass(Collection.class);
+        ArgumentCaptor<List<Operation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(ledgerWriter, atLeastOnce()).write(accounts.capture(), operations.capture());
+
+        assertEquals(50, operations.getAllValues().stream().mapToInt(List::size).sum());
+        List<Account> saved = accounts.getAllValues().stream().flatMap(Collection::stream).toList();
+        for (int i = 0; i < saved.size(); i++)
+            assertEquals(i, saved.get(i).getVersion());
+        assertEquals(50L, saved.get(saved.size() - 1).getBalance());
+    }
+
+    @Test
+    public void submit_should_fail_when_stopped() {
+        ledger.stop();
+
+        CompletableFuture<Account> result = ledger.submit(OperationType.DEPOSIT, UUID.randomUUID(), 1L);
+
+        ExecutionException stopped = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalStateException.class, stopped.getCause());
+        verify(ledgerWriter, never()).write(any(), any());
+    }
+
+    @Test
+    public void stop_should_complete_commands_submitted_while_stopping() throws InterruptedException {
+
+        // GIVEN
+        when(accountRepository.findAccountById(any()))
+                .thenAnswer(invocation -> Optional.of(account(invocation.getArgument(0), 0L)));
+        List<CompletableFuture<Account>> results = new CopyOnWriteArrayList<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            UUID accountId = UUID.randomUUID();
+            submitters.add(new Thread(() -> {
+                CompletableFuture<Account> result;
+                do {
+                    result = ledger.submit(OperationType.DEPOSIT, accountId, 1L);
+                    results.add(result);
+                } while (!result.isCompletedExceptionally());
+            }));
+        }
+        submitters.forEach(Thread::start);
+
+        // WHEN
+        Thread.sleep(50);
+        ledger.stop();
+        for (Thread submitter : submitters)
+            submitter.join(TimeUnit.SECONDS.toMillis(10));
+
+        // THEN
+        assertTrue(results.stream().allMatch(CompletableFuture::isDone), "A submitted command was left pending");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void persist_should_retry_failed_batch_before_next_ones() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 0L)));
+        doThrow(new DataAccessResourceFailureException("Database unavailable")).doNothing().when(ledgerWriter).write(any(), any());
+
+        // WHEN
+        ledger.submit(OperationType.DEPOSIT, accountId, 1L).join();
+        ledger.submit(OperationType.DEPOSIT, accountId, 2L).join();
+        ledger.stop();
+
+        // THEN
+        ArgumentCaptor<List<Operation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(ledgerWriter, times(3)).write(any(), operations.capture());
+        List<Long> amounts = operations.getAllValues().stream().map(batch -> batch.get(0).getAmount()).toList();
+        assertEquals(List.of(1L, 1L, 2L), amounts);
+    }
+
+    @Test
+    public void persist_should_fail_shard_after_repeated_failures() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 0L)));
+        doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .doThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .doNothing()
+                .when(ledgerWriter).write(any(), any());
+        ledger.submit(OperationType.DEPOSIT, accountId, 1L).join();
+
+        // WHEN
+        CompletableFuture<Account> result;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        do {
+            result = ledger.submit(OperationType.DEPOSIT, accountId, 1L);
+        } while (!result.isCompletedExceptionally() && System.nanoTime() < deadline && sleep());
+
+        // THEN
+        ExecutionException failed = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalStateException.class, failed.getCause());
+        ledger.stop();
+        verify(ledgerWriter, atLeast(4)).write(any(), any());
+    }
+
+    @Test
+    public void persist_should_drop_batch_failing_with_non_transient_error() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 0L)));
+        doThrow(new OptimisticLockingFailureException("Account updated by another writer"))
+                .when(ledgerWriter).write(any(), any());
+        ledger.submit(OperationType.DEPOSIT, accountId, 1L).join();
+
+        // WHEN
+        long start = System.nanoTime();
+        ledger.stop();
+
+        // THEN
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "The batch was retried until stopped");
+        verify(ledgerWriter, times(3)).write(any(), any());
+    }
+
+    @Test
+    public void stop_should_record_apply_and_persist_time_of_each_batch() {
+
+        // GIVEN
+        ledger.stop();
+        List<Long> applyTimes = new CopyOnWriteArrayList<>();
+        List<Long> persistTimes = new CopyOnWriteArrayList<>();
+        ledger = new ShardedLedger(1, 16, 8, accountRepository, ledgerWriter, applyTimes::add, persistTimes::add);
+        ledger.start();
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 0L)));
+
+        // WHEN
+        for (int i = 0; i < 20; i++)
+            ledger.submit(OperationType.DEPOSIT, accountId, 1L).join();
+        ledger.stop();
+
+        // THEN
+        int batches = mockingDetails(ledgerWriter).getInvocations().size();
+        assertTrue(batches > 0);
+        assertEquals(batches, applyTimes.size());
+        assertEquals(batches, persistTimes.size());
+        assertTrue(applyTimes.stream().allMatch(nanos -> nanos >= 0));
+        assertTrue(persistTimes.stream().allMatch(nanos -> nanos >= 0));
+    }
+
+    @Test
+    public void read_should_include_operations_not_persisted_yet() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 100L)));
+        CountDownLatch persisted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            persisted.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(ledgerWriter).write(any(), any());
+
+        try {
+            // WHEN
+            ledger.submit(OperationType.DEPOSIT, accountId, 10L).join();
+            ledger.submit(OperationType.WITHDRAW, accountId, 30L);
+            Account account = ledger.read(accountId).join();
+
+            // THEN
+            assertEquals(80L, account.getBalance());
+            verify(accountRepository, times(1)).findAccountById(accountId);
+        } finally {
+            persisted.countDown();
+        }
+    }
+
+    @Test
+    public void transfer_should_move_amount_between_accounts() {
+
+        // GIVEN
+        UUID fromId = UUID.randomUUID();
+        UUID toId = UUID.randomUUID();
+        when(accountRepository.findAccountById(fromId)).thenReturn(Optional.of(account(fromId, 100L)));
+        when(accountRepository.findAccountById(toId)).thenReturn(Optional.of(account(toId, 10L)));
+
+        // WHEN
+        Transfer transfer = ledger.transfer(fromId, toId, 30L).join();
+
+        // THEN
+        assertEquals(70L, transfer.getFrom().getBalance());
+        assertEquals(40L, transfer.getTo().getBalance());
+        assertEquals(30L, transfer.getAmount());
+        assertEquals(40L, ledger.submit(OperationType.DEPOSIT, toId, 0L).join().getBalance());
+    }
+
+    @Test
+    public void transfer_should_release_credit_when_debit_fails() {
+
+        // GIVEN
+        UUID fromId = UUID.randomUUID();
+        UUID toId = UUID.randomUUID();
+        when(accountRepository.findAccountById(fromId)).thenReturn(Optional.of(account(fromId, 100L)));
+        when(accountRepository.findAccountById(toId)).thenReturn(Optional.of(account(toId, Long.MAX_VALUE - 200L)));
+
+        // WHEN
+        CompletableFuture<Transfer> transfer = ledger.transfer(fromId, toId, 150L);
+
+        // THEN
+        ExecutionException insufficient = assertThrows(ExecutionException.class, transfer::get);
+        assertInstanceOf(InsufficientFundException.class, insufficient.getCause());
+        // no room is kept for the released credit
+        assertEquals(Long.MAX_VALUE, ledger.submit(OperationType.DEPOSIT, toId, 200L).join().getBalance());
+        assertEquals(100L, ledger.submit(OperationType.DEPOSIT, fromId, 0L).join().getBalance());
+    }
+
+    @Test
+    public void transfer_should_not_debit_when_credited_account_is_unknown() {
+
+        // GIVEN
+        UUID fromId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(accountRepository.findAccountById(fromId)).thenReturn(Optional.of(account(fromId, 100L)));
+        when(accountRepository.findAccountById(unknownId)).thenReturn(Optional.empty());
+
+        // WHEN
+        CompletableFuture<Transfer> transfer = ledger.transfer(fromId, unknownId, 50L);
+
+        // THEN
+        ExecutionException notFound = assertThrows(ExecutionException.class, transfer::get);
+        assertInstanceOf(AccountNotFoundException.class, notFound.getCause());
+        assertEquals(100L, ledger.submit(OperationType.DEPOSIT, fromId, 0L).join().getBalance());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void stop_should_settle_transfers_in_progress_and_conserve_money() {
+
+        // GIVEN
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UUID accountId = UUID.randomUUID();
+            accountIds.add(accountId);
+            when(accountRepository.findAccountById(accountId)).thenReturn(Optional.of(account(accountId, 1000L)));
+        }
+        List<CompletableFuture<Transfer>> transfers = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        // WHEN
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(accountIds.size());
+            int to = (from + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+            transfers.add(ledger.transfer(accountIds.get(from), accountIds.get(to), 1 + random.nextInt(300)));
+        }
+        ledger.stop();
+
+        // THEN
+        for (CompletableFuture<Transfer> transfer : transfers) {
+            assertTrue(transfer.isDone());
+            if (transfer.isCompletedExceptionally()) {
+                ExecutionException failure = assertThrows(ExecutionException.class, transfer::get);
+                assertInstanceOf(InsufficientFundException.class, failure.getCause());
+            }
+        }
+        ArgumentCaptor<Collection<Account>> accounts = ArgumentCaptor.forClass(Collection.class);
+        verify(ledgerWriter, atLeastOnce()).write(accounts.capture(), any());
+        Map<UUID, Long> persisted = new HashMap<>();
+        accounts.getAllValues().forEach(batch -> batch.forEach(account -> persisted.put(account.getId(), account.getBalance())));
+        long total = accountIds.stream().mapToLong(id -> persisted.getOrDefault(id, 1000L)).sum();
+        assertEquals(8000L, total);
+        assertTrue(persisted.values().stream().allMatch(balance -> balance >= 0));
+    }
+
+    @Test
+    public void shardIndex_should_spread_accounts_over_all_shards() {
+        boolean[] used = new boolean[ledger.shards()];
+        for (int i = 0; i < 1000; i++)
+            used[ledger.shardIndex(UUID.randomUUID())] = true;
+
+        for (boolean shard : used)
+            assertTrue(shard);
+    }
+
+    private static boolean sleep() {
+        try {
+            Thread.sleep(10);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Account account(UUID accountId, long balance) {
+        return Account.builder().id(accountId).balance(balance).version(0L).build();
+    }
+}
@@ -1,31 +1,53 @@
 package com.socgen.accountsmanagement.domain.service;
 
 import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
 import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCommand;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationOutcome;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.concurrency.AccountLocks;
+import com.socgen.accountsmanagement.domain.enums.BalanceUpdateMode;
+import com.socgen.accountsmanagement.domain.enums.OperationStatus;
 import com.socgen.accountsmanagement.domain.enums.OperationType;
 import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
 import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
 import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import com.socgen.accountsmanagement.domain.repository.DailyAggregateRepository;
 import com.socgen.accountsmanagement.domain.repository.OperationRepository;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.util.Pair;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 import java.util.stream.IntStream;
@@ -41,6 +63,18 @@ public class AccountOperationsServiceTest {
     AccountRepository accountRepo;
     @Mock
     OperationRepository operationRepo;
+    @Spy
+    AccountLocks accountLocks = new AccountLocks(1024);
+    @Spy
+    AccountOperationsSettings settings = AccountOperationsSettings.builder().build();
+    @Mock
+    BalanceSnapshots balanceSnapshots;
+    @Mock
+    DailyAggregateRepository dailyAggregateRepo;
+    @Mock
+    HotAccounts hotAccounts;
+    @Mock
+    BalanceSlotRepository balanceSlotRepo;
 
     @InjectMocks
     AccountOperationsServiceImpl underTest;
@@ -53,20 +87,20 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         List<Account> accounts = new ArrayList<>();
-        List<Pair<Double, OperationType>> operations = Lists.list(
-                Pair.of(1000d, OperationType.DEPOSIT),
-                Pair.of(800d, OperationType.DEPOSIT),
-                Pair.of(50d, OperationType.WITHDRAW),
-                Pair.of(200d, OperationType.DEPOSIT),
-                Pair.of(300d, OperationType.WITHDRAW)
+        List<Pair<Long, OperationType>> operations = Lists.list(
+                Pair.of(1000L, OperationType.DEPOSIT),
+                Pair.of(800L, OperationType.DEPOSIT),
+                Pair.of(50L, OperationType.WITHDRAW),
+                Pair.of(200L, OperationType.DEPOSIT),
+                Pair.of(300L, OperationType.WITHDRAW)
         );
-        IntFunction<Double> accountInitBalance = (int i) -> (double) (1000 * i);
+        IntFunction<Long> accountInitBalance = (int i) -> (long) (1000 * i);
 
         // mock multiple accounts
         IntStream.rangeClosed(0, 10).forEach(i -> {
             UUID accountId = UUID.randomUUID();
 
-            double initialBalance = accountInitBalance.apply(i);
+            long initialBalance = accountInitBalance.apply(i);
             Account account = Account.builder().id(accountId).balance(initialBalance).build();
             accounts.add(account);
             when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
@@ -78,7 +112,7 @@ public class AccountOperationsServiceTest {
         IntStream.rangeClosed(0, 10).forEach(i ->
                 executor.execute(() -> {
                     UUID accountId = accounts.get(i).getId();
-                    for (Pair<Double, OperationType> op : operations) {
+                    for (Pair<Long, OperationType> op : operations) {
                         if (OperationType.DEPOSIT == op.getSecond())
                             underTest.deposit(accountId, op.getFirst());
 
@@ -93,13 +127,47 @@ public class AccountOperationsServiceTest {
 
         IntStream.rangeClosed(0, 10).forEach(i -> {
             // expected balance = initial balance + amount resulted of different operations
-            double expectedBalance = accountInitBalance.apply(i)
-                    + operations.stream().filter(o -> OperationType.DEPOSIT == o.getSecond()).mapToDouble(Pair::getFirst).sum()
-                    - operations.stream().filter(o -> OperationType.WITHDRAW == o.getSecond()).mapToDouble(Pair::getFirst).sum();
+            long expectedBalance = accountInitBalance.apply(i)
+                    + operations.stream().filter(o -> OperationType.DEPOSIT == o.getSecond()).mapToLong(Pair::getFirst).sum()
+                    - operations.stream().filter(o -> OperationType.WITHDRAW == o.getSecond()).mapToLong(Pair::getFirst).sum();
             assertEquals(expectedBalance, accounts.get(i).getBalance());
         });
     }
 
+    @Test
+    public void deposit_should_not_serialize_operations_on_distinct_accounts() throws Exception {
+
+        // GIVEN
+        // hash codes 1 and 2, the accounts fall on distinct lock stripes
+        UUID blockedAccountId = new UUID(0, 1);
+        UUID otherAccountId = new UUID(0, 2);
+        Account blockedAccount = Account.builder().id(blockedAccountId).balance(0).build();
+        Account otherAccount = Account.builder().id(otherAccountId).balance(0).build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(accountRepo.findAccountById(blockedAccountId)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Optional.of(blockedAccount);
+        });
+        when(accountRepo.findAccountById(otherAccountId)).thenReturn(Optional.of(otherAccount));
+
+        // WHEN
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<Account> blockedDeposit = executor.submit(() -> underTest.deposit(blockedAccountId, 10L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        Future<Account> otherDeposit = executor.submit(() -> underTest.deposit(otherAccountId, 20L));
+
+        // THEN
+        // completes while the lock of the first account is held
+        assertEquals(20L, otherDeposit.get(5, TimeUnit.SECONDS).getBalance());
+
+        release.countDown();
+        assertEquals(10L, blockedDeposit.get(5, TimeUnit.SECONDS).getBalance());
+        executor.shutdown();
+    }
+
 
     // =================== deposit =================== \\
     @Test
@@ -107,9 +175,9 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double balance = 500d;
-        double depositAmount = 150d;
-        Account account = Account.builder().id(accountId).balance(500d).build();
+        long balance = 500L;
+        long depositAmount = 150L;
+        Account account = Account.builder().id(accountId).balance(500L).build();
 
         // WHEN
         when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
@@ -119,7 +187,7 @@ public class AccountOperationsServiceTest {
         // THEN
         verify(accountRepo).findAccountById(accountId);
 
-        double expectedBalance = balance + depositAmount;
+        long expectedBalance = balance + depositAmount;
         assertEquals(expectedBalance, account.getBalance(), "Calculated new balance is incorrect");
 
         ArgumentCaptor<Account> savedAccountCaptor = ArgumentCaptor.forClass(Account.class);
@@ -134,8 +202,8 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double depositAmount = 150d;
-        double balance = 1000d;
+        long depositAmount = 150L;
+        long balance = 1000L;
         Account account = Account.builder().id(accountId).balance(balance).build();
 
         // WHEN
@@ -159,7 +227,7 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double depositAmount = 150d;
+        long depositAmount = 150L;
 
         // WHEN
         when(accountRepo.findAccountById(accountId)).thenReturn(Optional.empty());
@@ -173,7 +241,7 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double depositAmount = 150d;
+        long depositAmount = 150L;
 
         // WHEN
         when(accountRepo.findAccountById(accountId)).thenReturn(Optional.empty());
@@ -188,14 +256,34 @@ public class AccountOperationsServiceTest {
     }
 
 
+    @Test
+    public void operations_should_reject_not_positive_amounts() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        UUID otherAccountId = UUID.randomUUID();
+
+        // WHEN
+        // THEN
+        assertThrows(ValidationException.class, () -> underTest.deposit(accountId, 0L));
+        assertThrows(ValidationException.class, () -> underTest.deposit(accountId, -100L));
+        assertThrows(ValidationException.class, () -> underTest.withdraw(accountId, -100L));
+        assertThrows(ValidationException.class, () -> underTest.transfer(accountId, otherAccountId, -100L));
+        assertThrows(ValidationException.class, () -> underTest.applyOperations(List.of(
+                OperationCommand.builder().type(OperationType.DEPOSIT).accountId(accountId).amount(100L).build(),
+                OperationCommand.builder().type(OperationType.DEPOSIT).accountId(accountId).amount(-100L).build())));
+        verifyNoInteractions(accountRepo, operationRepo, dailyAggregateRepo);
+    }
+
+
     // =================== withdraw =================== \\
     @Test
     public void withdraw_should_make_deposit_to_existing_account() {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double balance = 1000d;
-        double withdrawAmount = 350d;
+        long balance = 1000L;
+        long withdrawAmount = 350L;
         Account account = Account.builder().id(accountId).balance(balance).build();
 
         // WHEN
@@ -206,7 +294,7 @@ public class AccountOperationsServiceTest {
         // THEN
         verify(accountRepo).findAccountById(accountId);
 
-        double expectedBalance = balance - withdrawAmount;
+        long expectedBalance = balance - withdrawAmount;
         assertEquals(expectedBalance, account.getBalance(), "Calculated new balance is incorrect");
 
         ArgumentCaptor<Account> savedAccountCaptor = ArgumentCaptor.forClass(Account.class);
@@ -221,8 +309,8 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double withdrawAmount = 150d;
-        double balance = 500d;
+        long withdrawAmount = 150L;
+        long balance = 500L;
         Account account = Account.builder().id(accountId).balance(balance).build();
 
         // WHEN
@@ -246,7 +334,7 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double withdrawAmount = 350d;
+        long withdrawAmount = 350L;
 
         // WHEN
         when(accountRepo.findAccountById(accountId)).thenReturn(Optional.empty());
@@ -260,7 +348,7 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double withdrawAmount = 150d;
+        long withdrawAmount = 150L;
 
         // WHEN
         when(accountRepo.findAccountById(accountId)).thenReturn(Optional.empty());
@@ -279,8 +367,8 @@ public class AccountOperationsServiceTest {
 
         // GIVEN
         UUID accountId = UUID.randomUUID();
-        double withdrawAmount = 1500d;
-        double balance = 500d;
+        long withdrawAmount = 1500L;
+        long balance = 500L;
         Account account = Account.builder().id(accountId).balance(balance).build();
 
 
@@ -297,6 +385,454 @@ public class AccountOperationsServiceTest {
     }
 
 
+    // =================== conditional balance update =================== \\
+    private AccountOperationsServiceImpl conditionalUpdateService() {
+        return new AccountOperationsServiceImpl(accountRepo, operationRepo, accountLocks,
+                AccountOperationsSettings.builder().balanceUpdateMode(BalanceUpdateMode.CONDITIONAL_UPDATE).build(),
+                balanceSnapshots, dailyAggregateRepo, hotAccounts, balanceSlotRepo);
+    }
+
+    @Test
+    public void deposit_should_update_balance_in_single_statement_when_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account updated = Account.builder().id(accountId).balance(650L).version(3L).build();
+
+        // WHEN
+        when(accountRepo.depositToBalance(accountId, 150L)).thenReturn(Optional.of(updated));
+
+        Account account = conditionalUpdateService().deposit(accountId, 150L);
+
+        // THEN
+        assertEquals(650L, account.getBalance());
+        verify(accountRepo).depositToBalance(accountId, 150L);
+        verifyNoMoreInteractions(accountRepo);
+
+        ArgumentCaptor<Operation> operationCaptor = ArgumentCaptor.forClass(Operation.class);
+        verify(operationRepo).addOperation(operationCaptor.capture());
+        assertEquals(OperationType.DEPOSIT, operationCaptor.getValue().getType());
+        assertEquals(150L, operationCaptor.getValue().getAmount());
+    }
+
+    @Test
+    public void deposit_should_throw_exception_when_unknown_account_and_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.depositToBalance(accountId, 150L)).thenReturn(Optional.empty());
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, () -> conditionalUpdateService().deposit(accountId, 150L));
+        verifyNoInteractions(operationRepo);
+    }
+
+    @Test
+    public void deposit_should_refuse_overflowing_balance_when_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.depositToBalance(accountId, Long.MAX_VALUE)).thenReturn(Optional.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+
+        // THEN
+        assertThrows(BalanceOverflowException.class, () -> conditionalUpdateService().deposit(accountId, Long.MAX_VALUE));
+        verifyNoInteractions(operationRepo);
+    }
+
+    @Test
+    public void withdraw_should_update_balance_in_single_statement_when_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account updated = Account.builder().id(accountId).balance(650L).version(3L).build();
+
+        // WHEN
+        when(accountRepo.withdrawFromBalance(accountId, 350L)).thenReturn(Optional.of(updated));
+
+        Account account = conditionalUpdateService().withdraw(accountId, 350L);
+
+        // THEN
+        assertEquals(650L, account.getBalance());
+        verify(accountRepo).withdrawFromBalance(accountId, 350L);
+        verifyNoMoreInteractions(accountRepo);
+        verify(operationRepo).addOperation(any(Operation.class));
+    }
+
+    @Test
+    public void withdraw_should_throw_InsufficientFundException_when_balance_not_covered_and_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.withdrawFromBalance(accountId, 1500L)).thenReturn(Optional.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+
+        // THEN
+        assertThrows(InsufficientFundException.class, () -> conditionalUpdateService().withdraw(accountId, 1500L));
+        verifyNoInteractions(operationRepo);
+    }
+
+    @Test
+    public void withdraw_should_throw_exception_when_unknown_account_and_conditional_update() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.withdrawFromBalance(accountId, 150L)).thenReturn(Optional.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(false);
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, () -> conditionalUpdateService().withdraw(accountId, 150L));
+        verifyNoInteractions(operationRepo);
+    }
+
+
+    // =================== batch =================== \\
+    @Test
+    public void applyOperations_should_apply_net_effect_per_account_and_report_each_outcome() {
+
+        // GIVEN
+        UUID firstAccountId = UUID.randomUUID();
+        UUID secondAccountId = UUID.randomUUID();
+        UUID unknownAccountId = UUID.randomUUID();
+        Account firstAccount = Account.builder().id(firstAccountId).balance(100L).version(1L).build();
+        Account secondAccount = Account.builder().id(secondAccountId).balance(50L).version(1L).build();
+
+        List<OperationCommand> commands = Lists.list(
+                OperationCommand.builder().accountId(firstAccountId).type(OperationType.DEPOSIT).amount(20L).build(),
+                OperationCommand.builder().accountId(secondAccountId).type(OperationType.WITHDRAW).amount(80L).build(),
+                OperationCommand.builder().accountId(firstAccountId).type(OperationType.WITHDRAW).amount(100L).build(),
+                OperationCommand.builder().accountId(unknownAccountId).type(OperationType.DEPOSIT).amount(10L).build(),
+                OperationCommand.builder().accountId(secondAccountId).type(OperationType.DEPOSIT).amount(40L).build()
+        );
+
+        // WHEN
+        when(accountRepo.findAccountById(firstAccountId)).thenReturn(Optional.of(firstAccount));
+        when(accountRepo.findAccountById(secondAccountId)).thenReturn(Optional.of(secondAccount));
+        when(accountRepo.findAccountById(unknownAccountId)).thenReturn(Optional.empty());
+
+        List<OperationOutcome> outcomes = underTest.applyOperations(commands);
+
+        // THEN
+        assertEquals(Lists.list(OperationStatus.APPLIED, OperationStatus.INSUFFICIENT_FUND, OperationStatus.APPLIED,
+                        OperationStatus.ACCOUNT_NOT_FOUND, OperationStatus.APPLIED),
+                outcomes.stream().map(OperationOutcome::getStatus).toList());
+        assertEquals(120L, outcomes.get(0).getBalance());
+        assertEquals(20L, outcomes.get(2).getBalance());
+        assertEquals(90L, outcomes.get(4).getBalance());
+        assertNull(outcomes.get(1).getBalance());
+
+        // each account saved once with its net balance
+        verify(accountRepo, times(1)).saveAccount(firstAccount);
+        verify(accountRepo, times(1)).saveAccount(secondAccount);
+        assertEquals(20L, firstAccount.getBalance());
+        assertEquals(90L, secondAccount.getBalance());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Operation>> operationsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(operationRepo).addOperations(operationsCaptor.capture());
+        assertEquals(3, operationsCaptor.getValue().size());
+        verify(operationRepo, never()).addOperation(any());
+    }
+
+    @Test
+    public void applyOperations_should_not_save_account_without_applied_operation() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(10L).version(1L).build();
+        List<OperationCommand> commands = Lists.list(
+                OperationCommand.builder().accountId(accountId).type(OperationType.WITHDRAW).amount(80L).build());
+
+        // WHEN
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+
+        List<OperationOutcome> outcomes = underTest.applyOperations(commands);
+
+        // THEN
+        assertEquals(OperationStatus.INSUFFICIENT_FUND, outcomes.get(0).getStatus());
+        verify(accountRepo, never()).saveAccount(any());
+        verify(operationRepo).addOperations(List.of());
+    }
+
+
+    // =================== transfer =================== \\
+    @Test
+    public void transfer_should_debit_and_credit_accounts_with_one_batch_of_legs() {
+
+        // GIVEN
+        UUID fromAccountId = UUID.randomUUID();
+        UUID toAccountId = UUID.randomUUID();
+        Account from = Account.builder().id(fromAccountId).balance(500L).version(1L).build();
+        Account to = Account.builder().id(toAccountId).balance(100L).version(1L).build();
+
+        // WHEN
+        when(accountRepo.findAccountById(fromAccountId)).thenReturn(Optional.of(from));
+        when(accountRepo.findAccountById(toAccountId)).thenReturn(Optional.of(to));
+
+        Transfer transfer = underTest.transfer(fromAccountId, toAccountId, 200L);
+
+        // THEN
+        assertEquals(300L, transfer.getFrom().getBalance());
+        assertEquals(300L, transfer.getTo().getBalance());
+        verify(accountRepo).saveAccount(from);
+        verify(accountRepo).saveAccount(to);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Operation>> legsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(operationRepo).addOperations(legsCaptor.capture());
+        verify(operationRepo, never()).addOperation(any());
+        List<Operation> legs = legsCaptor.getValue();
+        assertEquals(List.of(OperationType.WITHDRAW, OperationType.DEPOSIT), legs.stream().map(Operation::getType).toList());
+        assertSame(from, legs.get(0).getAccount());
+        assertSame(to, legs.get(1).getAccount());
+        assertEquals(legs.get(0).getDate(), legs.get(1).getDate());
+    }
+
+    @Test
+    public void transfer_should_read_and_save_accounts_in_id_order() {
+
+        // GIVEN
+        UUID lowerAccountId = new UUID(1L, 1L);
+        UUID upperAccountId = new UUID(2L, 2L);
+        Account lower = Account.builder().id(lowerAccountId).balance(500L).version(1L).build();
+        Account upper = Account.builder().id(upperAccountId).balance(500L).version(1L).build();
+
+        // WHEN
+        when(accountRepo.findAccountById(lowerAccountId)).thenReturn(Optional.of(lower));
+        when(accountRepo.findAccountById(upperAccountId)).thenReturn(Optional.of(upper));
+
+        underTest.transfer(upperAccountId, lowerAccountId, 100L);
+
+        // THEN
+        InOrder inOrder = inOrder(accountRepo);
+        inOrder.verify(accountRepo).findAccountById(lowerAccountId);
+        inOrder.verify(accountRepo).findAccountById(upperAccountId);
+        inOrder.verify(accountRepo).saveAccount(lower);
+        inOrder.verify(accountRepo).saveAccount(upper);
+    }
+
+    @Test
+    public void transfer_should_change_nothing_when_insufficient_fund() {
+
+        // GIVEN
+        UUID fromAccountId = UUID.randomUUID();
+        UUID toAccountId = UUID.randomUUID();
+        Account from = Account.builder().id(fromAccountId).balance(50L).version(1L).build();
+        Account to = Account.builder().id(toAccountId).balance(100L).version(1L).build();
+
+        // WHEN
+        when(accountRepo.findAccountById(fromAccountId)).thenReturn(Optional.of(from));
+        when(accountRepo.findAccountById(toAccountId)).thenReturn(Optional.of(to));
+
+        // THEN
+        assertThrows(InsufficientFundException.class, () -> underTest.transfer(fromAccountId, toAccountId, 200L));
+        assertEquals(100L, to.getBalance());
+        verify(accountRepo, never()).saveAccount(any());
+        verifyNoInteractions(operationRepo);
+    }
+
+    @Test
+    public void transfer_should_reject_same_account() {
+        UUID accountId = UUID.randomUUID();
+
+        assertThrows(ValidationException.class, () -> underTest.transfer(accountId, accountId, 200L));
+        verifyNoInteractions(accountRepo, operationRepo);
+    }
+
+    @Test
+    public void transfer_should_update_rows_in_id_order_when_conditional_update() {
+
+        // GIVEN
+        UUID lowerAccountId = new UUID(1L, 1L);
+        UUID upperAccountId = new UUID(2L, 2L);
+
+        // WHEN
+        when(accountRepo.depositToBalance(lowerAccountId, 100L))
+                .thenReturn(Optional.of(Account.builder().id(lowerAccountId).balance(600L).version(2L).build()));
+        when(accountRepo.withdrawFromBalance(upperAccountId, 100L))
+                .thenReturn(Optional.of(Account.builder().id(upperAccountId).balance(400L).version(2L).build()));
+
+        Transfer transfer = conditionalUpdateService().transfer(upperAccountId, lowerAccountId, 100L);
+
+        // THEN
+        assertEquals(400L, transfer.getFrom().getBalance());
+        assertEquals(600L, transfer.getTo().getBalance());
+        InOrder inOrder = inOrder(accountRepo);
+        inOrder.verify(accountRepo).depositToBalance(lowerAccountId, 100L);
+        inOrder.verify(accountRepo).withdrawFromBalance(upperAccountId, 100L);
+        verify(operationRepo).addOperations(any());
+    }
+
+
+    // =================== hot accounts =================== \\
+    @Test
+    public void deposit_should_add_amount_to_balance_slot_when_hot_account() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(4L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(hotAccounts.slotFor(accountId)).thenReturn(2);
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        when(balanceSlotRepo.addToSlot(accountId, 2, 50L)).thenReturn(true);
+        when(balanceSlotRepo.balanceWithSlots(accountId)).thenReturn(Optional.of(450L));
+
+        Account deposited = underTest.deposit(accountId, 50L);
+
+        // THEN
+        assertEquals(450L, deposited.getBalance());
+        verify(accountRepo, never()).saveAccount(any());
+        verify(accountLocks, never()).withLock(any(), any());
+        verify(operationRepo).addOperation(any());
+        verify(dailyAggregateRepo).addOperations(any(), eq(HotAccounts.aggregateSlot(2)));
+        verifyNoInteractions(balanceSnapshots);
+    }
+
+    @Test
+    public void deposit_should_update_account_when_hot_account_has_no_slots() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(4L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(hotAccounts.slotFor(accountId)).thenReturn(0);
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        when(balanceSlotRepo.addToSlot(accountId, 0, 50L)).thenReturn(false);
+
+        underTest.deposit(accountId, 50L);
+
+        // THEN
+        verify(hotAccounts).demote(accountId);
+        verify(accountRepo).saveAccount(account);
+        assertEquals(150L, account.getBalance());
+    }
+
+    @Test
+    public void deposit_should_refuse_hot_deposit_overflowing_balance() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(4L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(hotAccounts.slotFor(accountId)).thenReturn(1);
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        when(balanceSlotRepo.addToSlot(accountId, 1, Long.MAX_VALUE)).thenReturn(false);
+        when(balanceSlotRepo.existsSlot(accountId, 1)).thenReturn(true);
+
+        // THEN
+        assertThrows(BalanceOverflowException.class, () -> underTest.deposit(accountId, Long.MAX_VALUE));
+        verify(hotAccounts, never()).demote(any());
+        verifyNoInteractions(operationRepo, dailyAggregateRepo);
+    }
+
+    @Test
+    public void deposit_should_promote_account_when_due() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.findAccountById(accountId))
+                .thenReturn(Optional.of(Account.builder().id(accountId).balance(100L).version(1L).build()));
+
+        underTest.deposit(accountId, 50L);
+
+        // THEN
+        verify(hotAccounts).promoteIfDue(accountId);
+    }
+
+    @Test
+    public void withdraw_should_not_drain_slots_when_balance_covers_amount() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(1L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+
+        underTest.withdraw(accountId, 80L);
+
+        // THEN
+        assertEquals(20L, account.getBalance());
+        verify(balanceSlotRepo, never()).drainSlots(any());
+    }
+
+    @Test
+    public void withdraw_should_drain_slots_when_balance_does_not_cover_amount() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(1L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        when(balanceSlotRepo.drainSlots(accountId)).thenReturn(300L);
+
+        underTest.withdraw(accountId, 250L);
+
+        // THEN
+        assertEquals(150L, account.getBalance());
+        verify(accountRepo).saveAccount(account);
+        verify(balanceSnapshots, never()).recordIfDue(any(), any());
+    }
+
+    @Test
+    public void withdraw_should_drain_slots_when_conditional_update_is_not_covered() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account updated = Account.builder().id(accountId).balance(50L).version(3L).build();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(accountRepo.withdrawFromBalance(accountId, 250L)).thenReturn(Optional.empty(), Optional.of(updated));
+        when(balanceSlotRepo.drainSlots(accountId)).thenReturn(200L);
+
+        Account account = conditionalUpdateService().withdraw(accountId, 250L);
+
+        // THEN
+        assertEquals(50L, account.getBalance());
+        InOrder inOrder = inOrder(accountRepo, balanceSlotRepo);
+        inOrder.verify(accountRepo).withdrawFromBalance(accountId, 250L);
+        inOrder.verify(balanceSlotRepo).drainSlots(accountId);
+        inOrder.verify(accountRepo).depositToBalance(accountId, 200L);
+        inOrder.verify(accountRepo).withdrawFromBalance(accountId, 250L);
+    }
+
+    @Test
+    public void findAccount_should_sum_balance_slots_when_hot_account() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(hotAccounts.isHot(accountId)).thenReturn(true);
+        when(accountRepo.findAccountById(accountId))
+                .thenReturn(Optional.of(Account.builder().id(accountId).balance(100L).version(1L).build()));
+        when(balanceSlotRepo.balanceWithSlots(accountId)).thenReturn(Optional.of(1000L));
+
+        // THEN
+        assertEquals(1000L, underTest.findAccount(accountId).getBalance());
+    }
+
+
     // =================== operationsHistory =================== \\
     @Test
     public void operationsHistory_should_return_account_operations() {
@@ -308,23 +844,244 @@ public class AccountOperationsServiceTest {
 
         Operation.OperationBuilder bd = Operation.builder().account(account);
         List<Operation> operations = Lists.list(
-                bd.type(OperationType.DEPOSIT).amount(100d).date(nowDaysBefore.apply(1)).build(),
-                bd.type(OperationType.WITHDRAW).amount(50d).date(nowDaysBefore.apply(2)).build(),
-                bd.type(OperationType.DEPOSIT).amount(200d).date(nowDaysBefore.apply(5)).build(),
-                bd.type(OperationType.DEPOSIT).amount(10d).date(nowDaysBefore.apply(10)).build(),
-                bd.type(OperationType.WITHDRAW).amount(30d).date(nowDaysBefore.apply(25)).build(),
-                bd.type(OperationType.DEPOSIT).amount(20d).date(nowDaysBefore.apply(3)).build()
+                bd.type(OperationType.DEPOSIT).amount(100L).date(nowDaysBefore.apply(1)).build(),
+                bd.type(OperationType.WITHDRAW).amount(50L).date(nowDaysBefore.apply(2)).build(),
+                bd.type(OperationType.DEPOSIT).amount(200L).date(nowDaysBefore.apply(5)).build(),
+                bd.type(OperationType.DEPOSIT).amount(10L).date(nowDaysBefore.apply(10)).build(),
+                bd.type(OperationType.WITHDRAW).amount(30L).date(nowDaysBefore.apply(25)).build(),
+                bd.type(OperationType.DEPOSIT).amount(20L).date(nowDaysBefore.apply(3)).build()
         );
-        account.setOperations(operations);
 
-        // WHEN
-        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        // read oldest first
+        List<Operation> oldestFirst = new ArrayList<>(operations);
+        Collections.reverse(oldestFirst);
 
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Operation> consumer = invocation.getArgument(1);
+            oldestFirst.forEach(consumer);
+            return null;
+        }).when(operationRepo).forEachOperation(eq(accountId), any());
 
         List<Operation> result = underTest.operationsHistory(accountId);
 
         // THEN
-        verify(accountRepo).findAccountById(accountId);
+        verify(operationRepo, never()).operationsHistory(any(), any(), anyInt());
+        verify(accountRepo, never()).findAccountById(accountId);
         assertEquals(operations, result);
     }
+
+    @Test
+    public void operationsHistory_should_return_whole_history_beyond_page_size() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        List<Operation> operations = new ArrayList<>();
+        IntStream.range(0, 120).forEach(i -> operations.add(Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(10L)
+                .date(LocalDateTime.now().plusMinutes(i))
+                .build()));
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        doAnswer(invocation -> {
+            Consumer<Operation> consumer = invocation.getArgument(1);
+            operations.forEach(consumer);
+            return null;
+        }).when(operationRepo).forEachOperation(eq(accountId), any());
+
+        List<Operation> result = underTest.operationsHistory(accountId);
+
+        // THEN
+        assertEquals(120, result.size());
+        assertEquals(operations.get(119), result.get(0));
+        assertEquals(operations.get(0), result.get(119));
+    }
+
+    @Test
+    public void operationsHistory_should_return_page_with_cursor_of_last_operation() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        OperationCursor after = new OperationCursor(LocalDateTime.now(), UUID.randomUUID());
+        List<Operation> operations = new ArrayList<>();
+        IntStream.range(0, 3).forEach(i -> operations.add(Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(10L)
+                .date(after.getDate().minusMinutes(i + 1))
+                .build()));
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        when(operationRepo.operationsHistory(accountId, after, 3)).thenReturn(operations);
+
+        OperationsPage page = underTest.operationsHistory(accountId, after, 2);
+
+        // THEN
+        assertEquals(operations.subList(0, 2), page.getOperations());
+        assertEquals(OperationCursor.after(operations.get(1)), page.getNext());
+    }
+
+    @Test
+    public void operationsHistory_should_return_last_page_without_cursor() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        List<Operation> operations = Lists.list(Operation.builder().id(UUID.randomUUID()).build());
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        when(operationRepo.operationsHistory(accountId, null, 3)).thenReturn(operations);
+
+        OperationsPage page = underTest.operationsHistory(accountId, null, 2);
+
+        // THEN
+        assertEquals(operations, page.getOperations());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    public void operationsHistory_should_cap_page_size() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        when(operationRepo.operationsHistory(any(), any(), anyInt())).thenReturn(List.of());
+
+        underTest.operationsHistory(accountId, null, 100_000);
+
+        // THEN
+        verify(operationRepo).operationsHistory(accountId, null, 501);
+    }
+
+    @Test
+    public void operationsHistory_should_throw_exception_when_unknown_account() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(false);
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, () -> underTest.operationsHistory(accountId));
+        verifyNoInteractions(operationRepo);
+    }
+
+
+    // =================== balanceAsOf =================== \\
+
+    @Test
+    public void balanceAsOf_should_read_balance_from_snapshots_at_local_date() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.of(2023, 6, 30, 23, 59, 59);
+
+        // WHEN
+        when(balanceSnapshots.balanceAsOf(accountId, date)).thenReturn(Optional.of(750L));
+
+        long balance = underTest.balanceAsOf(accountId, date.atZone(ZoneId.systemDefault()).toInstant());
+
+        // THEN
+        assertEquals(750L, balance);
+        verifyNoInteractions(accountRepo, operationRepo);
+    }
+
+    @Test
+    public void balanceAsOf_should_throw_exception_when_account_not_exist() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        when(balanceSnapshots.balanceAsOf(eq(accountId), any())).thenReturn(Optional.empty());
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, () -> underTest.balanceAsOf(accountId, Instant.now()));
+    }
+
+    @Test
+    public void deposit_should_record_snapshot_of_saved_account() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(0L).build();
+
+        // WHEN
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        underTest.deposit(accountId, 50L);
+
+        // THEN
+        ArgumentCaptor<Operation> operation = ArgumentCaptor.forClass(Operation.class);
+        verify(operationRepo).addOperation(operation.capture());
+        verify(balanceSnapshots).recordIfDue(account, operation.getValue());
+    }
+
+
+    // =================== daily aggregates =================== \\
+
+    @Test
+    public void withdraw_should_add_operation_to_daily_aggregates() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(0L).build();
+
+        // WHEN
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        underTest.withdraw(accountId, 40L);
+
+        // THEN
+        ArgumentCaptor<Operation> operation = ArgumentCaptor.forClass(Operation.class);
+        verify(operationRepo).addOperation(operation.capture());
+        verify(dailyAggregateRepo).addOperations(List.of(operation.getValue()));
+    }
+
+    @Test
+    public void applyOperations_should_add_all_operations_to_daily_aggregates_at_once() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(0L).build();
+        List<OperationCommand> commands = List.of(
+                OperationCommand.builder().accountId(accountId).type(OperationType.DEPOSIT).amount(10L).build(),
+                OperationCommand.builder().accountId(accountId).type(OperationType.WITHDRAW).amount(20L).build());
+
+        // WHEN
+        when(accountRepo.findAccountById(accountId)).thenReturn(Optional.of(account));
+        underTest.applyOperations(commands);
+
+        // THEN
+        ArgumentCaptor<List<Operation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(dailyAggregateRepo, times(1)).addOperations(operations.capture());
+        assertEquals(2, operations.getValue().size());
+    }
+
+    @Test
+    public void dailyAggregates_should_read_aggregates_only() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2023, 6, 1);
+        LocalDate to = LocalDate.of(2023, 6, 30);
+        List<DailyAggregate> aggregates = List.of(DailyAggregate.builder()
+                .accountId(accountId).day(from).type(OperationType.DEPOSIT)
+                .total(300L).count(2).minAmount(100L).maxAmount(200L)
+                .build());
+
+        // WHEN
+        when(accountRepo.existsAccount(accountId)).thenReturn(true);
+        when(dailyAggregateRepo.findDailyAggregates(accountId, from, to)).thenReturn(aggregates);
+
+        // THEN
+        assertEquals(aggregates, underTest.dailyAggregates(accountId, from, to));
+        verifyNoInteractions(operationRepo);
+    }
 }
@@ -0,0 +1,92 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Client;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ClientRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent transfers against the database, with each balance update mode.
+ */
+public class AccountOperationsServiceTransferTest {
+
+    @Nested
+    @SpringBootTest(properties = "accounts.operations.balance-update-mode=READ_MODIFY_WRITE")
+    class ReadModifyWrite extends ConcurrentTransfers {
+    }
+
+    @Nested
+    @SpringBootTest(properties = "accounts.operations.balance-update-mode=CONDITIONAL_UPDATE")
+    class ConditionalUpdate extends ConcurrentTransfers {
+    }
+
+    abstract static class ConcurrentTransfers {
+
+        @Autowired
+        AccountOperationsService underTest;
+
+        @Autowired
+        AccountRepository accountRepository;
+
+        @Autowired
+        ClientRepository clientRepository;
+
+        @Test
+        public void transfer_should_conserve_money_across_random_transfers_in_multithreaded_context()
+                throws InterruptedException {
+
+            // GIVEN
+            int accountsCount = 8;
+            int threads = 8;
+            int transfersPerThread = 100;
+            List<UUID> accountIds = new ArrayList<>();
+            for (int i = 0; i < accountsCount; i++) {
+                Client client = clientRepository.addClient(Client.builder().firstName("first" + i).lastName("last").build());
+                accountIds.add(accountRepository.addAccount(Account.builder().client(client).balance(1000L).build()).getId());
+            }
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+            // WHEN
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int i = 0; i < threads; i++)
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int j = 0; j < transfersPerThread; j++) {
+                        int from = random.nextInt(accountsCount);
+                        int to = (from + 1 + random.nextInt(accountsCount - 1)) % accountsCount;
+                        try {
+                            underTest.transfer(accountIds.get(from), accountIds.get(to), 1 + random.nextInt(300));
+                        } catch (InsufficientFundException e) {
+                            // the transfer is refused as a whole
+                        } catch (Throwable e) {
+                            failures.add(e);
+                        }
+                    }
+                });
+            executor.shutdown();
+
+            // THEN
+            assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "Transfers should not deadlock");
+            assertEquals(List.of(), failures);
+            List<Long> balances = accountIds.stream().map(id -> underTest.findAccount(id).getBalance()).toList();
+            assertEquals(1000L * accountsCount, balances.stream().mapToLong(Long::longValue).sum());
+            assertTrue(balances.stream().allMatch(balance -> balance >= 0));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.repository.BalanceSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceSnapshotsTest {
+
+    @Mock
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Mock
+    private RecentSnapshots recentSnapshots;
+
+    @Test
+    public void recordIfDue_should_snapshot_every_updates_interval() {
+
+        // GIVEN
+        BalanceSnapshots snapshots = new BalanceSnapshots(snapshotRepository, 10, null);
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        for (long version = 1; version <= 30; version++)
+            snapshots.recordIfDue(account(accountId, version), operation());
+
+        // THEN
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+        verify(snapshotRepository, times(3)).addSnapshot(snapshot.capture());
+        assertEquals(100L, snapshot.getAllValues().get(0).getBalance());
+        assertEquals(300L, snapshot.getAllValues().get(2).getBalance());
+    }
+
+    @Test
+    public void recordIfDue_should_snapshot_first_update_within_interval() {
+
+        // GIVEN
+        Set<UUID> recent = new HashSet<>();
+        when(recentSnapshots.recordIfNoneRecent(any())).thenAnswer(invocation -> recent.add(invocation.getArgument(0)));
+        BalanceSnapshots snapshots = new BalanceSnapshots(snapshotRepository, 0, recentSnapshots);
+        UUID accountId = UUID.randomUUID();
+        UUID otherAccountId = UUID.randomUUID();
+
+        // WHEN
+        for (long version = 1; version <= 5; version++) {
+            snapshots.recordIfDue(account(accountId, version), operation());
+            snapshots.recordIfDue(account(otherAccountId, version), operation());
+        }
+
+        // THEN
+        verify(snapshotRepository, times(2)).addSnapshot(any());
+    }
+
+    @Test
+    public void recordIfDue_should_reference_last_operation() {
+
+        // GIVEN
+        BalanceSnapshots snapshots = new BalanceSnapshots(snapshotRepository, 1, null);
+        Operation operation = operation();
+
+        // WHEN
+        snapshots.recordIfDue(account(UUID.randomUUID(), 1), operation);
+
+        // THEN
+        ArgumentCaptor<BalanceSnapshot> snapshot = ArgumentCaptor.forClass(BalanceSnapshot.class);
+        verify(snapshotRepository).addSnapshot(snapshot.capture());
+        assertEquals(operation.getId(), snapshot.getValue().getOperationId());
+        assertEquals(operation.getDate(), snapshot.getValue().getDate());
+    }
+
+    private static Account account(UUID accountId, long version) {
+        return Account.builder().id(accountId).balance(10L * version).version(version).build();
+    }
+
+    private static Operation operation() {
+        return Operation.builder().id(UUID.randomUUID()).date(LocalDateTime.now()).build();
+    }
+}
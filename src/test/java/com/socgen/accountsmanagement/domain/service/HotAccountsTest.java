@@ -0,0 +1,116 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.repository.BalanceSlotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotAccountsTest {
+
+    @Mock
+    private BalanceSlotRepository slotRepository;
+
+    @Test
+    public void promoteIfDue_should_add_slots_once_contention_crosses_threshold() {
+
+        // GIVEN
+        HotAccounts hotAccounts = new HotAccounts(slotRepository, 4, 3, Duration.ofMinutes(1), 100);
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        hotAccounts.recordContention(accountId);
+        hotAccounts.recordContention(accountId);
+        boolean promotedBelowThreshold = hotAccounts.promoteIfDue(accountId);
+        hotAccounts.recordContention(accountId);
+        boolean promoted = hotAccounts.promoteIfDue(accountId);
+
+        // THEN
+        assertFalse(promotedBelowThreshold);
+        assertTrue(promoted);
+        assertTrue(hotAccounts.isHot(accountId));
+        assertFalse(hotAccounts.promoteIfDue(accountId));
+        verify(slotRepository, times(1)).addSlots(accountId, 4);
+    }
+
+    @Test
+    public void promoteIfDue_should_make_account_hot_once_committed() {
+
+        // GIVEN
+        HotAccounts hotAccounts = new HotAccounts(slotRepository, 4, 1, Duration.ofMinutes(1), 100);
+        UUID committedId = UUID.randomUUID();
+        UUID rolledBackId = UUID.randomUUID();
+        hotAccounts.recordContention(committedId);
+        hotAccounts.recordContention(rolledBackId);
+
+        // WHEN
+        TransactionSynchronizationManager.initSynchronization();
+        boolean promoted;
+        try {
+            promoted = hotAccounts.promoteIfDue(committedId);
+
+            // THEN
+            assertTrue(promoted);
+            assertFalse(hotAccounts.isHot(committedId), "The slots are not committed yet");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertTrue(hotAccounts.isHot(committedId));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hotAccounts.promoteIfDue(rolledBackId);
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertFalse(hotAccounts.isHot(rolledBackId));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void slotFor_should_pick_slots_of_hot_account() {
+
+        // GIVEN
+        HotAccounts hotAccounts = new HotAccounts(slotRepository, 4, 0, Duration.ofMinutes(1), 100);
+        UUID hotAccountId = UUID.randomUUID();
+        UUID otherAccountId = UUID.randomUUID();
+        when(slotRepository.slotCounts()).thenReturn(Map.of(hotAccountId, 4));
+
+        // WHEN
+        hotAccounts.load();
+
+        // THEN
+        assertEquals(1, hotAccounts.count());
+        assertEquals(-1, hotAccounts.slotFor(otherAccountId));
+        assertTrue(IntStream.range(0, 100).map(i -> hotAccounts.slotFor(hotAccountId)).allMatch(slot -> slot >= 0 && slot < 4));
+        assertEquals(4, IntStream.range(0, 1000).map(i -> hotAccounts.slotFor(hotAccountId)).distinct().count());
+    }
+
+    @Test
+    public void recordContention_should_not_promote_when_disabled() {
+
+        // GIVEN
+        HotAccounts hotAccounts = new HotAccounts(slotRepository, 4, 0, Duration.ofMinutes(1), 100);
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        IntStream.range(0, 1000).forEach(i -> hotAccounts.recordContention(accountId));
+
+        // THEN
+        assertFalse(hotAccounts.promoteIfDue(accountId));
+        verifyNoInteractions(slotRepository);
+    }
+}
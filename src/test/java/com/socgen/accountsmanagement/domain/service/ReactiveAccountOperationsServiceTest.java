@@ -0,0 +1,212 @@
+package com.socgen.accountsmanagement.domain.service;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ReactiveAccountRepository;
+import com.socgen.accountsmanagement.domain.repository.ReactiveOperationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReactiveAccountOperationsServiceTest {
+
+    @Mock
+    ReactiveAccountRepository accountRepo;
+    @Mock
+    ReactiveOperationRepository operationRepo;
+    @Mock
+    TransactionalOperator transactionalOperator;
+    @Mock
+    BalanceSnapshots balanceSnapshots;
+    @Mock
+    AccountRepository committedBalances;
+
+    ReactiveAccountOperationsService underTest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(operationRepo.addOperation(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(balanceSnapshots.dueSnapshot(any(), any())).thenReturn(Optional.empty());
+        underTest = new ReactiveAccountOperationsService(accountRepo, operationRepo, transactionalOperator,
+                AccountOperationsSettings.builder().build(), balanceSnapshots, committedBalances);
+    }
+
+
+    // =================== deposit + withdraw =================== \\
+
+    @Test
+    public void deposit_should_record_operation_and_notify_committed_balance() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account updated = Account.builder().id(accountId).balance(1500L).version(3L).build();
+        when(accountRepo.depositToBalance(accountId, 500L)).thenReturn(Mono.just(updated));
+
+        // WHEN
+        Account account = underTest.deposit(accountId, 500L).block();
+
+        // THEN
+        assertEquals(1500L, account.getBalance());
+        ArgumentCaptor<Operation> operation = ArgumentCaptor.forClass(Operation.class);
+        verify(operationRepo).addOperation(operation.capture());
+        assertEquals(OperationType.DEPOSIT, operation.getValue().getType());
+        assertEquals(500L, operation.getValue().getAmount());
+        verify(transactionalOperator).transactional(any(Mono.class));
+        verify(committedBalances).balanceUpdated(updated);
+    }
+
+    @Test
+    public void deposit_should_throw_exception_when_account_not_found() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepo.depositToBalance(accountId, 500L)).thenReturn(Mono.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(Mono.just(false));
+
+        // WHEN
+        Mono<Account> deposit = underTest.deposit(accountId, 500L);
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, deposit::block);
+        verify(operationRepo, never()).addOperation(any());
+        verify(committedBalances, never()).balanceUpdated(any());
+    }
+
+    @Test
+    public void deposit_should_reject_not_positive_amount() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+
+        // WHEN
+        Mono<Account> deposit = underTest.deposit(accountId, -500L);
+
+        // THEN
+        assertThrows(ValidationException.class, deposit::block);
+        verifyNoInteractions(accountRepo, operationRepo);
+    }
+
+    @Test
+    public void withdraw_should_throw_exception_when_balance_insufficient() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepo.withdrawFromBalance(accountId, 500L)).thenReturn(Mono.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(Mono.just(true));
+
+        // WHEN
+        Mono<Account> withdrawal = underTest.withdraw(accountId, 500L);
+
+        // THEN
+        assertThrows(InsufficientFundException.class, withdrawal::block);
+        verify(operationRepo, never()).addOperation(any());
+    }
+
+    @Test
+    public void withdraw_should_throw_exception_when_account_not_found() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepo.withdrawFromBalance(accountId, 500L)).thenReturn(Mono.empty());
+        when(accountRepo.existsAccount(accountId)).thenReturn(Mono.just(false));
+
+        // WHEN
+        Mono<Account> withdrawal = underTest.withdraw(accountId, 500L);
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, withdrawal::block);
+    }
+
+    @Test
+    public void withdraw_should_write_due_snapshot() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        Account updated = Account.builder().id(accountId).balance(200L).version(100L).build();
+        BalanceSnapshot snapshot = BalanceSnapshot.builder().accountId(accountId).balance(200L).build();
+        when(accountRepo.withdrawFromBalance(accountId, 300L)).thenReturn(Mono.just(updated));
+        when(balanceSnapshots.dueSnapshot(eq(updated), any())).thenReturn(Optional.of(snapshot));
+        when(accountRepo.addSnapshot(snapshot)).thenReturn(Mono.empty());
+
+        // WHEN
+        Account account = underTest.withdraw(accountId, 300L).block();
+
+        // THEN
+        assertEquals(200L, account.getBalance());
+        verify(accountRepo).addSnapshot(snapshot);
+    }
+
+
+    // =================== operations history =================== \\
+
+    @Test
+    public void operationsHistory_should_return_page_with_next_cursor() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        LocalDateTime date = LocalDateTime.now();
+        Operation[] operations = IntStream.range(0, 3)
+                .mapToObj(i -> Operation.builder()
+                        .id(UUID.randomUUID())
+                        .type(OperationType.DEPOSIT)
+                        .amount(100L)
+                        .date(date.minusSeconds(i))
+                        .build())
+                .toArray(Operation[]::new);
+        when(accountRepo.existsAccount(accountId)).thenReturn(Mono.just(true));
+        when(operationRepo.operationsHistory(accountId, null, 3)).thenReturn(Flux.just(operations));
+
+        // WHEN
+        OperationsPage page = underTest.operationsHistory(accountId, null, 2).block();
+
+        // THEN
+        assertEquals(2, page.getOperations().size());
+        assertEquals(OperationCursor.after(operations[1]), page.getNext());
+    }
+
+    @Test
+    public void operationsHistory_should_throw_exception_when_account_not_found() {
+
+        // GIVEN
+        UUID accountId = UUID.randomUUID();
+        when(accountRepo.existsAccount(accountId)).thenReturn(Mono.just(false));
+
+        // WHEN
+        Mono<OperationsPage> page = underTest.operationsHistory(accountId, null, 2);
+
+        // THEN
+        assertThrows(AccountNotFoundException.class, page::block);
+        verify(operationRepo, never()).operationsHistory(any(), any(), anyInt());
+    }
+}
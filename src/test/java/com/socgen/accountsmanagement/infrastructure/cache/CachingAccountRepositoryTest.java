@@ -0,0 +1,137 @@
+package com.socgen.accountsmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CachingAccountRepositoryTest {
+
+    @Mock
+    private AccountRepository delegate;
+
+    private CachingAccountRepository repository;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        repository = new CachingAccountRepository(delegate, Caffeine.newBuilder()
+                .maximumSize(100)
+                .recordStats()
+                .<UUID, Account>build());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    public void findAccountById_should_load_once_and_return_copies() {
+
+        // GIVEN
+        when(delegate.findAccountById(accountId)).thenReturn(Optional.of(account(100L, 0L)));
+
+        // WHEN
+        Account first = repository.findAccountById(accountId).orElseThrow();
+        first.setBalance(0L);
+        Account second = repository.findAccountById(accountId).orElseThrow();
+
+        // THEN
+        assertEquals(100L, second.getBalance());
+        verify(delegate, times(1)).findAccountById(accountId);
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    public void findAccountById_should_read_database_in_write_transaction() {
+
+        // GIVEN
+        when(delegate.findAccountById(accountId)).thenReturn(Optional.of(account(100L, 0L)));
+        repository.findAccountById(accountId);
+        beginTransaction();
+
+        // WHEN
+        repository.findAccountById(accountId);
+
+        // THEN
+        verify(delegate, times(2)).findAccountById(accountId);
+    }
+
+    @Test
+    public void saveAccount_should_update_cache_after_commit_only() {
+
+        // GIVEN
+        when(delegate.findAccountById(accountId)).thenReturn(Optional.of(account(100L, 0L)));
+        repository.findAccountById(accountId);
+        beginTransaction();
+
+        // WHEN
+        Account withdrawn = account(40L, 1L);
+        repository.saveAccount(withdrawn);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+
+        // THEN
+        assertEquals(100L, repository.findAccountById(accountId).orElseThrow().getBalance());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(40L, repository.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void withdrawFromBalance_should_never_replace_newer_balance() {
+
+        // GIVEN
+        when(delegate.withdrawFromBalance(accountId, 10L)).thenReturn(Optional.of(account(90L, 1L)));
+        when(delegate.withdrawFromBalance(accountId, 20L)).thenReturn(Optional.of(account(70L, 2L)));
+
+        // WHEN
+        repository.withdrawFromBalance(accountId, 20L);
+        repository.withdrawFromBalance(accountId, 10L);
+
+        // THEN
+        assertEquals(70L, repository.findAccountById(accountId).orElseThrow().getBalance());
+        verify(delegate, never()).findAccountById(accountId);
+    }
+
+    @Test
+    public void findAccountById_should_not_cache_unknown_account() {
+
+        // GIVEN
+        when(delegate.findAccountById(accountId)).thenReturn(Optional.empty());
+
+        // WHEN
+        assertTrue(repository.findAccountById(accountId).isEmpty());
+        assertTrue(repository.findAccountById(accountId).isEmpty());
+
+        // THEN
+        verify(delegate, times(2)).findAccountById(accountId);
+    }
+
+    private void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private Account account(long balance, long version) {
+        return Account.builder().id(accountId).balance(balance).version(version).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.socgen.accountsmanagement.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaffeineRecentSnapshotsTest {
+
+    private final CaffeineRecentSnapshots recentSnapshots = new CaffeineRecentSnapshots(Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .<UUID, Boolean>build());
+
+    @Test
+    public void recordIfNoneRecent_should_record_account_once_within_interval() {
+        UUID accountId = UUID.randomUUID();
+
+        assertTrue(recentSnapshots.recordIfNoneRecent(accountId));
+        assertFalse(recentSnapshots.recordIfNoneRecent(accountId));
+        assertTrue(recentSnapshots.recordIfNoneRecent(UUID.randomUUID()));
+    }
+
+    @Test
+    public void recordIfNoneRecent_should_see_recorded_snapshot() {
+        UUID accountId = UUID.randomUUID();
+
+        recentSnapshots.record(accountId);
+
+        assertFalse(recentSnapshots.recordIfNoneRecent(accountId));
+    }
+}
@@ -0,0 +1,143 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaOperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataJournalCommitRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JournalWriteBehindTest {
+
+    private static final long SEGMENT_SIZE = 16 * OperationJournal.RECORD_SIZE;
+
+    @Mock
+    private JpaOperationRepository operationRepository;
+
+    @Mock
+    private SpringDataJournalCommitRepository commitRepository;
+
+    @TempDir
+    Path directory;
+
+    private final List<UUID> inserted = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        lenient().doAnswer(invocation -> {
+            List<Operation> operations = invocation.getArgument(0);
+            operations.forEach(operation -> inserted.add(operation.getId()));
+            return null;
+        }).when(operationRepository).insertOperations(anyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    public void start_should_replay_operation_committed_before_the_process_stopped() {
+
+        // GIVEN
+        Operation operation = operation();
+        OperationJournal journal = open();
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        new JournaledOperationRepository(journal, operationRepository, commitRepository).addOperation(operation);
+        verify(commitRepository).insert(operation.getId());
+        // the transaction committed, the process stopped before the record was completed
+        journal.close();
+        when(commitRepository.existsById(operation.getId())).thenReturn(true);
+
+        // WHEN
+        JournalWriteBehind writeBehind = writeBehind(open(), 10);
+        writeBehind.start();
+        writeBehind.stop();
+
+        // THEN
+        assertEquals(List.of(operation.getId()), inserted);
+        verify(commitRepository).deleteAllByIdInBatch(List.of(operation.getId()));
+    }
+
+    @Test
+    public void start_should_drop_operation_whose_transaction_did_not_commit() {
+
+        // GIVEN
+        Operation operation = operation();
+        OperationJournal journal = open();
+        journal.append(operation);
+        journal.close();
+        when(commitRepository.existsById(operation.getId())).thenReturn(false);
+
+        // WHEN
+        JournalWriteBehind writeBehind = writeBehind(open(), 10);
+        writeBehind.start();
+        writeBehind.stop();
+
+        // THEN
+        assertEquals(List.of(), inserted);
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    public void drain_should_go_past_a_batch_of_aborted_operations() {
+
+        // GIVEN
+        Operation committed = operation();
+        OperationJournal journal = open();
+        journal.complete(journal.append(operation()), false);
+        journal.complete(journal.append(operation()), false);
+        journal.complete(journal.append(committed), true);
+        JournalWriteBehind writeBehind = writeBehind(journal, 2);
+
+        // WHEN
+        long applied = writeBehind.drain();
+
+        // THEN
+        assertEquals(1, applied);
+        assertEquals(List.of(committed.getId()), inserted);
+        assertEquals(3, journal.appliedSequence());
+        journal.close();
+    }
+
+    private OperationJournal open() {
+        return new OperationJournal(directory, SEGMENT_SIZE, FsyncPolicy.NEVER);
+    }
+
+    private JournalWriteBehind writeBehind(OperationJournal journal, int batchSize) {
+        return new JournalWriteBehind(journal, operationRepository, commitRepository, batchSize,
+                Duration.ofMillis(10), FsyncPolicy.NEVER, Duration.ofSeconds(1));
+    }
+
+    private static Operation operation() {
+        return Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(100L)
+                .date(LocalDateTime.now())
+                .account(Account.builder().id(UUID.randomUUID()).build())
+                .build();
+    }
+}
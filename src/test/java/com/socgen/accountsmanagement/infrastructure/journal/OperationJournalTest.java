@@ -0,0 +1,201 @@
+package com.socgen.accountsmanagement.infrastructure.journal;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OperationJournalTest {
+
+    private static final long SEGMENT_SIZE = 4 * OperationJournal.RECORD_SIZE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void read_should_return_committed_operations() {
+
+        // GIVEN
+        Operation operation = operation(1500L);
+        List<JournalEntry> entries = new ArrayList<>();
+
+        // WHEN
+        try (OperationJournal journal = open()) {
+            long sequence = journal.append(operation);
+            journal.complete(sequence, true);
+            assertEquals(1, journal.read(0, 10, entries));
+        }
+
+        // THEN
+        assertEquals(1, entries.size());
+        Operation read = entries.get(0).getOperation();
+        assertEquals(operation.getId(), read.getId());
+        assertEquals(operation.getAccount().getId(), read.getAccount().getId());
+        assertEquals(OperationType.DEPOSIT, read.getType());
+        assertEquals(1500L, read.getAmount());
+        assertEquals(operation.getDate(), read.getDate());
+    }
+
+    @Test
+    public void read_should_stop_at_pending_operation() {
+
+        // GIVEN
+        List<JournalEntry> entries = new ArrayList<>();
+
+        try (OperationJournal journal = open()) {
+            long first = journal.append(operation(100L));
+            journal.append(operation(200L));
+            long third = journal.append(operation(300L));
+            journal.complete(first, true);
+            journal.complete(third, true);
+
+            // WHEN
+            long next = journal.read(0, 10, entries);
+
+            // THEN
+            assertEquals(1, next);
+            assertEquals(1, entries.size());
+        }
+    }
+
+    @Test
+    public void read_should_return_aborted_operations_as_not_committed() {
+
+        // GIVEN
+        List<JournalEntry> entries = new ArrayList<>();
+
+        try (OperationJournal journal = open()) {
+            journal.complete(journal.append(operation(100L)), false);
+            journal.complete(journal.append(operation(200L)), true);
+
+            // WHEN
+            journal.read(0, 10, entries);
+        }
+
+        // THEN
+        assertEquals(2, entries.size());
+        assertFalse(entries.get(0).isCommitted());
+        assertTrue(entries.get(1).isCommitted());
+    }
+
+    @Test
+    public void append_should_rotate_segments_and_checkpoint_should_delete_applied_ones() throws IOException {
+
+        // GIVEN
+        List<JournalEntry> entries = new ArrayList<>();
+
+        try (OperationJournal journal = open()) {
+            for (int i = 0; i < 10; i++)
+                journal.complete(journal.append(operation(i)), true);
+            assertEquals(3, segments());
+
+            // WHEN
+            long next = journal.read(0, 10, entries);
+            journal.checkpoint(next);
+
+            // THEN
+            assertEquals(10, entries.size());
+            assertEquals(10, journal.appliedSequence());
+            assertEquals(1, segments());
+        }
+
+        try (OperationJournal journal = open()) {
+            assertEquals(10, journal.appliedSequence());
+            assertEquals(10, journal.endSequence());
+        }
+    }
+
+    @Test
+    public void open_should_replay_unapplied_operations_and_drop_torn_records() throws IOException {
+
+        // GIVEN
+        Operation committed = operation(300L);
+        try (OperationJournal journal = open()) {
+            journal.complete(journal.append(operation(100L)), true);
+            journal.checkpoint(1);
+            journal.complete(journal.append(operation(200L)), true);
+            journal.append(committed);
+            journal.append(operation(400L));
+            journal.append(operation(500L));
+        }
+        corruptRecord(4);
+
+        // WHEN
+        List<JournalEntry> entries = new ArrayList<>();
+        try (OperationJournal journal = open()) {
+            // the process stopped after the transaction of the first pending operation committed
+            long settled = journal.settle(committed.getId()::equals);
+            journal.read(journal.appliedSequence(), 10, entries);
+
+            // THEN
+            assertEquals(1, settled);
+            assertEquals(4, journal.endSequence());
+        }
+
+        assertEquals(3, entries.size());
+        assertEquals(200L, entries.get(0).getOperation().getAmount());
+        assertEquals(300L, entries.get(1).getOperation().getAmount());
+        assertFalse(entries.get(2).isCommitted());
+    }
+
+    @Test
+    public void read_should_stop_at_pending_operation_of_a_previous_run_until_settled() {
+
+        // GIVEN
+        try (OperationJournal journal = open()) {
+            journal.append(operation(100L));
+        }
+
+        // WHEN
+        List<JournalEntry> entries = new ArrayList<>();
+        try (OperationJournal journal = open()) {
+            long next = journal.read(0, 10, entries);
+
+            // THEN
+            assertEquals(0, next);
+            assertTrue(entries.isEmpty());
+        }
+    }
+
+    private OperationJournal open() {
+        return new OperationJournal(directory, SEGMENT_SIZE, FsyncPolicy.NEVER);
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+        }
+    }
+
+    private void corruptRecord(long sequence) throws IOException {
+        long recordsPerSegment = SEGMENT_SIZE / OperationJournal.RECORD_SIZE;
+        String segment = String.format("segment-%020d.log", sequence / recordsPerSegment);
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve(segment).toFile(), "rw")) {
+            file.seek(sequence % recordsPerSegment * OperationJournal.RECORD_SIZE + 20);
+            file.write(0xFF);
+        }
+    }
+
+    private static Operation operation(long amount) {
+        return Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(amount)
+                .date(LocalDateTime.now())
+                .account(Account.builder().id(UUID.randomUUID()).build())
+                .build();
+    }
+}
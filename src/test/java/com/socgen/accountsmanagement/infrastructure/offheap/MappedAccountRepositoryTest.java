@@ -0,0 +1,282 @@
+package com.socgen.accountsmanagement.infrastructure.offheap;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Client;
+import com.socgen.accountsmanagement.domain.concurrency.AccountLocks;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.JpaAccountRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.repository.SpringDataAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class MappedAccountRepositoryTest {
+
+    @Mock
+    private JpaAccountRepository jpaAccountRepository;
+
+    @Mock
+    private SpringDataAccountRepository springDataAccountRepository;
+
+    @Mock
+    private OperationsViews operationsViews;
+
+    @TempDir
+    private Path directory;
+
+    private MappedAccountStore store;
+
+    private MappedAccountRepository repository;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        store = new MappedAccountStore(directory.resolve("accounts.store"), 64);
+        repository = new MappedAccountRepository(store, jpaAccountRepository, springDataAccountRepository,
+                operationsViews);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    public void addAccount_should_store_added_account() {
+
+        // GIVEN
+        Client client = Client.builder().id(UUID.randomUUID()).build();
+        when(jpaAccountRepository.addAccount(any())).thenReturn(Account.builder()
+                .id(accountId).balance(100L).version(0L).build());
+
+        // WHEN
+        repository.addAccount(Account.builder().client(client).balance(100L).build());
+
+        // THEN
+        assertEquals(100L, repository.findAccountById(accountId).orElseThrow().getBalance());
+        verifyNoInteractions(springDataAccountRepository);
+    }
+
+    @Test
+    public void findAccountById_should_load_account_from_database_once() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 2L);
+
+        // WHEN
+        Account first = repository.findAccountById(accountId).orElseThrow();
+        Account second = repository.findAccountById(accountId).orElseThrow();
+
+        // THEN
+        assertEquals(100L, first.getBalance());
+        assertEquals(2L, first.getVersion());
+        assertEquals(first, second);
+        verify(springDataAccountRepository, times(1)).findRecordById(accountId);
+    }
+
+    @Test
+    public void findAccountById_should_return_empty_for_unknown_account() {
+        when(springDataAccountRepository.findRecordById(accountId)).thenReturn(Optional.empty());
+
+        assertTrue(repository.findAccountById(accountId).isEmpty());
+    }
+
+    @Test
+    public void saveAccount_should_fail_on_stale_version() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 2L);
+        Account account = repository.findAccountById(accountId).orElseThrow();
+        repository.depositToBalance(accountId, 10L);
+
+        // WHEN / THEN
+        account.setBalance(50L);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> repository.saveAccount(account));
+        assertEquals(110L, repository.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void saveAccount_should_bump_version() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 2L);
+        Account account = repository.findAccountById(accountId).orElseThrow();
+
+        // WHEN
+        account.setBalance(60L);
+        repository.saveAccount(account);
+
+        // THEN
+        assertEquals(3L, account.getVersion());
+        assertEquals(account, repository.findAccountById(accountId).orElseThrow());
+    }
+
+    @Test
+    public void saveAccount_should_refuse_account_without_version() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 2L);
+        repository.findAccountById(accountId);
+        Account account = Account.builder().id(accountId).balance(70L).build();
+
+        // WHEN / THEN
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAccount(account));
+        assertEquals(100L, repository.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void saveAccount_should_not_let_a_withdrawal_spend_a_rolled_back_deposit() throws Exception {
+
+        // GIVEN
+        givenDatabaseAccount(0L, 0L);
+        AccountLocks locks = new AccountLocks(16);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Callable<Boolean> withdrawal = () -> complete(TransactionSynchronization.STATUS_COMMITTED, () ->
+                locks.withLock(accountId, () -> {
+                    Account account = repository.findAccountById(accountId).orElseThrow();
+                    if (account.getBalance() < 100L) return false;
+
+                    account.setBalance(account.getBalance() - 100L);
+                    repository.saveAccount(account);
+                    return true;
+                }));
+        AtomicReference<Future<Boolean>> withdrawn = new AtomicReference<>();
+
+        // WHEN
+        // the deposit is rolled back, the withdrawal takes the account lock as soon as the deposit releases it
+        executor.submit(() -> complete(TransactionSynchronization.STATUS_ROLLED_BACK, () ->
+                locks.withLock(accountId, () -> {
+                    // registered after the lock release and before the undo of the deposit
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            Future<Boolean> future = executor.submit(withdrawal);
+                            withdrawn.set(future);
+                            assertDoesNotThrow(() -> future.get(10, TimeUnit.SECONDS));
+                        }
+                    });
+                    Account account = repository.findAccountById(accountId).orElseThrow();
+                    account.setBalance(account.getBalance() + 100L);
+                    repository.saveAccount(account);
+                    return null;
+                }))).get(10, TimeUnit.SECONDS);
+
+        // THEN
+        assertFalse(withdrawn.get().get(), "The rolled back deposit should not be withdrawn");
+        assertEquals(0L, repository.findAccountById(accountId).orElseThrow().getBalance());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void withdrawFromBalance_should_be_undone_on_rollback() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 0L);
+        beginTransaction();
+
+        // WHEN
+        Optional<Account> withdrawn = repository.withdrawFromBalance(accountId, 30L);
+        Optional<Account> refused = repository.withdrawFromBalance(accountId, 100L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // THEN
+        assertEquals(70L, withdrawn.orElseThrow().getBalance());
+        assertTrue(refused.isEmpty());
+        assertEquals(100L, repository.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void depositToBalance_should_be_kept_on_commit() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 0L);
+        beginTransaction();
+
+        // WHEN
+        repository.depositToBalance(accountId, 30L);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        // THEN
+        assertEquals(130L, repository.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void writeBack_should_write_updated_balances_to_database_until_committed() {
+
+        // GIVEN
+        givenDatabaseAccount(100L, 2L);
+        repository.depositToBalance(accountId, 30L);
+        beginTransaction();
+
+        // WHEN
+        int rolledBack = repository.writeBack();
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        beginTransaction();
+        int committed = repository.writeBack();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        int unchanged = repository.writeBack();
+
+        // THEN
+        assertEquals(1, rolledBack);
+        assertEquals(1, committed);
+        assertEquals(0, unchanged);
+        verify(springDataAccountRepository, times(2)).writeBackBalance(accountId, 130L, 3L);
+    }
+
+    private void givenDatabaseAccount(long balance, long version) {
+        SpringDataAccountRepository.AccountRecordView view = mock(SpringDataAccountRepository.AccountRecordView.class);
+        when(view.getId()).thenReturn(accountId);
+        when(view.getBalance()).thenReturn(balance);
+        when(view.getVersion()).thenReturn(version);
+        when(springDataAccountRepository.findRecordById(accountId)).thenReturn(Optional.of(view));
+    }
+
+    /**
+     * Runs the work in a transaction completed with the status, on the current thread.
+     */
+    private static <T> T complete(int status, Callable<T> work) throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.call();
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+}
@@ -0,0 +1,229 @@
+package com.socgen.accountsmanagement.infrastructure.offheap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedAccountStoreTest {
+
+    @TempDir
+    private Path directory;
+
+    private MappedAccountStore store;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        store = new MappedAccountStore(directory.resolve("accounts.store"), 1000);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    // =================== insert / read =================== \\
+
+    @Test
+    public void insert_should_store_account_once() {
+
+        // WHEN
+        boolean inserted = store.insert(accountId, 100L, 0L, UUID.randomUUID());
+        boolean insertedAgain = store.insert(accountId, 500L, 0L, UUID.randomUUID());
+
+        // THEN
+        assertTrue(inserted);
+        assertFalse(insertedAgain);
+        assertEquals(1, store.size());
+        assertEquals(1024, store.capacity());
+        assertEquals(100L, balance(accountId));
+    }
+
+    @Test
+    public void read_should_return_null_for_unknown_account() {
+        assertNull(store.read(accountId, (id, balance, version) -> balance));
+        assertFalse(store.contains(accountId));
+    }
+
+    @Test
+    public void insert_should_fail_when_store_is_full() {
+
+        // GIVEN
+        for (int i = 0; i < 768; i++)
+            store.insert(UUID.randomUUID(), 0L, 0L, null);
+
+        // WHEN / THEN
+        assertThrows(IllegalStateException.class, () -> store.insert(accountId, 0L, 0L, null));
+    }
+
+    @Test
+    public void insert_should_keep_colliding_accounts_apart() {
+
+        // GIVEN
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 700; i++)
+            ids.add(UUID.randomUUID());
+
+        // WHEN
+        for (int i = 0; i < ids.size(); i++)
+            store.insert(ids.get(i), i, 0L, null);
+
+        // THEN
+        for (int i = 0; i < ids.size(); i++)
+            assertEquals(i, balance(ids.get(i)));
+    }
+
+    // =================== balance updates =================== \\
+
+    @Test
+    public void addToBalance_should_update_balance_and_version() {
+
+        // GIVEN
+        store.insert(accountId, 100L, 3L, null);
+
+        // WHEN
+        boolean added = store.addToBalance(accountId, 50L);
+
+        // THEN
+        assertTrue(added);
+        assertEquals(150L, balance(accountId));
+        assertEquals(4L, version(accountId));
+        assertFalse(store.addToBalance(UUID.randomUUID(), 50L));
+    }
+
+    @Test
+    public void subtractFromBalanceIfCovered_should_refuse_insufficient_balance() {
+
+        // GIVEN
+        store.insert(accountId, 100L, 0L, null);
+
+        // WHEN
+        boolean refused = store.subtractFromBalanceIfCovered(accountId, 101L);
+        boolean subtracted = store.subtractFromBalanceIfCovered(accountId, 100L);
+
+        // THEN
+        assertFalse(refused);
+        assertTrue(subtracted);
+        assertEquals(0L, balance(accountId));
+    }
+
+    @Test
+    public void compareAndSetBalance_should_check_version() {
+
+        // GIVEN
+        store.insert(accountId, 100L, 7L, null);
+
+        // WHEN
+        long stale = store.compareAndSetBalance(accountId, 6L, 10L);
+        long previous = store.compareAndSetBalance(accountId, 7L, 20L);
+
+        // THEN
+        assertEquals(Long.MIN_VALUE, stale);
+        assertEquals(100L, previous);
+        assertEquals(20L, balance(accountId));
+        assertEquals(8L, version(accountId));
+    }
+
+    @Test
+    public void store_should_keep_accounts_when_reopened() {
+
+        // GIVEN
+        store.insert(accountId, 100L, 0L, null);
+        store.addToBalance(accountId, 25L);
+        store.close();
+
+        // WHEN
+        store = new MappedAccountStore(directory.resolve("accounts.store"), 16);
+
+        // THEN
+        assertEquals(1024, store.capacity());
+        assertEquals(1, store.size());
+        assertEquals(125L, balance(accountId));
+        assertEquals(1L, version(accountId));
+    }
+
+    @Test
+    public void read_should_see_balance_and_version_of_the_same_update() throws Exception {
+
+        // GIVEN
+        // every deposit adds 1 and bumps the version, balance - version stays 100
+        store.insert(accountId, 100L, 0L, null);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // WHEN
+        List<Future<?>> writers = new ArrayList<>();
+        for (int i = 0; i < 2; i++)
+            writers.add(executor.submit(() -> {
+                for (int j = 0; j < 100_000; j++)
+                    store.addToBalance(accountId, 1L);
+            }));
+        Future<Long> reader = executor.submit(() -> {
+            long torn = 0;
+            while (running.get())
+                if (store.read(accountId, (id, balance, version) -> balance - version) != 100L)
+                    torn++;
+            return torn;
+        });
+        for (Future<?> writer : writers)
+            writer.get();
+        running.set(false);
+
+        // THEN
+        assertEquals(0L, reader.get());
+        assertEquals(200_100L, balance(accountId));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    // =================== forEachUnsynced =================== \\
+
+    @Test
+    public void forEachUnsynced_should_list_accounts_updated_since_marked_synced() {
+
+        // GIVEN
+        UUID otherId = UUID.randomUUID();
+        store.insert(accountId, 100L, 3L, null);
+        store.insert(otherId, 50L, 0L, null);
+        store.addToBalance(accountId, 25L);
+
+        // WHEN
+        List<String> unsynced = unsynced();
+        store.markSynced(accountId, 4L);
+        List<String> afterSync = unsynced();
+        store.addToBalance(accountId, 5L);
+
+        // THEN
+        assertEquals(List.of(accountId + " 125 4"), unsynced);
+        assertEquals(List.of(), afterSync);
+        assertEquals(List.of(accountId + " 130 5"), unsynced());
+    }
+
+    private List<String> unsynced() {
+        List<String> accounts = new ArrayList<>();
+        store.forEachUnsynced((id, balance, version) -> accounts.add(id + " " + balance + " " + version));
+        return accounts;
+    }
+
+    private long balance(UUID id) {
+        return store.read(id, (accountId, balance, version) -> balance);
+    }
+
+    private long version(UUID id) {
+        return store.read(id, (accountId, balance, version) -> version);
+    }
+}
@@ -0,0 +1,174 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkImporterTest {
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulk-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table client (id uuid primary key, first_name varchar(255), " +
+                "last_name varchar(255))");
+        jdbcTemplate.execute("create table account (id uuid primary key, balance bigint not null, version bigint, " +
+                "client_id uuid unique references client)");
+        jdbcTemplate.execute("create table operation (id uuid primary key, type varchar(255), " +
+                "amount bigint not null, date timestamp(6), account_id uuid references account)");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("shutdown");
+    }
+
+    // =================== importGenerated =================== \\
+
+    @Test
+    public void importGenerated_should_insert_clients_accounts_and_operations() {
+
+        // GIVEN
+        BulkImporter importer = new BulkImporter(dataSource, 4, 100);
+
+        // WHEN
+        BulkImporter.Report report = importer.importGenerated(250, 7, 30);
+
+        // THEN
+        assertEquals(250, report.getClients());
+        assertEquals(250, report.getAccounts());
+        assertEquals(1750, report.getOperations());
+        assertEquals(250, jdbcTemplate.queryForObject("select count(*) from client", Long.class));
+        assertEquals(250, jdbcTemplate.queryForObject("select count(*) from account", Long.class));
+        assertEquals(1750, jdbcTemplate.queryForObject("select count(*) from operation", Long.class));
+    }
+
+    @Test
+    public void importGenerated_should_keep_balances_consistent_with_operations() {
+
+        // GIVEN
+        BulkImporter importer = new BulkImporter(dataSource, 2, 50);
+
+        // WHEN
+        importer.importGenerated(100, 20, 10);
+
+        // THEN
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from account a where a.balance < 0 " +
+                "or a.balance <> (select coalesce(sum(case when o.type = 'DEPOSIT' then o.amount else -o.amount end), 0) " +
+                "from operation o where o.account_id = a.id)", Long.class));
+    }
+
+    @Test
+    public void importGenerated_should_commit_at_most_batch_size_rows_when_an_account_has_more_operations() {
+
+        // GIVEN
+        AtomicInteger largestCommit = new AtomicInteger();
+        BulkImporter importer = new BulkImporter(countingCommittedRows(largestCommit), 2, 10);
+
+        // WHEN
+        BulkImporter.Report report = importer.importGenerated(3, 25, 10);
+
+        // THEN
+        assertEquals(75, report.getOperations());
+        assertEquals(75, jdbcTemplate.queryForObject("select count(*) from operation", Long.class));
+        assertEquals(10, largestCommit.get());
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from account a where a.balance < 0 " +
+                "or a.balance <> (select coalesce(sum(case when o.type = 'DEPOSIT' then o.amount else -o.amount end), 0) " +
+                "from operation o where o.account_id = a.id)", Long.class));
+    }
+
+    // =================== importCsv =================== \\
+
+    @Test
+    public void importCsv_should_load_files(@TempDir Path directory) throws IOException {
+
+        // GIVEN
+        UUID clientId = UUID.randomUUID();
+        UUID accountId = UUID.randomUUID();
+        Files.writeString(directory.resolve("client.csv"), "id,first_name,last_name\n" +
+                clientId + ",Federer,Roger\n");
+        Files.writeString(directory.resolve("account.csv"), "id,balance,client_id\n" +
+                accountId + ",700," + clientId + "\n");
+        Files.writeString(directory.resolve("operation.csv"), "id,type,amount,date,account_id\n" +
+                UUID.randomUUID() + ",DEPOSIT,1000,2024-01-02 10:00:00," + accountId + "\n" +
+                UUID.randomUUID() + ",WITHDRAW,300,2024-01-03 10:00:00," + accountId + "\n");
+        BulkImporter importer = new BulkImporter(dataSource, 1, 100);
+
+        // WHEN
+        BulkImporter.Report report = importer.importCsv(directory);
+
+        // THEN
+        assertEquals(4, report.rows());
+        assertEquals(700, jdbcTemplate.queryForObject("select balance from account where id = ?", Long.class,
+                accountId));
+        assertEquals(0, jdbcTemplate.queryForObject("select version from account where id = ?", Long.class,
+                accountId));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from operation where account_id = ?",
+                Long.class, accountId));
+    }
+
+    @Test
+    public void importCsv_should_fail_when_file_is_missing(@TempDir Path directory) {
+        BulkImporter importer = new BulkImporter(dataSource, 1, 100);
+
+        assertThrows(IllegalArgumentException.class, () -> importer.importCsv(directory));
+    }
+
+    /**
+     * Data source recording the largest count of rows added to the batches of a connection between two commits.
+     */
+    private DataSource countingCommittedRows(AtomicInteger largestCommit) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                AtomicInteger pending = new AtomicInteger();
+                return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                        (proxy, method, args) -> {
+                            Object result = invoke(connection, method, args);
+                            if (result instanceof PreparedStatement statement)
+                                return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                        new Class<?>[]{PreparedStatement.class}, (statementProxy, statementMethod, statementArgs) -> {
+                                            if (statementMethod.getName().equals("addBatch"))
+                                                pending.incrementAndGet();
+                                            return invoke(statement, statementMethod, statementArgs);
+                                        });
+                            if (method.getName().equals("commit"))
+                                largestCommit.accumulateAndGet(pending.getAndSet(0), Math::max);
+                            return result;
+                        });
+            }
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedUuidsTest {
+
+    @Test
+    public void next_should_generate_version_7_uuid() {
+        UUID uuid = TimeOrderedUuids.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void next_should_embed_creation_time() {
+        long before = System.currentTimeMillis();
+        UUID uuid = TimeOrderedUuids.next();
+        long after = System.currentTimeMillis();
+
+        long millis = TimeOrderedUuids.epochMillis(uuid);
+        // a burst of ids in the same millisecond may borrow the following ones
+        assertTrue(millis >= before && millis <= after + 1);
+    }
+
+    @Test
+    public void next_should_be_strictly_increasing_within_same_millisecond() {
+
+        // GIVEN
+        long now = System.currentTimeMillis();
+        TimeOrderedUuids generator = new TimeOrderedUuids();
+        List<UUID> uuids = new ArrayList<>();
+
+        // WHEN
+        for (int i = 0; i < 10_000; i++)
+            uuids.add(generator.generate(now));
+
+        // THEN
+        for (int i = 1; i < uuids.size(); i++)
+            assertTrue(uuids.get(i - 1).compareTo(uuids.get(i)) < 0, "Ids are not increasing at " + i);
+    }
+
+    @Test
+    public void next_should_keep_increasing_when_clock_goes_back() {
+        TimeOrderedUuids generator = new TimeOrderedUuids();
+        long now = System.currentTimeMillis();
+
+        UUID first = generator.generate(now);
+        UUID second = generator.generate(now - 5_000);
+
+        assertTrue(first.compareTo(second) < 0);
+    }
+}
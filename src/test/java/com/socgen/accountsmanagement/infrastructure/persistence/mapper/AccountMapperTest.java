@@ -0,0 +1,122 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.mapper;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationsView;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.repository.OperationRepository;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+public class AccountMapperTest {
+
+    private static final int HISTORY_SIZE = 100_000;
+
+    @Test
+    public void toEntity_should_map_long_history_referencing_its_account() {
+
+        // GIVEN
+        LocalDateTime date = LocalDateTime.of(2023, 1, 1, 10, 0);
+        List<Operation> operations = new ArrayList<>();
+        Account account = Account.builder().id(UUID.randomUUID()).balance(100L).version(3L)
+                .operations(OperationsView.of(operations)).build();
+        for (int i = 0; i < HISTORY_SIZE; i++)
+            operations.add(Operation.builder()
+                    .id(UUID.randomUUID())
+                    .type(OperationType.DEPOSIT)
+                    .amount(i)
+                    .date(date.plusSeconds(i))
+                    .account(account)
+                    .build());
+
+        // WHEN
+        AccountEntity entity = AccountMapper.toEntity(account);
+
+        // THEN
+        assertEquals(HISTORY_SIZE, entity.getOperations().size());
+        OperationEntity last = entity.getOperations().get(HISTORY_SIZE - 1);
+        assertSame(entity, last.getAccount());
+        assertEquals(operations.get(HISTORY_SIZE - 1).getId(), last.getId());
+        assertEquals(date.plusSeconds(HISTORY_SIZE - 1), last.getDate());
+    }
+
+    @Test
+    public void fromEntity_should_map_long_history_referencing_its_account() {
+
+        // GIVEN
+        LocalDateTime date = LocalDateTime.of(2023, 1, 1, 10, 0);
+        List<OperationEntity> operations = new ArrayList<>();
+        AccountEntity entity = AccountEntity.builder().id(UUID.randomUUID()).balance(100L).version(3L)
+                .operations(operations).build();
+        for (int i = 0; i < HISTORY_SIZE; i++)
+            operations.add(OperationEntity.builder()
+                    .id(UUID.randomUUID())
+                    .type(OperationType.WITHDRAW)
+                    .amount(i)
+                    .date(date.plusSeconds(i))
+                    .account(entity)
+                    .build());
+
+        // WHEN
+        Account account = AccountMapper.fromEntity(entity);
+
+        // THEN
+        assertEquals(HISTORY_SIZE, account.getOperations().loaded().size());
+        Operation first = account.getOperations().loaded().get(0);
+        assertSame(account, first.getAccount());
+        assertEquals(date, first.getDate());
+        assertDoesNotThrow(account::toString);
+        assertDoesNotThrow(account::hashCode);
+    }
+
+    @Test
+    public void toEntity_should_not_read_paged_operations() {
+
+        // GIVEN
+        OperationRepository operationRepository = mock(OperationRepository.class);
+        UUID accountId = UUID.randomUUID();
+        Account account = Account.builder().id(accountId).balance(100L).version(3L)
+                .operations(OperationsView.paged(accountId, operationRepository, 10, 0, null)).build();
+
+        // WHEN
+        AccountEntity entity = AccountMapper.toEntity(account);
+
+        // THEN
+        assertTrue(entity.getOperations().isEmpty());
+        verifyNoInteractions(operationRepository);
+    }
+
+    @Test
+    public void operation_toEntity_should_copy_date_and_map_account_as_reference() {
+
+        // GIVEN
+        LocalDateTime date = LocalDateTime.of(2023, 1, 1, 10, 0);
+        Account account = Account.builder().id(UUID.randomUUID()).balance(100L).version(3L).build();
+        Operation operation = Operation.builder()
+                .type(OperationType.DEPOSIT)
+                .amount(100L)
+                .date(date)
+                .account(account)
+                .build();
+        account.setOperations(OperationsView.of(List.of(operation)));
+
+        // WHEN
+        OperationEntity entity = OperationMapper.toEntity(operation);
+
+        // THEN
+        assertEquals(date, entity.getDate());
+        assertEquals(account.getId(), entity.getAccount().getId());
+        assertEquals(3L, entity.getAccount().getVersion());
+        assertNull(entity.getAccount().getOperations());
+    }
+}
@@ -0,0 +1,178 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.service.OperationsViews;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JpaAccountRepository.class)
+public class JpaAccountRepositoryTest {
+
+    @MockBean
+    OperationsViews operationsViews;
+
+    @Autowired
+    JpaAccountRepository underTest;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+
+    // =================== saveAccount =================== \\
+
+    @Test
+    public void saveAccount_should_take_version_from_saved_row() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        Account account = underTest.findAccountById(accountId).orElseThrow();
+        account.setBalance(80L);
+
+        // WHEN
+        underTest.saveAccount(account);
+
+        // THEN
+        assertEquals(1L, account.getVersion());
+        Account saved = underTest.findAccountById(accountId).orElseThrow();
+        assertEquals(80L, saved.getBalance());
+        assertEquals(1L, saved.getVersion());
+    }
+
+    @Test
+    public void saveAccount_should_refuse_account_without_version() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        Account account = Account.builder().id(accountId).balance(70L).build();
+
+        // WHEN
+        // THEN
+        assertThrows(IllegalArgumentException.class, () -> underTest.saveAccount(account));
+        assertEquals(100L, underTest.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void saveAccount_should_refuse_stale_version() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        Account stale = underTest.findAccountById(accountId).orElseThrow();
+        underTest.depositToBalance(accountId, 10L);
+        stale.setBalance(0L);
+
+        // WHEN
+        // THEN
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> underTest.saveAccount(stale));
+        assertEquals(110L, underTest.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+
+    // =================== conditional balance updates =================== \\
+
+    @Test
+    public void depositToBalance_should_return_updated_balance_read_after_the_update() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        statistics.clear();
+
+        // WHEN
+        Account account = underTest.depositToBalance(accountId, 50L).orElseThrow();
+
+        // THEN
+        assertEquals(accountId, account.getId());
+        assertEquals(150L, account.getBalance());
+        assertEquals(1L, account.getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount(), "The update should be followed by a single read");
+        assertEquals(150L, underTest.findAccountById(accountId).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void withdrawFromBalance_should_return_updated_balance_read_after_the_update() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        statistics.clear();
+
+        // WHEN
+        Account account = underTest.withdrawFromBalance(accountId, 100L).orElseThrow();
+
+        // THEN
+        assertEquals(0L, account.getBalance());
+        assertEquals(1L, account.getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount(), "The update should be followed by a single read");
+    }
+
+    @Test
+    public void withdrawFromBalance_should_leave_insufficient_balance_unchanged() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+
+        // WHEN
+        Optional<Account> account = underTest.withdrawFromBalance(accountId, 101L);
+
+        // THEN
+        assertTrue(account.isEmpty());
+        Account unchanged = underTest.findAccountById(accountId).orElseThrow();
+        assertEquals(100L, unchanged.getBalance());
+        assertEquals(0L, unchanged.getVersion());
+    }
+
+    @Test
+    public void depositToBalance_should_refuse_overflowing_balance() {
+
+        // GIVEN
+        UUID accountId = persistAccount(Long.MAX_VALUE - 10);
+
+        // WHEN
+        Optional<Account> account = underTest.depositToBalance(accountId, 11L);
+
+        // THEN
+        assertTrue(account.isEmpty());
+        assertEquals(Long.MAX_VALUE - 10, underTest.findAccountById(accountId).orElseThrow().getBalance());
+        assertEquals(Long.MAX_VALUE, underTest.depositToBalance(accountId, 10L).orElseThrow().getBalance());
+    }
+
+    @Test
+    public void depositToBalance_should_return_empty_for_unknown_account() {
+
+        // WHEN
+        Optional<Account> account = underTest.depositToBalance(UUID.randomUUID(), 50L);
+
+        // THEN
+        assertTrue(account.isEmpty());
+    }
+
+    private UUID persistAccount(long balance) {
+        UUID accountId = entityManager.persistAndFlush(AccountEntity.builder().balance(balance).build()).getId();
+        entityManager.clear();
+        return accountId;
+    }
+}
@@ -0,0 +1,104 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(JpaBalanceSlotRepository.class)
+public class JpaBalanceSlotRepositoryTest {
+
+    @Autowired
+    JpaBalanceSlotRepository underTest;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+
+    // =================== balanceWithSlots =================== \\
+
+    @Test
+    public void balanceWithSlots_should_add_slots_to_account_balance() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        underTest.addSlots(accountId, 3);
+        underTest.addToSlot(accountId, 0, 20L);
+        underTest.addToSlot(accountId, 2, 30L);
+
+        // WHEN
+        Optional<Long> balance = underTest.balanceWithSlots(accountId);
+
+        // THEN
+        assertEquals(Optional.of(150L), balance);
+        assertEquals(Map.of(accountId, 3), underTest.slotCounts());
+    }
+
+    @Test
+    public void balanceWithSlots_should_return_account_balance_without_slots() {
+        UUID accountId = persistAccount(100L);
+
+        assertEquals(Optional.of(100L), underTest.balanceWithSlots(accountId));
+        assertTrue(underTest.balanceWithSlots(UUID.randomUUID()).isEmpty());
+    }
+
+
+    // =================== addToSlot =================== \\
+
+    @Test
+    public void addToSlot_should_refuse_amount_overflowing_balance_with_slots() {
+
+        // GIVEN
+        UUID accountId = persistAccount(Long.MAX_VALUE - 100L);
+        underTest.addSlots(accountId, 2);
+        underTest.addToSlot(accountId, 0, 60L);
+
+        // WHEN
+        boolean overflowing = underTest.addToSlot(accountId, 1, 41L);
+        boolean fitting = underTest.addToSlot(accountId, 1, 40L);
+
+        // THEN
+        assertFalse(overflowing);
+        assertTrue(fitting);
+        assertEquals(Optional.of(Long.MAX_VALUE), underTest.balanceWithSlots(accountId));
+        assertTrue(underTest.existsSlot(accountId, 1));
+        assertFalse(underTest.existsSlot(accountId, 2));
+    }
+
+
+    // =================== drainSlots =================== \\
+
+    @Test
+    public void drainSlots_should_empty_slots() {
+
+        // GIVEN
+        UUID accountId = persistAccount(100L);
+        underTest.addSlots(accountId, 2);
+        underTest.addToSlot(accountId, 0, 20L);
+        underTest.addToSlot(accountId, 1, 30L);
+        // the slots are drained by a later transaction
+        entityManager.clear();
+
+        // WHEN
+        long drained = underTest.drainSlots(accountId);
+
+        // THEN
+        assertEquals(50L, drained);
+        assertEquals(Optional.of(100L), underTest.balanceWithSlots(accountId));
+    }
+
+    private UUID persistAccount(long balance) {
+        UUID accountId = entityManager.persistAndFlush(AccountEntity.builder().balance(balance).build()).getId();
+        entityManager.clear();
+        return accountId;
+    }
+}
@@ -0,0 +1,125 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.BalanceSnapshotEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(JpaBalanceSnapshotRepository.class)
+public class JpaBalanceSnapshotRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 6, 30, 10, 0);
+
+    @Autowired
+    JpaBalanceSnapshotRepository underTest;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private AccountEntity account;
+
+    private UUID secondOperationId;
+
+    @BeforeEach
+    public void setUp() {
+        // 0 -> +100 -> +200 -> -50 -> +400, one operation per hour
+        account = entityManager.persist(AccountEntity.builder().balance(650L).build());
+        addOperation(OperationType.DEPOSIT, 100L, START);
+        secondOperationId = addOperation(OperationType.DEPOSIT, 200L, START.plusHours(1));
+        addOperation(OperationType.WITHDRAW, 50L, START.plusHours(2));
+        addOperation(OperationType.DEPOSIT, 400L, START.plusHours(3));
+    }
+
+    @Test
+    public void balanceAsOf_should_apply_operations_following_latest_snapshot() {
+
+        // GIVEN
+        addSnapshot(300L, START.plusHours(1), secondOperationId);
+
+        // WHEN
+        Optional<Long> balance = underTest.balanceAsOf(account.getId(), START.plusHours(2).plusMinutes(30));
+
+        // THEN
+        assertEquals(Optional.of(250L), balance);
+    }
+
+    @Test
+    public void balanceAsOf_should_revert_operations_preceding_earliest_snapshot() {
+
+        // GIVEN
+        addSnapshot(300L, START.plusHours(1), secondOperationId);
+
+        // WHEN
+        Optional<Long> balance = underTest.balanceAsOf(account.getId(), START.plusMinutes(30));
+
+        // THEN
+        assertEquals(Optional.of(100L), balance);
+    }
+
+    @Test
+    public void balanceAsOf_should_revert_operations_from_current_balance_without_snapshot() {
+
+        // WHEN
+        Optional<Long> balance = underTest.balanceAsOf(account.getId(), START.plusMinutes(30));
+
+        // THEN
+        assertEquals(Optional.of(100L), balance);
+    }
+
+    @Test
+    public void balanceAsOf_should_read_snapshot_and_operations_with_a_single_statement() {
+
+        // GIVEN
+        addSnapshot(300L, START.plusHours(1), secondOperationId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // WHEN
+        underTest.balanceAsOf(account.getId(), START.plusHours(4));
+
+        // THEN
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void balanceAsOf_should_return_empty_for_unknown_account() {
+        assertTrue(underTest.balanceAsOf(UUID.randomUUID(), START).isEmpty());
+    }
+
+    private UUID addOperation(OperationType type, long amount, LocalDateTime date) {
+        return entityManager.persist(OperationEntity.builder()
+                .account(account)
+                .type(type)
+                .amount(amount)
+                .date(date)
+                .build()).getId();
+    }
+
+    private void addSnapshot(long balance, LocalDateTime date, UUID operationId) {
+        entityManager.persistAndFlush(BalanceSnapshotEntity.builder()
+                .account(account)
+                .balance(balance)
+                .date(date)
+                .operationId(operationId)
+                .build());
+    }
+}
@@ -0,0 +1,254 @@
+package com.socgen.accountsmanagement.infrastructure.persistence.repository;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.DailyAggregate;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.AccountEntity;
+import com.socgen.accountsmanagement.infrastructure.persistence.entity.OperationEntity;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(JpaDailyAggregateRepository.class)
+public class JpaDailyAggregateRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 6, 30);
+
+    @Autowired
+    JpaDailyAggregateRepository underTest;
+
+    @Autowired
+    SpringDataDailyAggregateRepository aggregateRepository;
+
+    @Autowired
+    SpringDataAccountRepository accountRepository;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+
+    // =================== addOperations =================== \\
+
+    @Test
+    public void addOperations_should_insert_first_aggregates_of_the_day() {
+
+        // GIVEN
+        UUID accountId = entityManager.persist(AccountEntity.builder().build()).getId();
+
+        // WHEN
+        underTest.addOperations(List.of(
+                operation(accountId, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0)),
+                operation(accountId, OperationType.DEPOSIT, 300L, DAY.atTime(10, 0)),
+                operation(accountId, OperationType.WITHDRAW, 50L, DAY.atTime(11, 0))));
+
+        // THEN
+        List<DailyAggregate> aggregates = underTest.findDailyAggregates(accountId, DAY, DAY);
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 400L, 2L, 100L, 300L);
+        assertAggregate(aggregates.get(1), OperationType.WITHDRAW, 50L, 1L, 50L, 50L);
+    }
+
+    @Test
+    public void addOperations_should_increment_existing_aggregate() {
+
+        // GIVEN
+        UUID accountId = entityManager.persist(AccountEntity.builder().build()).getId();
+        underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))));
+        entityManager.flush();
+        entityManager.clear();
+
+        // WHEN
+        underTest.addOperations(List.of(
+                operation(accountId, OperationType.DEPOSIT, 20L, DAY.atTime(12, 0)),
+                operation(accountId, OperationType.DEPOSIT, 500L, DAY.atTime(13, 0))));
+
+        // THEN
+        List<DailyAggregate> aggregates = underTest.findDailyAggregates(accountId, DAY, DAY);
+        assertEquals(1, aggregates.size());
+        assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 620L, 3L, 20L, 500L);
+        assertEquals(1, aggregateRepository.count());
+    }
+
+    @Test
+    public void findDailyAggregates_should_sum_slots() {
+
+        // GIVEN
+        UUID accountId = entityManager.persist(AccountEntity.builder().build()).getId();
+        underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))), 0);
+        underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 40L, DAY.atTime(9, 1))), 3);
+
+        // WHEN
+        List<DailyAggregate> aggregates = underTest.findDailyAggregates(accountId, DAY, DAY);
+
+        // THEN
+        assertEquals(1, aggregates.size());
+        assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 140L, 2L, 40L, 100L);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void addOperations_should_insert_first_aggregate_once_for_concurrent_writers() throws Exception {
+
+        // GIVEN
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID accountId = transaction.execute(status -> entityManager.persist(AccountEntity.builder().build()).getId());
+        CountDownLatch firstInserted = new CountDownLatch(1);
+
+        try {
+            // WHEN
+            CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))));
+                entityManager.flush();
+                firstInserted.countDown();
+                // keep the insert uncommitted while the second writer misses the aggregate
+                sleep(300);
+            }));
+            assertTrue(firstInserted.await(10, TimeUnit.SECONDS));
+            Runnable secondWriter = () -> transaction.executeWithoutResult(status ->
+                    underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 200L, DAY.atTime(9, 1)))));
+            CompletableFuture<Void> second = CompletableFuture.runAsync(secondWriter);
+
+            first.get(10, TimeUnit.SECONDS);
+            ExecutionException conflict = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+            // retried, as the account operations are
+            secondWriter.run();
+
+            // THEN
+            assertInstanceOf(OptimisticLockingFailureException.class, conflict.getCause());
+            List<DailyAggregate> aggregates = underTest.findDailyAggregates(accountId, DAY, DAY);
+            assertEquals(1, aggregates.size());
+            assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 300L, 2L, 100L, 200L);
+        } finally {
+            transaction.executeWithoutResult(status -> {
+                aggregateRepository.deleteAll();
+                accountRepository.deleteById(accountId);
+            });
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void addOperations_should_insert_first_aggregate_without_locking_the_account() throws Exception {
+
+        // GIVEN
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID accountId = transaction.execute(status -> entityManager.persist(AccountEntity.builder().build()).getId());
+        CountDownLatch accountLocked = new CountDownLatch(1);
+        CountDownLatch aggregated = new CountDownLatch(1);
+
+        try {
+            CompletableFuture<Void> lockHolder = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+                entityManager.getEntityManager()
+                        .find(AccountEntity.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+                accountLocked.countDown();
+                try {
+                    // a withdrawal holding the account row, waiting for the depositor to go on
+                    aggregated.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(accountLocked.await(10, TimeUnit.SECONDS));
+
+            // WHEN
+            CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status ->
+                    underTest.addOperations(List.of(operation(accountId, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))), 1)))
+                    .get(2, TimeUnit.SECONDS);
+            aggregated.countDown();
+            lockHolder.get(10, TimeUnit.SECONDS);
+
+            // THEN
+            List<DailyAggregate> aggregates = underTest.findDailyAggregates(accountId, DAY, DAY);
+            assertEquals(1, aggregates.size());
+            assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 100L, 1L, 100L, 100L);
+        } finally {
+            aggregated.countDown();
+            transaction.executeWithoutResult(status -> {
+                aggregateRepository.deleteAll();
+                accountRepository.deleteById(accountId);
+            });
+        }
+    }
+
+
+    // =================== rebuild =================== \\
+
+    @Test
+    public void rebuild_should_recompute_aggregates_from_operations() {
+
+        // GIVEN
+        AccountEntity account = entityManager.persist(AccountEntity.builder().build());
+        persistOperation(account, OperationType.DEPOSIT, 100L, DAY.atTime(9, 0));
+        persistOperation(account, OperationType.DEPOSIT, 300L, DAY.atTime(18, 0));
+        persistOperation(account, OperationType.DEPOSIT, 70L, DAY.plusDays(1).atTime(9, 0));
+        // stale aggregate, replaced by the rebuild
+        underTest.addOperations(List.of(operation(account.getId(), OperationType.WITHDRAW, 999L, DAY.atTime(9, 0))));
+        entityManager.flush();
+
+        // WHEN
+        int rebuilt = underTest.rebuild();
+
+        // THEN
+        assertEquals(2, rebuilt);
+        List<DailyAggregate> aggregates = underTest.findDailyAggregates(account.getId(), DAY, DAY.plusDays(1));
+        assertEquals(2, aggregates.size());
+        assertEquals(DAY, aggregates.get(0).getDay());
+        assertAggregate(aggregates.get(0), OperationType.DEPOSIT, 400L, 2L, 100L, 300L);
+        assertEquals(DAY.plusDays(1), aggregates.get(1).getDay());
+        assertAggregate(aggregates.get(1), OperationType.DEPOSIT, 70L, 1L, 70L, 70L);
+    }
+
+    private void persistOperation(AccountEntity account, OperationType type, long amount, LocalDateTime date) {
+        entityManager.persist(OperationEntity.builder().account(account).type(type).amount(amount).date(date).build());
+    }
+
+    private static Operation operation(UUID accountId, OperationType type, long amount, LocalDateTime date) {
+        return Operation.builder()
+                .account(Account.builder().id(accountId).build())
+                .type(type)
+                .amount(amount)
+                .date(date)
+                .build();
+    }
+
+    private static void assertAggregate(DailyAggregate aggregate, OperationType type, long total, long count,
+                                        long minAmount, long maxAmount) {
+        assertEquals(type, aggregate.getType());
+        assertEquals(total, aggregate.getTotal());
+        assertEquals(count, aggregate.getCount());
+        assertEquals(minAmount, aggregate.getMinAmount());
+        assertEquals(maxAmount, aggregate.getMaxAmount());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.socgen.accountsmanagement.infrastructure.r2dbc;
+
+import com.socgen.accountsmanagement.config.AccountsProperties;
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.BalanceSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the adapter against the schema created by the JPA entities, shared through a named in-memory database.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:r2dbctest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class R2dbcAccountRepositoryTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private R2dbcConfiguration configuration;
+
+    private R2dbcAccountRepository underTest;
+
+    @BeforeEach
+    public void setUp() {
+        configuration = new R2dbcConfiguration(properties());
+        underTest = configuration.r2dbcAccountRepository(configuration.r2dbcDatabaseClient());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        configuration.destroy();
+        jdbcTemplate.update("delete from balance_snapshot");
+        jdbcTemplate.update("delete from account");
+    }
+
+
+    // =================== findAccountById =================== \\
+
+    @Test
+    public void findAccountById_should_read_balance_and_version() {
+
+        // GIVEN
+        UUID accountId = insertAccount(100L);
+
+        // WHEN
+        Account account = underTest.findAccountById(accountId).block();
+
+        // THEN
+        assertNotNull(account);
+        assertEquals(accountId, account.getId());
+        assertEquals(100L, account.getBalance());
+        assertEquals(0L, account.getVersion());
+    }
+
+    @Test
+    public void findAccountById_should_be_empty_for_unknown_account() {
+        assertNull(underTest.findAccountById(UUID.randomUUID()).block());
+        assertFalse(underTest.existsAccount(UUID.randomUUID()).block());
+    }
+
+
+    // =================== conditional balance updates =================== \\
+
+    @Test
+    public void depositToBalance_should_return_updated_balance() {
+
+        // GIVEN
+        UUID accountId = insertAccount(100L);
+
+        // WHEN
+        Account account = underTest.depositToBalance(accountId, 50L).block();
+
+        // THEN
+        assertNotNull(account);
+        assertEquals(accountId, account.getId());
+        assertEquals(150L, account.getBalance());
+        assertEquals(1L, account.getVersion());
+        assertEquals(150L, balance(accountId));
+    }
+
+    @Test
+    public void depositToBalance_should_refuse_overflowing_balance() {
+
+        // GIVEN
+        UUID accountId = insertAccount(Long.MAX_VALUE - 10);
+
+        // WHEN
+        Account account = underTest.depositToBalance(accountId, 11L).block();
+
+        // THEN
+        assertNull(account);
+        assertEquals(Long.MAX_VALUE - 10, balance(accountId));
+    }
+
+    @Test
+    public void depositToBalance_should_return_balance_of_each_update_under_concurrent_deposits() {
+
+        // GIVEN
+        UUID accountId = insertAccount(0L);
+
+        // WHEN
+        List<Long> balances = Flux.range(0, 100)
+                .flatMap(i -> underTest.depositToBalance(accountId, 1L), 8)
+                .map(Account::getBalance)
+                .collectList()
+                .block();
+
+        // THEN
+        // read back after the update, two deposits could see the same balance
+        assertNotNull(balances);
+        assertEquals(100, balances.stream().distinct().count());
+        assertEquals(100L, balance(accountId));
+    }
+
+    @Test
+    public void withdrawFromBalance_should_return_updated_balance() {
+
+        // GIVEN
+        UUID accountId = insertAccount(100L);
+
+        // WHEN
+        Account account = underTest.withdrawFromBalance(accountId, 100L).block();
+
+        // THEN
+        assertNotNull(account);
+        assertEquals(0L, account.getBalance());
+        assertEquals(1L, account.getVersion());
+        assertEquals(0L, balance(accountId));
+    }
+
+    @Test
+    public void withdrawFromBalance_should_leave_insufficient_balance_unchanged() {
+
+        // GIVEN
+        UUID accountId = insertAccount(100L);
+
+        // WHEN
+        Account account = underTest.withdrawFromBalance(accountId, 101L).block();
+
+        // THEN
+        assertNull(account);
+        assertEquals(100L, balance(accountId));
+        assertEquals(0L, underTest.findAccountById(accountId).block().getVersion());
+    }
+
+
+    // =================== addSnapshot =================== \\
+
+    @Test
+    public void addSnapshot_should_insert_snapshot() {
+
+        // GIVEN
+        UUID accountId = insertAccount(100L);
+        UUID operationId = UUID.randomUUID();
+
+        // WHEN
+        underTest.addSnapshot(BalanceSnapshot.builder()
+                .accountId(accountId)
+                .balance(100L)
+                .date(LocalDateTime.of(2023, 6, 30, 9, 0))
+                .operationId(operationId)
+                .build()).block();
+
+        // THEN
+        assertEquals(100L, jdbcTemplate.queryForObject(
+                "select balance from balance_snapshot where account_id = ? and operation_id = ?",
+                Long.class, accountId, operationId));
+    }
+
+    static AccountsProperties properties() {
+        AccountsProperties properties = new AccountsProperties();
+        properties.getReactive().setUrl("r2dbc:h2:mem:///r2dbctest");
+        properties.getReactive().setUsername("sa");
+        properties.getReactive().setPassword("password");
+        return properties;
+    }
+
+    private UUID insertAccount(long balance) {
+        UUID accountId = UUID.randomUUID();
+        jdbcTemplate.update("insert into account (id, balance, version) values (?, ?, 0)", accountId, balance);
+        return accountId;
+    }
+
+    private long balance(UUID accountId) {
+        return jdbcTemplate.queryForObject("select balance from account where id = ?", Long.class, accountId);
+    }
+}
@@ -0,0 +1,142 @@
+package com.socgen.accountsmanagement.infrastructure.r2dbc;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:r2dbctest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class R2dbcOperationRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2023, 6, 30);
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private R2dbcConfiguration configuration;
+
+    private R2dbcOperationRepository underTest;
+
+    private UUID accountId;
+
+    @BeforeEach
+    public void setUp() {
+        configuration = new R2dbcConfiguration(R2dbcAccountRepositoryTest.properties());
+        underTest = configuration.r2dbcOperationRepository(configuration.r2dbcDatabaseClient());
+        accountId = UUID.randomUUID();
+        jdbcTemplate.update("insert into account (id, balance, version) values (?, 0, 0)", accountId);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        configuration.destroy();
+        jdbcTemplate.update("delete from operation_daily_aggregate");
+        jdbcTemplate.update("delete from operation");
+        jdbcTemplate.update("delete from account");
+    }
+
+
+    // =================== addOperation =================== \\
+
+    @Test
+    public void addOperation_should_insert_operation_with_new_id() {
+
+        // GIVEN
+        Operation operation = operation(OperationType.DEPOSIT, 100L, DAY.atTime(9, 0));
+
+        // WHEN
+        Operation added = underTest.addOperation(operation).block();
+
+        // THEN
+        assertNotNull(added);
+        assertNotNull(added.getId());
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "select type, amount, date from operation where id = ? and account_id = ?", added.getId(), accountId);
+        assertEquals("DEPOSIT", row.get("type"));
+        assertEquals(100L, ((Number) row.get("amount")).longValue());
+    }
+
+    @Test
+    public void addOperation_should_insert_then_increment_daily_aggregate() {
+
+        // WHEN
+        underTest.addOperation(operation(OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))).block();
+        underTest.addOperation(operation(OperationType.DEPOSIT, 300L, DAY.atTime(10, 0))).block();
+        underTest.addOperation(operation(OperationType.WITHDRAW, 50L, DAY.atTime(11, 0))).block();
+
+        // THEN
+        List<Map<String, Object>> aggregates = jdbcTemplate.queryForList(
+                "select type, total, operation_count, min_amount, max_amount from operation_daily_aggregate " +
+                        "where account_id = ? and operation_day = ? order by type", accountId, DAY);
+        assertEquals(2, aggregates.size());
+        assertAggregate(aggregates.get(0), "DEPOSIT", 400L, 2L, 100L, 300L);
+        assertAggregate(aggregates.get(1), "WITHDRAW", 50L, 1L, 50L, 50L);
+    }
+
+
+    // =================== operationsHistory =================== \\
+
+    @Test
+    public void operationsHistory_should_page_newest_operations_first() {
+
+        // GIVEN
+        Operation first = underTest.addOperation(operation(OperationType.DEPOSIT, 100L, DAY.atTime(9, 0))).block();
+        Operation second = underTest.addOperation(operation(OperationType.WITHDRAW, 20L, DAY.atTime(10, 0))).block();
+        Operation third = underTest.addOperation(operation(OperationType.DEPOSIT, 30L, DAY.atTime(10, 0))).block();
+
+        // WHEN
+        List<Operation> firstPage = underTest.operationsHistory(accountId, null, 2).collectList().block();
+        List<Operation> secondPage = underTest.operationsHistory(accountId,
+                OperationCursor.after(firstPage.get(1)), 2).collectList().block();
+
+        // THEN
+        // same date, the greatest id comes first
+        UUID newest = third.getId().compareTo(second.getId()) > 0 ? third.getId() : second.getId();
+        assertEquals(newest, firstPage.get(0).getId());
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        Operation oldest = secondPage.get(0);
+        assertEquals(first.getId(), oldest.getId());
+        assertEquals(OperationType.DEPOSIT, oldest.getType());
+        assertEquals(100L, oldest.getAmount());
+        assertEquals(DAY.atTime(9, 0), oldest.getDate());
+        assertEquals(accountId, oldest.getAccount().getId());
+    }
+
+    private Operation operation(OperationType type, long amount, LocalDateTime date) {
+        return Operation.builder()
+                .type(type)
+                .amount(amount)
+                .date(date)
+                .account(Account.builder().id(accountId).build())
+                .build();
+    }
+
+    private static void assertAggregate(Map<String, Object> aggregate, String type, long total, long count,
+                                        long min, long max) {
+        assertEquals(type, aggregate.get("type"));
+        assertEquals(total, ((Number) aggregate.get("total")).longValue());
+        assertEquals(count, ((Number) aggregate.get("operation_count")).longValue());
+        assertEquals(min, ((Number) aggregate.get("min_amount")).longValue());
+        assertEquals(max, ((Number) aggregate.get("max_amount")).longValue());
+    }
+}
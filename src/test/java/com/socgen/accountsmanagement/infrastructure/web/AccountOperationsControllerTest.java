@@ -0,0 +1,198 @@
+package com.socgen.accountsmanagement.infrastructure.web;
+
+import com.socgen.accountsmanagement.domain.Account;
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.OperationCursor;
+import com.socgen.accountsmanagement.domain.OperationsPage;
+import com.socgen.accountsmanagement.domain.Transfer;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.exceptions.AccountNotFoundException;
+import com.socgen.accountsmanagement.domain.exceptions.BalanceOverflowException;
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import com.socgen.accountsmanagement.domain.exceptions.ValidationException;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import com.socgen.accountsmanagement.infrastructure.web.dto.CursorToken;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountOperationsControllerTest {
+
+    @Mock
+    private AccountOperationsService accountOperationsService;
+
+    private MockMvc mockMvc;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new AccountOperationsController(accountOperationsService))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void deposit_should_convert_amount_to_minor_units() throws Exception {
+
+        // GIVEN
+        when(accountOperationsService.deposit(accountId, 1250L))
+                .thenReturn(Account.builder().id(accountId).balance(101250L).build());
+
+        // WHEN THEN
+        mockMvc.perform(post("/accounts/{accountId}/deposit", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 12.50}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(1012.50));
+    }
+
+    @Test
+    public void withdraw_should_reject_not_positive_amount() throws Exception {
+        mockMvc.perform(post("/accounts/{accountId}/withdraw", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": -5}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountOperationsService);
+    }
+
+    @Test
+    public void deposit_should_reject_amount_with_too_many_decimals() throws Exception {
+        mockMvc.perform(post("/accounts/{accountId}/deposit", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 12.505}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountOperationsService);
+    }
+
+    @Test
+    public void deposit_should_not_answer_bad_request_for_unexpected_failure() {
+
+        // GIVEN
+        when(accountOperationsService.deposit(accountId, 1250L)).thenThrow(new IllegalArgumentException("Unexpected"));
+
+        // WHEN THEN
+        // left to the container as a server error
+        assertThrows(ServletException.class, () -> mockMvc.perform(post("/accounts/{accountId}/deposit", accountId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 12.50}")));
+    }
+
+    @Test
+    public void withdraw_should_answer_unprocessable_when_insufficient_fund() throws Exception {
+
+        // GIVEN
+        when(accountOperationsService.withdraw(accountId, 500L)).thenThrow(new InsufficientFundException());
+
+        // WHEN THEN
+        mockMvc.perform(post("/accounts/{accountId}/withdraw", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 5}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Insufficient balance"));
+    }
+
+    @Test
+    public void deposit_should_answer_unprocessable_when_balance_overflows() throws Exception {
+
+        // GIVEN
+        when(accountOperationsService.deposit(accountId, 500L)).thenThrow(new BalanceOverflowException());
+
+        // WHEN THEN
+        mockMvc.perform(post("/accounts/{accountId}/deposit", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"amount\": 5}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Balance overflow"));
+    }
+
+    @Test
+    public void transfer_should_answer_both_balances() throws Exception {
+
+        // GIVEN
+        UUID toAccountId = UUID.randomUUID();
+        when(accountOperationsService.transfer(accountId, toAccountId, 2500L))
+                .thenReturn(Transfer.builder()
+                        .from(Account.builder().id(accountId).balance(7500L).build())
+                        .to(Account.builder().id(toAccountId).balance(2500L).build())
+                        .amount(2500L)
+                        .build());
+
+        // WHEN THEN
+        mockMvc.perform(post("/accounts/{accountId}/transfer", accountId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"toAccountId\": \"" + toAccountId + "\", \"amount\": 25}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from.balance").value(75.0))
+                .andExpect(jsonPath("$.to.balance").value(25.0))
+                .andExpect(jsonPath("$.amount").value(25.0));
+    }
+
+    @Test
+    public void balance_should_answer_not_found_when_unknown_account() throws Exception {
+
+        // GIVEN
+        when(accountOperationsService.findAccount(accountId)).thenThrow(new AccountNotFoundException());
+
+        // WHEN THEN
+        mockMvc.perform(get("/accounts/{accountId}/balance", accountId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Account not found"));
+    }
+
+    @Test
+    public void operations_should_exchange_page_cursor() throws Exception {
+
+        // GIVEN
+        Operation operation = Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(500L)
+                .date(LocalDateTime.of(2023, 6, 30, 10, 0))
+                .build();
+        OperationCursor next = OperationCursor.after(operation);
+        when(accountOperationsService.operationsHistory(eq(accountId), any(), eq(1)))
+                .thenReturn(OperationsPage.builder().operations(List.of(operation)).next(next).build());
+
+        // WHEN THEN
+        mockMvc.perform(get("/accounts/{accountId}/operations", accountId)
+                        .param("cursor", CursorToken.encode(next))
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations[0].amount").value(5.0))
+                .andExpect(jsonPath("$.next").value(CursorToken.encode(next)));
+        verify(accountOperationsService).operationsHistory(accountId, next, 1);
+    }
+
+    @Test
+    public void cursorToken_should_round_trip_and_reject_malformed_token() {
+        OperationCursor cursor = new OperationCursor(LocalDateTime.of(2023, 6, 30, 10, 0, 0, 123_000), UUID.randomUUID());
+
+        assertEquals(cursor, CursorToken.decode(CursorToken.encode(cursor)));
+        assertThrows(ValidationException.class, () -> CursorToken.decode("bm9wZQ"));
+        assertThrows(ValidationException.class, () -> CursorToken.decode("not base64!"));
+        assertThrows(ValidationException.class, () -> CursorToken.decode(CursorToken.encode(cursor) + "QQ"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.socgen.accountsmanagement.infrastructure.web;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import com.socgen.accountsmanagement.domain.service.AccountOperationsService;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class OperationsExportControllerTest {
+
+    @Mock
+    private AccountOperationsService accountOperationsService;
+
+    private MockMvc mockMvc;
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new OperationsExportController(accountOperationsService))
+                .setControllerAdvice(new RestExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void export_should_stream_operations_as_csv() throws Exception {
+
+        // GIVEN
+        doAnswer(invocation -> {
+            Consumer<Operation> consumer = invocation.getArgument(1);
+            consumer.accept(operation());
+            return null;
+        }).when(accountOperationsService).exportOperationsHistory(eq(accountId), any());
+
+        // WHEN THEN
+        mockMvc.perform(get("/accounts/{accountId}/operations/export", accountId).param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+    }
+
+    @Test
+    public void export_should_reject_unknown_format_before_streaming() throws Exception {
+        mockMvc.perform(get("/accounts/{accountId}/operations/export", accountId).param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(accountOperationsService);
+    }
+
+    @Test
+    public void export_should_not_answer_bad_request_for_failure_while_streaming() {
+
+        // GIVEN
+        doAnswer(invocation -> {
+            Consumer<Operation> consumer = invocation.getArgument(1);
+            consumer.accept(operation());
+            throw new IllegalArgumentException("Failure after the export started");
+        }).when(accountOperationsService).exportOperationsHistory(eq(accountId), any());
+
+        // WHEN THEN
+        // left to the container, the response status is not rewritten
+        assertThrows(ServletException.class,
+                () -> mockMvc.perform(get("/accounts/{accountId}/operations/export", accountId)));
+    }
+
+    private static Operation operation() {
+        return Operation.builder()
+                .id(UUID.randomUUID())
+                .type(OperationType.DEPOSIT)
+                .amount(1000)
+                .date(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.socgen.accountsmanagement.infrastructure.web.export;
+
+import com.socgen.accountsmanagement.domain.Operation;
+import com.socgen.accountsmanagement.domain.enums.OperationType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OperationsExportWriterTest {
+
+    private final UUID operationId = UUID.fromString("0189c2d4-6a1e-7000-8000-000000000001");
+
+    private final Operation operation = Operation.builder()
+            .id(operationId)
+            .type(OperationType.WITHDRAW)
+            .amount(2050)
+            .date(LocalDateTime.of(2023, 8, 1, 10, 15, 30))
+            .build();
+
+    @Test
+    public void ndjson_should_write_one_document_per_line() throws IOException {
+
+        // GIVEN
+        StringWriter out = new StringWriter();
+        OperationsExportWriter underTest = new OperationsExportWriter(ExportFormat.NDJSON, out);
+
+        // WHEN
+        underTest.accept(operation);
+        underTest.accept(operation);
+        underTest.finish();
+
+        // THEN
+        String line = "{\"id\":\"" + operationId + "\",\"type\":\"WITHDRAW\",\"amount\":20.50,\"date\":\"2023-08-01T10:15:30\"}\n";
+        assertEquals(line + line, out.toString());
+    }
+
+    @Test
+    public void csv_should_write_header_then_rows() throws IOException {
+
+        // GIVEN
+        StringWriter out = new StringWriter();
+        OperationsExportWriter underTest = new OperationsExportWriter(ExportFormat.CSV, out);
+
+        // WHEN
+        underTest.accept(operation);
+        underTest.finish();
+
+        // THEN
+        assertEquals("id,type,amount,date\n" + operationId + ",WITHDRAW,20.50,2023-08-01T10:15:30\n", out.toString());
+    }
+
+    @Test
+    public void csv_should_write_header_when_no_operation() throws IOException {
+
+        // GIVEN
+        StringWriter out = new StringWriter();
+        OperationsExportWriter underTest = new OperationsExportWriter(ExportFormat.CSV, out);
+
+        // WHEN
+        underTest.finish();
+
+        // THEN
+        assertEquals("id,type,amount,date\n", out.toString());
+    }
+}
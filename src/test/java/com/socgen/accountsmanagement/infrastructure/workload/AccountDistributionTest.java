@@ -0,0 +1,56 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccountDistributionTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void zipf_should_follow_rank_frequencies() {
+
+        // GIVEN
+        AccountDistribution distribution = AccountDistribution.zipf(1000, 1.0);
+        int[] counts = new int[1000];
+
+        // WHEN
+        for (int i = 0; i < SAMPLES; i++)
+            counts[distribution.next(ThreadLocalRandom.current())]++;
+
+        // THEN
+        // frequency of rank k is 1 / (k * H(1000)), H(1000) being about 7.485
+        assertEquals(1 / 7.485, (double) counts[0] / SAMPLES, 0.01);
+        assertEquals(1 / (2 * 7.485), (double) counts[1] / SAMPLES, 0.01);
+        assertEquals(1 / (10 * 7.485), (double) counts[9] / SAMPLES, 0.005);
+    }
+
+    @Test
+    public void zipf_should_stay_within_accounts() {
+        AccountDistribution distribution = AccountDistribution.zipf(3, 2.5);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            int account = distribution.next(ThreadLocalRandom.current());
+            assertTrue(account >= 0 && account < 3, "Out of range account " + account);
+        }
+    }
+
+    @Test
+    public void hotSpot_should_send_hot_access_fraction_to_hot_accounts() {
+
+        // GIVEN
+        AccountDistribution distribution = AccountDistribution.hotSpot(1000, 0.01, 0.9);
+        int hot = 0;
+
+        // WHEN
+        for (int i = 0; i < SAMPLES; i++)
+            if (distribution.next(ThreadLocalRandom.current()) < 10)
+                hot++;
+
+        // THEN
+        assertEquals(0.9, (double) hot / SAMPLES, 0.01);
+    }
+}
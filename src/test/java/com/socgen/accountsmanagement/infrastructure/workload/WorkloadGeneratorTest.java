@@ -0,0 +1,163 @@
+package com.socgen.accountsmanagement.infrastructure.workload;
+
+import com.socgen.accountsmanagement.domain.exceptions.InsufficientFundException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadGeneratorTest {
+
+    private final List<UUID> accounts = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+    @Test
+    public void run_should_issue_operations_at_workload_rate() {
+
+        // GIVEN
+        CountingTarget target = new CountingTarget();
+        WorkloadGenerator generator = new WorkloadGenerator(target, accounts, AccountDistribution.uniform(2));
+        Workload workload = Workload.builder().rate(2000).duration(Duration.ofMillis(500)).threads(4).build();
+
+        // WHEN
+        WorkloadReport report = generator.run(workload);
+
+        // THEN
+        assertEquals(1000, report.completed());
+        assertEquals(1000, target.deposits.get() + target.withdrawals.get() + target.histories.get());
+        assertEquals(0, report.errors());
+        assertEquals(0, report.getDropped());
+        assertTrue(report.throughput() > 0);
+    }
+
+    @Test
+    public void run_should_follow_operation_mix() {
+
+        // GIVEN
+        CountingTarget target = new CountingTarget();
+        WorkloadGenerator generator = new WorkloadGenerator(target, accounts, AccountDistribution.uniform(2));
+        Workload workload = Workload.builder().rate(10_000).duration(Duration.ofMillis(200))
+                .depositWeight(1).withdrawWeight(0).historyWeight(0).build();
+
+        // WHEN
+        WorkloadReport report = generator.run(workload);
+
+        // THEN
+        assertEquals(2000, target.deposits.get());
+        assertEquals(0, target.withdrawals.get() + target.histories.get());
+        assertEquals(2000, report.getOperations().get(WorkloadOperation.DEPOSIT).getCompleted());
+        assertEquals(0, report.getOperations().get(WorkloadOperation.WITHDRAW).getCompleted());
+    }
+
+    @Test
+    public void run_should_count_rejections_and_errors() {
+
+        // GIVEN
+        WorkloadTarget target = new CountingTarget() {
+            @Override
+            public void withdraw(UUID accountId, long amount) {
+                throw new InsufficientFundException();
+            }
+
+            @Override
+            public void history(UUID accountId, int pageSize) {
+                throw new IllegalStateException("Unavailable");
+            }
+        };
+        WorkloadGenerator generator = new WorkloadGenerator(target, accounts, AccountDistribution.uniform(2));
+        Workload workload = Workload.builder().rate(1000).duration(Duration.ofMillis(200))
+                .depositWeight(0).withdrawWeight(1).historyWeight(1).build();
+
+        // WHEN
+        WorkloadReport report = generator.run(workload);
+
+        // THEN
+        WorkloadReport.OperationStats withdrawals = report.getOperations().get(WorkloadOperation.WITHDRAW);
+        WorkloadReport.OperationStats histories = report.getOperations().get(WorkloadOperation.HISTORY);
+        assertEquals(withdrawals.getCompleted(), withdrawals.getRejected());
+        assertEquals(0, histories.getCompleted());
+        assertEquals(200, withdrawals.getCompleted() + histories.getErrors());
+        assertEquals((double) histories.getErrors() / 200, report.errorRate(), 1e-9);
+    }
+
+    @Test
+    public void run_should_measure_latency_from_scheduled_arrival() {
+
+        // GIVEN
+        // a single thread serving 10 ms operations at 200 operations/s falls behind,
+        // the queued operations report their waiting time
+        WorkloadTarget target = new CountingTarget() {
+            @Override
+            public void deposit(UUID accountId, long amount) {
+                sleep(10);
+            }
+        };
+        WorkloadGenerator generator = new WorkloadGenerator(target, accounts, AccountDistribution.uniform(2));
+        Workload workload = Workload.builder().rate(200).duration(Duration.ofMillis(250)).threads(1)
+                .depositWeight(1).withdrawWeight(0).historyWeight(0).build();
+
+        // WHEN
+        WorkloadReport report = generator.run(workload);
+
+        // THEN
+        WorkloadReport.OperationStats deposits = report.getOperations().get(WorkloadOperation.DEPOSIT);
+        assertEquals(50, deposits.getCompleted());
+        assertTrue(deposits.getP50Micros() >= 10_000, "p50 " + deposits.getP50Micros());
+        assertTrue(deposits.getMaxMicros() >= 100_000, "max " + deposits.getMaxMicros());
+    }
+
+    @Test
+    public void run_should_drop_arrivals_beyond_max_outstanding() {
+
+        // GIVEN
+        WorkloadTarget target = new CountingTarget() {
+            @Override
+            public void deposit(UUID accountId, long amount) {
+                sleep(500);
+            }
+        };
+        WorkloadGenerator generator = new WorkloadGenerator(target, accounts, AccountDistribution.uniform(2));
+        Workload workload = Workload.builder().rate(1000).duration(Duration.ofMillis(50)).threads(2)
+                .maxOutstanding(2).depositWeight(1).withdrawWeight(0).historyWeight(0).build();
+
+        // WHEN
+        WorkloadReport report = generator.run(workload);
+
+        // THEN
+        assertEquals(2, report.completed());
+        assertEquals(48, report.getDropped());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CountingTarget implements WorkloadTarget {
+
+        final AtomicInteger deposits = new AtomicInteger();
+        final AtomicInteger withdrawals = new AtomicInteger();
+        final AtomicInteger histories = new AtomicInteger();
+
+        @Override
+        public void deposit(UUID accountId, long amount) {
+            deposits.incrementAndGet();
+        }
+
+        @Override
+        public void withdraw(UUID accountId, long amount) {
+            withdrawals.incrementAndGet();
+        }
+
+        @Override
+        public void history(UUID accountId, int pageSize) {
+            histories.incrementAndGet();
+        }
+    }
+}